@@ -0,0 +1,76 @@
+package upstage.gateway.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.*;
+
+/**
+ * UIE 응답 형태의 벤치마크 입력 생성 (seed 고정 - 실행마다 같은 내용)
+ * fields 항목마다 value/refinedValue/confidence/boundingBoxes 포함, 값 길이와 한글/영문 혼합은 실제 문서와 비슷하게
+ */
+public final class UiePayloads {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String[] WORDS = {"주식회사", "업스테이지", "invoice", "합계", "2026-03-01", "서울특별시", "강남구",
+            "부가세", "12,500", "qty", "unit price", "납품처", "계좌번호", "110-123-456789", "담당자", "total"};
+
+    private UiePayloads() {
+    }
+
+    public static String key(int i) {
+        return "field_" + i;
+    }
+
+    public static Map<String, Object> response(int fieldCount) {
+        Random random = new Random(fieldCount);
+        List<Map<String, Object>> fields = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            Map<String, Object> field = new LinkedHashMap<>();
+            field.put("id", i);
+            field.put("key", key(i));
+            field.put("type", "content");
+            String value = text(random);
+            field.put("value", value);
+            field.put("refinedValue", random.nextInt(4) == 0 ? value.trim().toUpperCase() : value);
+            field.put("confidence", 0.5 + random.nextDouble() / 2);
+            field.put("boundingBoxes", List.of(Map.of("vertices", List.of(
+                    point(random), point(random), point(random), point(random)))));
+            fields.add(field);
+        }
+
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("apiVersion", "1.1");
+        root.put("confidence", 0.97);
+        root.put("documentType", "invoice");
+        root.put("fields", fields);
+        root.put("mimeType", "application/pdf");
+        root.put("modelVersion", "information-extract-250324");
+        root.put("numBillingPages", Math.max(1, fieldCount / 50));
+        root.put("pages", List.of(Map.of("id", 1, "width", 1700, "height", 2200)));
+        root.put("stored", false);
+        return root;
+    }
+
+    public static String json(int fieldCount) {
+        try {
+            return MAPPER.writeValueAsString(response(fieldCount));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String text(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int words = 1 + random.nextInt(5);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static Map<String, Object> point(Random random) {
+        return Map.of("x", random.nextInt(1700), "y", random.nextInt(2200));
+    }
+}
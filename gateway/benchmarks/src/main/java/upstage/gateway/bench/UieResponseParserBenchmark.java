@@ -0,0 +1,48 @@
+package upstage.gateway.bench;
+
+import org.openjdk.jmh.annotations.*;
+import upstage.gateway.workflow.uie.UieNodeConfig;
+import upstage.gateway.workflow.uie.UieResponseParser;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * UIE 응답 파싱 - 출력 형식별, fields 수별 (selected: 전체 또는 10%만 선택)
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+public class UieResponseParserBenchmark {
+
+    @Param({"flat_keyvalue", "fields_only", "full"})
+    public String format;
+
+    @Param({"10", "200", "5000"})
+    public int fields;
+
+    @Param({"all", "10pct"})
+    public String selected;
+
+    private String json;
+    private UieResponseParser.Spec spec;
+
+    @Setup
+    public void setUp() {
+        json = UiePayloads.json(fields);
+        UieNodeConfig config = new UieNodeConfig();
+        config.setOutputFormat(format);
+        if ("10pct".equals(selected)) {
+            List<String> keys = IntStream.range(0, fields).filter(i -> i % 10 == 0).mapToObj(UiePayloads::key).toList();
+            config.setSelectedKeys(keys);
+        }
+        spec = UieResponseParser.compile(config);
+    }
+
+    @Benchmark
+    public Object parse() throws Exception {
+        return UieResponseParser.parse(json, spec);
+    }
+}
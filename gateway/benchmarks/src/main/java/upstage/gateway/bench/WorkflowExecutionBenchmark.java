@@ -0,0 +1,146 @@
+package upstage.gateway.bench;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+import upstage.gateway.config.HttpClientProperties;
+import upstage.gateway.config.HttpClientRegistry;
+import upstage.gateway.config.RestTemplateConfig;
+import upstage.gateway.workflow.WorkflowConcurrencyLimiter;
+import upstage.gateway.workflow.WorkflowExecutionService;
+import upstage.gateway.workflow.WorkflowMetrics;
+import upstage.gateway.workflow.WorkflowService;
+import upstage.gateway.workflow.connector.ConnectorDeliveryService;
+import upstage.gateway.workflow.input.InputNode;
+import upstage.gateway.workflow.input.SpooledMultipartFile;
+import upstage.gateway.workflow.model.Workflow;
+import upstage.gateway.workflow.model.WorkflowEdge;
+import upstage.gateway.workflow.output.OutputNode;
+import upstage.gateway.workflow.plan.ExecutionPlan;
+import upstage.gateway.workflow.resilience.ResilienceRegistry;
+import upstage.gateway.workflow.store.InMemoryWorkflowStore;
+import upstage.gateway.workflow.trace.ExecutionTraceStore;
+import upstage.gateway.workflow.transform.FieldMapping;
+import upstage.gateway.workflow.transform.TransformNode;
+import upstage.gateway.workflow.transform.TransformNodeConfig;
+import upstage.gateway.workflow.uie.UieNode;
+import upstage.gateway.workflow.uie.UieNodeConfig;
+import upstage.gateway.workflow.uie.PreviewSessionStore;
+import upstage.gateway.workflow.uie.UieCallCoalescer;
+import upstage.gateway.workflow.uie.UieResponseCache;
+
+import java.io.ByteArrayInputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전체 실행 (Input → UIE → Transform → Output) - UIE는 같은 JVM의 stub HTTP 서버가 생성된 응답을 반환
+ * 업로드 파일 전송, 응답 수신, 파싱, 변환, 결과 직렬화까지 포함
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dsun.net.httpserver.nodelay=true"})
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+public class WorkflowExecutionBenchmark {
+
+    @Param({"10", "200", "5000"})
+    public int fields;
+
+    @Param({"flat_keyvalue", "fields_only"})
+    public String format;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private HttpClientRegistry httpClients;
+    private WorkflowExecutionService executionService;
+    private ExecutionPlan plan;
+    private SpooledMultipartFile file;
+
+    @Setup
+    public void setUp() throws Exception {
+        byte[] payload = UiePayloads.json(fields).getBytes(StandardCharsets.UTF_8);
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/extract", exchange -> {
+            exchange.getRequestBody().transferTo(java.io.OutputStream.nullOutputStream());
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, payload.length);
+            exchange.getResponseBody().write(payload);
+            exchange.close();
+        });
+        server.start();
+
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        httpClients = new RestTemplateConfig().httpClientRegistry(new HttpClientProperties(), meters);
+        String tmp = Files.createTempDirectory("bench").toString();
+        WorkflowMetrics metrics = new WorkflowMetrics(meters);
+        WorkflowService workflowService = new WorkflowService(new InMemoryWorkflowStore(), 1);
+        executionService = new WorkflowExecutionService(
+                workflowService,
+                httpClients,
+                new ResilienceRegistry(),
+                new ConnectorDeliveryService(httpClients, workflowService, meters, tmp, false, 100, DataSize.ofMegabytes(256), Duration.ofSeconds(1), Duration.ofMinutes(1)),
+                new UieResponseCache(meters, DataSize.ofMegabytes(64), Duration.ofMinutes(30), false, tmp, DataSize.ofGigabytes(1)),
+                new UieCallCoalescer(meters, false),
+                new PreviewSessionStore(meters, DataSize.ofBytes(0), Duration.ofMinutes(10)),
+                metrics,
+                new ExecutionTraceStore(100),
+                new WorkflowConcurrencyLimiter(metrics, 0, Duration.ofSeconds(30)),
+                Optional.empty(),
+                4,
+                false);
+
+        plan = ExecutionPlan.compile(workflow("http://127.0.0.1:" + server.getAddress().getPort() + "/extract"));
+        file = SpooledMultipartFile.spool("file", "invoice.pdf", "application/pdf",
+                new ByteArrayInputStream(new byte[256 * 1024]), Long.MAX_VALUE);
+    }
+
+    private Workflow workflow(String uieUrl) {
+        UieNodeConfig uie = new UieNodeConfig();
+        uie.setUrl(uieUrl);
+        uie.setOutputFormat(format);
+
+        List<FieldMapping> mappings = new ArrayList<>();
+        for (int i = 0; i < Math.min(fields, 100); i++) {
+            mappings.add(new FieldMapping(UiePayloads.key(i), "invoice.item" + i));
+        }
+        TransformNodeConfig transform = new TransformNodeConfig();
+        transform.setFieldMappings(mappings);
+
+        Workflow workflow = new Workflow();
+        workflow.setId("bench");
+        workflow.setVersion(1L);
+        workflow.setNodes(List.of(
+                new InputNode("input", "Input", 0, 0),
+                new UieNode("uie", "UIE", 0, 0, uie),
+                new TransformNode("transform", "Transform", 0, 0, transform),
+                new OutputNode("output", "Output", 0, 0)));
+        workflow.setEdges(List.of(
+                new WorkflowEdge("e1", "input", "uie"),
+                new WorkflowEdge("e2", "uie", "transform"),
+                new WorkflowEdge("e3", "transform", "output")));
+        return workflow;
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        httpClients.destroy();
+    }
+
+    @Benchmark
+    public Object runWorkflow() throws Exception {
+        return executionService.runWorkflow(plan, file);
+    }
+}
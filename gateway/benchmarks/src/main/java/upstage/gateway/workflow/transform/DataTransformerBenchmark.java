@@ -0,0 +1,69 @@
+package upstage.gateway.workflow.transform;
+
+import org.openjdk.jmh.annotations.*;
+import upstage.gateway.bench.UiePayloads;
+import upstage.gateway.workflow.model.ExtractedDocument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transform 노드 - fieldMappings, 컴파일된 outputTemplate, 기존 템플릿 경로(정규식 치환 + 재파싱) 비교
+ * 기존 템플릿 경로가 package-private이라 같은 패키지에 둠
+ * 실행마다 새 문서로 감싸 fields 색인 생성 비용까지 포함
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+public class DataTransformerBenchmark {
+
+    @Param({"mapping", "template", "template_legacy"})
+    public String mode;
+
+    @Param({"10", "200", "2000"})
+    public int fields;
+
+    /** 매핑/placeholder 수 (fields 수를 넘지 않음) */
+    @Param({"50", "500"})
+    public int targets;
+
+    private Map<String, Object> input;
+    private DataTransformer.Program program;
+    private String template;
+
+    @Setup
+    public void setUp() {
+        input = UiePayloads.response(fields);
+        int count = Math.min(targets, fields);
+
+        TransformNodeConfig config = new TransformNodeConfig();
+        if ("mapping".equals(mode)) {
+            List<FieldMapping> mappings = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                mappings.add(new FieldMapping(UiePayloads.key(i), "section" + (i % 10) + ".item" + i));
+            }
+            mappings.add(new FieldMapping("documentType", "metadata.type"));
+            config.setFieldMappings(mappings);
+        } else {
+            StringBuilder sb = new StringBuilder("{\"metadata\":{\"type\":\"{{documentType}}\",\"pages\":{{numBillingPages}}},\"items\":[");
+            for (int i = 0; i < count; i++) {
+                if (i > 0) sb.append(',');
+                sb.append("{\"name\":\"").append(UiePayloads.key(i)).append("\",\"value\":\"{{").append(UiePayloads.key(i)).append("}}\"}");
+            }
+            template = sb.append("]}").toString();
+            config.setOutputTemplate(template);
+        }
+        program = DataTransformer.compile(config);
+    }
+
+    @Benchmark
+    public Object transform() throws Exception {
+        ExtractedDocument document = ExtractedDocument.of(input);
+        return "template_legacy".equals(mode)
+                ? DataTransformer.transformByTemplate(document, template)
+                : DataTransformer.transform(document, program);
+    }
+}
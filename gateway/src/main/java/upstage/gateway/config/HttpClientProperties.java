@@ -0,0 +1,54 @@
+package upstage.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 외부 호출용 HTTP 클라이언트 풀 설정 (gateway.http.*)
+ * - defaults: 프로필이 지정되지 않고 hosts에도 맞지 않는 호출
+ * - profiles: 이름별 풀 - 노드 설정의 httpProfile 또는 대상 host로 선택
+ */
+@Data
+@ConfigurationProperties("gateway.http")
+public class HttpClientProperties {
+
+    private Profile defaults = new Profile();
+
+    private Map<String, Profile> profiles = new LinkedHashMap<>();
+
+    @Data
+    public static class Profile {
+
+        /** 이 프로필을 사용할 대상 host (정확히 일치 또는 *.example.com) */
+        private List<String> hosts = new ArrayList<>();
+
+        /** 대상 host당 최대 연결 수 */
+        private int maxPerRoute = 20;
+
+        /** 풀 전체 최대 연결 수 */
+        private int maxTotal = 100;
+
+        private Duration connectTimeout = Duration.ofSeconds(5);
+
+        /** 응답 대기 시간 (소켓 읽기) - UIE 호출은 수십 초 걸릴 수 있음 */
+        private Duration responseTimeout = Duration.ofSeconds(120);
+
+        /** 풀에서 연결을 얻기까지 최대 대기 시간 */
+        private Duration connectionRequestTimeout = Duration.ofSeconds(30);
+
+        /** 응답에 Keep-Alive 헤더가 없을 때 연결 재사용 시간 (있으면 둘 중 짧은 값) */
+        private Duration keepAlive = Duration.ofSeconds(30);
+
+        /** 이 시간 이상 놀고 있는 연결은 백그라운드에서 닫음 */
+        private Duration idleEviction = Duration.ofSeconds(60);
+
+        /** JDK HttpClient로 HTTP/2 사용 (연결 풀 설정/메트릭은 적용되지 않음) */
+        private boolean http2;
+    }
+}
@@ -0,0 +1,177 @@
+package upstage.gateway.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.IdleConnectionEvictor;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import javax.net.ssl.SSLContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 프로필별 RestTemplate (각자 연결 풀 보유)
+ * 선택 순서: 노드 설정의 httpProfile → 대상 host가 hosts에 맞는 프로필 → defaults
+ */
+public class HttpClientRegistry implements DisposableBean {
+
+    static final String DEFAULT_PROFILE = "default";
+
+    /** 스트리밍 프록시용 - 프로필의 풀 HttpClient와 기본 요청 설정 */
+    public record Upstream(CloseableHttpClient client, RequestConfig requestConfig) {
+    }
+
+    private final Map<String, RestTemplate> templates = new LinkedHashMap<>();
+    private final Map<String, Upstream> upstreams = new HashMap<>();
+    private final Map<String, String> profileByHost = new HashMap<>();
+    private final List<String[]> profileByHostSuffix = new ArrayList<>();
+    private final Map<String, String> resolvedHosts = new ConcurrentHashMap<>();
+    private final List<AutoCloseable> closeables = new ArrayList<>();
+
+    HttpClientRegistry(HttpClientProperties properties, SSLContext sslContext, MeterRegistry meterRegistry) {
+        templates.put(DEFAULT_PROFILE, create(DEFAULT_PROFILE, properties.getDefaults(), sslContext, meterRegistry));
+        properties.getProfiles().forEach((name, profile) -> {
+            templates.put(name, create(name, profile, sslContext, meterRegistry));
+            for (String host : profile.getHosts()) {
+                String h = host.toLowerCase(Locale.ROOT);
+                if (h.startsWith("*.")) {
+                    profileByHostSuffix.add(new String[]{h.substring(1), name});
+                } else {
+                    profileByHost.put(h, name);
+                }
+            }
+        });
+    }
+
+    public RestTemplate getDefault() {
+        return templates.get(DEFAULT_PROFILE);
+    }
+
+    /**
+     * 호출 대상에 맞는 RestTemplate - 존재하지 않는 프로필 이름이면 예외
+     */
+    public RestTemplate forUrl(String url, String profile) {
+        return templates.get(profileName(url, profile));
+    }
+
+    /**
+     * 호출 대상에 맞는 풀 HttpClient (선택 순서는 forUrl과 동일)
+     * @throws IllegalArgumentException 존재하지 않거나 http2 프로필인 경우 (JDK HttpClient는 풀 없음)
+     */
+    public Upstream upstreamFor(String url, String profile) {
+        String name = profileName(url, profile);
+        Upstream upstream = upstreams.get(name);
+        if (upstream == null) {
+            throw new IllegalArgumentException("HTTP client profile has no connection pool (http2): " + name);
+        }
+        return upstream;
+    }
+
+    private String profileName(String url, String profile) {
+        if (profile != null && !profile.isBlank()) {
+            if (!templates.containsKey(profile)) {
+                throw new IllegalArgumentException("Unknown HTTP client profile: " + profile);
+            }
+            return profile;
+        }
+        String host = URI.create(url).getHost();
+        if (host == null) {
+            return DEFAULT_PROFILE;
+        }
+        return resolvedHosts.computeIfAbsent(host.toLowerCase(Locale.ROOT), this::profileForHost);
+    }
+
+    private String profileForHost(String host) {
+        String name = profileByHost.get(host);
+        if (name != null) return name;
+        for (String[] suffix : profileByHostSuffix) {
+            if (host.endsWith(suffix[0])) return suffix[1];
+        }
+        return DEFAULT_PROFILE;
+    }
+
+    private RestTemplate create(String name, HttpClientProperties.Profile profile, SSLContext sslContext, MeterRegistry meterRegistry) {
+        if (profile.isHttp2()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(profile.getConnectTimeout())
+                    .sslContext(sslContext)
+                    .build();
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(client);
+            requestFactory.setReadTimeout(profile.getResponseTimeout());
+            return new RestTemplate(requestFactory);
+        }
+
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setSSLSocketFactory(new SSLConnectionSocketFactory(sslContext))
+                .setMaxConnPerRoute(profile.getMaxPerRoute())
+                .setMaxConnTotal(profile.getMaxTotal())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout(profile.getConnectTimeout()))
+                        .setSocketTimeout(timeout(profile.getResponseTimeout()))
+                        .build())
+                .build();
+
+        Gauge.builder("gateway.http.pool.leased", pool, p -> p.getTotalStats().getLeased()).tag("profile", name).register(meterRegistry);
+        Gauge.builder("gateway.http.pool.pending", pool, p -> p.getTotalStats().getPending()).tag("profile", name).register(meterRegistry);
+        Gauge.builder("gateway.http.pool.available", pool, p -> p.getTotalStats().getAvailable()).tag("profile", name).register(meterRegistry);
+        Gauge.builder("gateway.http.pool.max", pool, p -> p.getTotalStats().getMax()).tag("profile", name).register(meterRegistry);
+        Timer leaseTimer = Timer.builder("gateway.http.pool.lease").tag("profile", name).register(meterRegistry);
+
+        long keepAliveMillis = profile.getKeepAlive().toMillis();
+        DefaultConnectionKeepAliveStrategy headerKeepAlive = new DefaultConnectionKeepAliveStrategy();
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(timeout(profile.getConnectionRequestTimeout()))
+                .setResponseTimeout(timeout(profile.getResponseTimeout()))
+                .build();
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(new TimedConnectionManager(pool, leaseTimer))
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue fromHeader = headerKeepAlive.getKeepAliveDuration(response, context);
+                    return fromHeader.toMilliseconds() > 0 && fromHeader.toMilliseconds() < keepAliveMillis
+                            ? fromHeader
+                            : TimeValue.ofMilliseconds(keepAliveMillis);
+                })
+                .build();
+
+        // 커스텀 connection manager라 HttpClientBuilder의 evictIdleConnections 대신 풀에 직접 연결
+        TimeValue idle = TimeValue.ofMilliseconds(profile.getIdleEviction().toMillis());
+        IdleConnectionEvictor evictor = new IdleConnectionEvictor(pool, idle, idle);
+        evictor.start();
+
+        closeables.add(evictor::shutdown);
+        closeables.add(httpClient);
+        closeables.add(pool);
+        upstreams.put(name, new Upstream(httpClient, requestConfig));
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (AutoCloseable closeable : closeables) {
+            closeable.close();
+        }
+    }
+}
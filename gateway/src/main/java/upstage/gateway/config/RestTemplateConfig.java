@@ -1,14 +1,11 @@
 package upstage.gateway.config;
 
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
-import org.apache.hc.client5.http.io.HttpClientConnectionManager;
-import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.hc.core5.ssl.SSLContextBuilder;
 import org.apache.hc.core5.ssl.TrustStrategy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 import javax.net.ssl.SSLContext;
@@ -16,27 +13,25 @@ import javax.net.ssl.SSLContext;
 /**
  * 개발 환경에서 UIE API 등 SSL 인증서 검증이 실패하는 외부 API 호출용.
  * 운영 환경에서는 application.properties로 비활성화 권장.
+ * 호출 대상별 연결 풀은 gateway.http.* 프로필로 분리 (HttpClientRegistry)
  */
 @Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() throws Exception {
+    public HttpClientRegistry httpClientRegistry(HttpClientProperties properties, MeterRegistry meterRegistry) throws Exception {
         TrustStrategy acceptingTrustStrategy = (cert, authType) -> true;
         SSLContext sslContext = SSLContextBuilder.create()
                 .loadTrustMaterial(null, acceptingTrustStrategy)
                 .build();
 
-        SSLConnectionSocketFactory sslSocketFactory = new SSLConnectionSocketFactory(sslContext);
-        HttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
-                .setSSLSocketFactory(sslSocketFactory)
-                .build();
-
-        var httpClient = HttpClients.custom()
-                .setConnectionManager(connectionManager)
-                .build();
+        return new HttpClientRegistry(properties, sslContext, meterRegistry);
+    }
 
-        var requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
-        return new RestTemplate(requestFactory);
+    /** 기본 프로필 RestTemplate */
+    @Bean
+    public RestTemplate restTemplate(HttpClientRegistry httpClientRegistry) {
+        return httpClientRegistry.getDefault();
     }
 }
@@ -0,0 +1,66 @@
+package upstage.gateway.proxy;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 경로 segment 단위 prefix trie - 가장 긴 prefix에 등록된 값 반환
+ * "/api/v1"은 "/api/v1", "/api/v1/x"와 맞고 "/api/v10"과는 맞지 않음, "/"는 모든 경로와 맞음
+ * 요청 경로 길이에만 비례 (등록된 prefix 수와 무관), 생성 후 put 하지 않으면 여러 스레드에서 읽기 안전
+ */
+final class PathTrie<T> {
+
+    /** value: 매칭된 값, length: 매칭된 prefix가 차지하는 요청 경로 길이 (끝의 '/' 제외) */
+    record Match<T>(T value, int length) {
+    }
+
+    private static final class Node<T> {
+        final Map<String, Node<T>> children = new HashMap<>(4);
+        T value;
+    }
+
+    private final Node<T> root = new Node<>();
+
+    /**
+     * @return 같은 prefix에 이미 등록된 값 (없으면 null)
+     */
+    T put(String prefix, T value) {
+        Node<T> node = root;
+        int start = 0;
+        int length = prefix.length();
+        while (start < length) {
+            if (prefix.charAt(start) == '/') {
+                start++;
+                continue;
+            }
+            int end = prefix.indexOf('/', start);
+            if (end < 0) end = length;
+            node = node.children.computeIfAbsent(prefix.substring(start, end), k -> new Node<>());
+            start = end;
+        }
+        T previous = node.value;
+        node.value = value;
+        return previous;
+    }
+
+    /** 가장 긴 prefix 매칭, 없으면 null */
+    Match<T> longestPrefix(String path) {
+        Node<T> node = root;
+        Match<T> best = root.value != null ? new Match<>(root.value, 0) : null;
+        int start = 0;
+        int length = path.length();
+        while (start < length) {
+            if (path.charAt(start) == '/') {
+                start++;
+                continue;
+            }
+            int end = path.indexOf('/', start);
+            if (end < 0) end = length;
+            node = node.children.get(path.substring(start, end));
+            if (node == null) break;
+            if (node.value != null) best = new Match<>(node.value, end);
+            start = end;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,192 @@
+package upstage.gateway.proxy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.InputStreamEntity;
+import org.apache.hc.core5.http.message.BasicClassicHttpRequest;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 설정된 prefix로 들어온 요청을 upstream으로 그대로 전달 (Spring MVC/Camel 이전 단계)
+ * - 요청/응답 본문은 버퍼링하거나 변환하지 않고 스트림으로 복사 (압축된 응답도 그대로)
+ * - upstream 연결 실패 502, 응답 시간 초과 504 (응답을 보내기 시작한 뒤 실패하면 연결만 끊음)
+ * - X-Forwarded-For/Proto/Host 추가, route 설정에 따라 헤더 설정/제거
+ * - 경로에 ".", ".." segment (%2e 인코딩, ;파라미터 포함)나 인코딩된 구분자 (%2f, %5c)가 있으면 400
+ *   (upstream에서 prefix 밖 경로로 해석되지 않도록 - 경로는 디코딩하지 않은 그대로 전달)
+ * - 메트릭 gateway.proxy.requests{route, outcome} - Timer는 route/outcome별로 한 번만 등록
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ProxyFilter extends OncePerRequestFilter {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final ProxyRouteRegistry routes;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    public ProxyFilter(ProxyRouteRegistry routes, MeterRegistry meterRegistry) {
+        this.routes = routes;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        PathTrie.Match<ProxyRouteTable.Route> match = routes.table().find(path);
+        if (match == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ProxyRouteTable.Route route = match.value();
+        long start = System.nanoTime();
+        String outcome;
+        if (isUnsafe(path)) {
+            outcome = reject(response, route);
+        } else {
+            try {
+                outcome = forward(route, route.target(path, match.length(), request.getQueryString()), request, response);
+            } catch (SocketTimeoutException e) {
+                outcome = fail(response, HttpStatus.GATEWAY_TIMEOUT, route, e);
+            } catch (IOException e) {
+                outcome = fail(response, HttpStatus.BAD_GATEWAY, route, e);
+            }
+        }
+        timer(route.id(), outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String routeId, String outcome) {
+        return timers.computeIfAbsent(routeId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(outcome, o -> Timer.builder("gateway.proxy.requests")
+                        .tag("route", routeId)
+                        .tag("outcome", o)
+                        .register(meterRegistry));
+    }
+
+    /** 디코딩하지 않은 요청 경로에 dot-segment나 인코딩된 경로 구분자가 있는지 */
+    static boolean isUnsafe(String path) {
+        if (path.indexOf('.') < 0 && path.indexOf('%') < 0 && path.indexOf('\\') < 0) {
+            return false;
+        }
+        String lower = path.toLowerCase(Locale.ROOT);
+        if (lower.indexOf('\\') >= 0 || lower.contains("%2f") || lower.contains("%5c")) {
+            return true;
+        }
+        for (String segment : lower.replace("%2e", ".").split("/", -1)) {
+            int parameters = segment.indexOf(';');
+            String name = parameters >= 0 ? segment.substring(0, parameters) : segment;
+            if (name.equals(".") || name.equals("..")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String reject(HttpServletResponse response, ProxyRouteTable.Route route) throws IOException {
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        MAPPER.writeValue(response.getOutputStream(), Map.of("error", "Invalid path", "route", route.id()));
+        return "rejected";
+    }
+
+    /** @return 메트릭 outcome 태그 (응답 상태 코드 계열) */
+    private String forward(ProxyRouteTable.Route route, String target, HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        ClassicHttpRequest upstream = new BasicClassicHttpRequest(request.getMethod(), target);
+        for (Enumeration<String> names = request.getHeaderNames(); names.hasMoreElements(); ) {
+            String name = names.nextElement();
+            if (route.skipRequestHeaders().contains(name.toLowerCase(Locale.ROOT))) continue;
+            for (Enumeration<String> values = request.getHeaders(name); values.hasMoreElements(); ) {
+                upstream.addHeader(name, values.nextElement());
+            }
+        }
+        route.requestHeaders().forEach(upstream::setHeader);
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        upstream.setHeader("X-Forwarded-For", forwardedFor != null ? forwardedFor + ", " + request.getRemoteAddr() : request.getRemoteAddr());
+        upstream.setHeader("X-Forwarded-Proto", request.getScheme());
+        if (request.getHeader("Host") != null) {
+            upstream.setHeader("X-Forwarded-Host", request.getHeader("Host"));
+        }
+
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > 0 || request.getHeader("Transfer-Encoding") != null) {
+            String contentType = request.getContentType();
+            upstream.setEntity(new InputStreamEntity(request.getInputStream(), contentLength,
+                    contentType != null ? ContentType.parseLenient(contentType) : null));
+        }
+
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(route.requestConfig());
+        return route.client().client().execute(upstream, context, upstreamResponse -> {
+            response.setStatus(upstreamResponse.getCode());
+            for (Header header : upstreamResponse.getHeaders()) {
+                if (route.skipResponseHeaders().contains(header.getName().toLowerCase(Locale.ROOT))) continue;
+                response.addHeader(header.getName(), header.getValue());
+            }
+            for (Map.Entry<String, String> header : route.responseHeaders().entrySet()) {
+                response.setHeader(header.getKey(), header.getValue());
+            }
+            HttpEntity entity = upstreamResponse.getEntity();
+            if (entity != null) {
+                if (entity.getContentLength() >= 0) {
+                    response.setContentLengthLong(entity.getContentLength());
+                }
+                try (InputStream in = entity.getContent()) {
+                    copy(in, response.getOutputStream());
+                }
+            }
+            return (upstreamResponse.getCode() / 100) + "xx";
+        });
+    }
+
+    /** 받은 만큼 바로 전달 - 느린 upstream의 스트리밍 응답도 지연 없이 */
+    private static void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, read);
+            if (in.available() == 0) out.flush();
+        }
+    }
+
+    private static String fail(HttpServletResponse response, HttpStatus status, ProxyRouteTable.Route route,
+                               IOException e) throws IOException {
+        if (response.isCommitted()) {
+            // 본문 전송 중 실패 - 상태 코드를 바꿀 수 없으므로 연결을 끊어 클라이언트가 알 수 있게
+            throw e;
+        }
+        response.reset();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        MAPPER.writeValue(response.getOutputStream(), Map.of("error", String.valueOf(e.getMessage()), "route", route.id()));
+        return "error";
+    }
+}
@@ -0,0 +1,49 @@
+package upstage.gateway.proxy;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 프록시 route 정의 (gateway.proxy.routes-file의 JSON 배열 항목)
+ * 예) {"id": "uie", "path": "/proxy/uie", "upstream": "https://api.upstage.ai/v1", "httpProfile": "uie",
+ *      "timeoutMs": 60000, "requestHeaders": {"Authorization": "Bearer ..."}, "removeRequestHeaders": ["Cookie"]}
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProxyRoute {
+
+    /** route 이름 (메트릭 태그, 비어있으면 path) */
+    private String id;
+
+    /** 요청 경로 prefix (segment 단위 매칭, 가장 긴 prefix 우선) */
+    private String path;
+
+    /** 전달 대상 base URL (http/https) */
+    private String upstream;
+
+    /** true면 path prefix를 떼고 나머지 경로를 upstream 뒤에 붙임, false면 전체 경로를 붙임 */
+    private boolean stripPrefix = true;
+
+    /** HTTP 클라이언트 프로필 (gateway.http.profiles.*, 비어있으면 upstream host로 선택) - 연결 풀/연결 timeout */
+    private String httpProfile;
+
+    /** 응답 대기 시간 (비어있으면 프로필의 response-timeout) */
+    private Long timeoutMs;
+
+    /** upstream 요청에 설정(덮어쓰기)할 헤더 */
+    private Map<String, String> requestHeaders;
+
+    /** upstream 요청에서 제거할 헤더 */
+    private List<String> removeRequestHeaders;
+
+    /** 클라이언트 응답에 설정(덮어쓰기)할 헤더 */
+    private Map<String, String> responseHeaders;
+
+    /** 클라이언트 응답에서 제거할 헤더 */
+    private List<String> removeResponseHeaders;
+}
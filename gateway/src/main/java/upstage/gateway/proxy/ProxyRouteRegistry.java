@@ -0,0 +1,88 @@
+package upstage.gateway.proxy;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import upstage.gateway.config.HttpClientRegistry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+/**
+ * 프록시 route 설정 (gateway.proxy.routes-file, JSON 배열) - 재시작 없이 반영
+ * - reload-interval-ms마다 파일 수정 시각/크기를 확인해 바뀌었으면 다시 읽고 테이블 교체
+ * - 잘못된 설정이면 시작 실패, 실행 중 다시 읽다 실패하면 경고 후 이전 테이블 유지
+ * - 진행 중인 요청은 시작할 때 찾은 route로 끝까지 처리
+ */
+@Component
+public class ProxyRouteRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ProxyRouteRegistry.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path file;
+    private final HttpClientRegistry httpClients;
+    private volatile ProxyRouteTable table = ProxyRouteTable.EMPTY;
+    /** 마지막으로 읽은 파일 상태 (수정 시각 + 크기) */
+    private String loadedVersion;
+
+    public ProxyRouteRegistry(HttpClientRegistry httpClients,
+                              @Value("${gateway.proxy.routes-file:}") String routesFile) throws IOException {
+        this.httpClients = httpClients;
+        this.file = routesFile.isBlank() ? null : Path.of(routesFile);
+        if (file != null) {
+            if (Files.exists(file)) {
+                loadedVersion = fileVersion();
+                load();
+            } else {
+                log.warn("Proxy routes file {} not found, waiting for it to appear", file);
+            }
+        }
+    }
+
+    ProxyRouteTable table() {
+        return table;
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.proxy.reload-interval-ms:5000}")
+    public void reload() {
+        if (file == null) return;
+        try {
+            if (!Files.exists(file)) {
+                if (loadedVersion != null) {
+                    log.warn("Proxy routes file {} removed, keeping {} routes", file, table.size());
+                    loadedVersion = null;
+                }
+                return;
+            }
+            String version = fileVersion();
+            if (!version.equals(loadedVersion)) {
+                // 실패해도 파일이 다시 바뀔 때까지 재시도하지 않음
+                loadedVersion = version;
+                load();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to reload proxy routes from {}, keeping {} routes: {}", file, table.size(), e.getMessage());
+        }
+    }
+
+    /** 파일 상태는 읽기 전에 기록 - 읽는 도중 바뀌면 다음 확인에서 다시 읽음 */
+    private void load() throws IOException {
+        List<ProxyRoute> routes = MAPPER.readValue(file.toFile(), new TypeReference<>() {
+        });
+        table = ProxyRouteTable.compile(routes, httpClients);
+        log.info("Loaded {} proxy routes from {}", routes.size(), file);
+    }
+
+    private String fileVersion() throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return attributes.lastModifiedTime().toMillis() + ":" + attributes.size();
+    }
+}
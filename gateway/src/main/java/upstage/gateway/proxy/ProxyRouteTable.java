@@ -0,0 +1,111 @@
+package upstage.gateway.proxy;
+
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.core5.util.Timeout;
+import upstage.gateway.config.HttpClientRegistry;
+
+import java.net.URI;
+import java.util.*;
+
+/**
+ * 검증 + 컴파일된 route 목록 - 불변, 설정이 바뀌면 새 테이블로 교체
+ * 요청마다 필요한 값 (upstream 클라이언트, 요청 설정, 소문자 헤더 이름)은 컴파일 시점에 준비
+ */
+final class ProxyRouteTable {
+
+    static final ProxyRouteTable EMPTY = new ProxyRouteTable(new PathTrie<>(), 0);
+
+    /** 연결 단위 헤더 - 전달하지 않음 (Host/Content-Length는 HttpClient가 다시 설정) */
+    private static final Set<String> HOP_BY_HOP = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "proxy-connection", "te", "trailer", "transfer-encoding", "upgrade",
+            "host", "content-length");
+
+    record Route(String id, String prefix, String upstream, boolean stripPrefix,
+                 HttpClientRegistry.Upstream client, RequestConfig requestConfig,
+                 Set<String> skipRequestHeaders, Map<String, String> requestHeaders,
+                 Set<String> skipResponseHeaders, Map<String, String> responseHeaders) {
+
+        /** upstream 요청 URL - stripPrefix면 prefix 뒤 나머지 경로만 */
+        String target(String path, int prefixLength, String query) {
+            String rest = stripPrefix ? path.substring(prefixLength) : path;
+            StringBuilder url = new StringBuilder(upstream.length() + rest.length() + (query != null ? query.length() + 1 : 0));
+            url.append(upstream);
+            if (!rest.isEmpty() && rest.charAt(0) != '/') url.append('/');
+            url.append(rest);
+            if (query != null) url.append('?').append(query);
+            return url.toString();
+        }
+    }
+
+    private final PathTrie<Route> trie;
+    private final int size;
+
+    private ProxyRouteTable(PathTrie<Route> trie, int size) {
+        this.trie = trie;
+        this.size = size;
+    }
+
+    /**
+     * @throws IllegalArgumentException path/upstream이 없거나 잘못된 경우, 같은 path 중복, 없는 프로필
+     */
+    static ProxyRouteTable compile(List<ProxyRoute> routes, HttpClientRegistry httpClients) {
+        PathTrie<Route> trie = new PathTrie<>();
+        for (ProxyRoute route : routes) {
+            Route compiled = compile(route, httpClients);
+            if (trie.put(compiled.prefix(), compiled) != null) {
+                throw new IllegalArgumentException("Duplicate proxy path: " + route.getPath());
+            }
+        }
+        return new ProxyRouteTable(trie, routes.size());
+    }
+
+    private static Route compile(ProxyRoute route, HttpClientRegistry httpClients) {
+        String path = route.getPath();
+        if (path == null || !path.startsWith("/")) {
+            throw new IllegalArgumentException("Proxy path must start with '/': " + path);
+        }
+        String upstream = route.getUpstream();
+        URI uri;
+        try {
+            uri = URI.create(upstream);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid proxy upstream: " + upstream);
+        }
+        if (!("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) || uri.getHost() == null) {
+            throw new IllegalArgumentException("Proxy upstream must be an absolute http(s) URL: " + upstream);
+        }
+        HttpClientRegistry.Upstream client = httpClients.upstreamFor(upstream, route.getHttpProfile());
+
+        // 응답 본문은 압축된 그대로 전달 (HttpClient 자동 해제 끔)
+        RequestConfig.Builder config = RequestConfig.copy(client.requestConfig()).setContentCompressionEnabled(false);
+        if (route.getTimeoutMs() != null) {
+            config.setResponseTimeout(Timeout.ofMilliseconds(route.getTimeoutMs()));
+        }
+
+        Map<String, String> requestHeaders = route.getRequestHeaders() != null ? Map.copyOf(route.getRequestHeaders()) : Map.of();
+        Map<String, String> responseHeaders = route.getResponseHeaders() != null ? Map.copyOf(route.getResponseHeaders()) : Map.of();
+        String id = route.getId() != null && !route.getId().isBlank() ? route.getId() : path;
+        return new Route(id, path,
+                upstream.endsWith("/") ? upstream.substring(0, upstream.length() - 1) : upstream,
+                route.isStripPrefix(), client, config.build(),
+                skipped(route.getRemoveRequestHeaders(), requestHeaders), requestHeaders,
+                skipped(route.getRemoveResponseHeaders(), responseHeaders), responseHeaders);
+    }
+
+    /** 전달하지 않을 헤더 (소문자) - 연결 단위 헤더 + 제거 목록 + 덮어쓸 헤더 */
+    private static Set<String> skipped(List<String> removed, Map<String, String> overridden) {
+        Set<String> names = new HashSet<>(HOP_BY_HOP);
+        if (removed != null) removed.forEach(name -> names.add(name.toLowerCase(Locale.ROOT)));
+        overridden.keySet().forEach(name -> names.add(name.toLowerCase(Locale.ROOT)));
+        return Set.copyOf(names);
+    }
+
+    /** 요청 경로에 맞는 route (가장 긴 prefix), 없으면 null */
+    PathTrie.Match<Route> find(String path) {
+        return size == 0 ? null : trie.longestPrefix(path);
+    }
+
+    int size() {
+        return size;
+    }
+}
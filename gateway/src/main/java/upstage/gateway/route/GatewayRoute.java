@@ -36,16 +36,6 @@ public class GatewayRoute extends RouteBuilder {
             .log("Received: ${body}")
             .setBody(simple("{\"echo\": ${body}, \"timestamp\": \"${date:now:yyyy-MM-dd HH:mm:ss}\"}"));
 
-        // 프록시 예제 - 외부 API로 요청 전달
-        rest("/proxy")
-            .get("/httpbin")
-            .to("direct:proxy-httpbin");
-
-        from("direct:proxy-httpbin")
-            .routeId("proxy-httpbin")
-            .log("Proxying to httpbin.org")
-            .setHeader("CamelHttpMethod", constant("GET"))
-            .to("http://httpbin.org/get?bridgeEndpoint=true")
-            .convertBodyTo(String.class);
+        // 외부 API 프록시는 gateway.proxy.routes-file 설정으로 (ProxyFilter - 본문 스트리밍, 기본 config/proxy-routes.json에 /api/proxy/httpbin)
     }
 }
@@ -0,0 +1,320 @@
+package upstage.gateway.workflow;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.Processor;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.AggregationStrategies;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.RouteDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import upstage.gateway.workflow.connector.ConnectorNode;
+import upstage.gateway.workflow.plan.ExecutionPlan;
+import upstage.gateway.workflow.trace.ExecutionTrace;
+import upstage.gateway.workflow.uie.UieNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Camel 실행 모드 (gateway.workflow.engine=camel) - 저장된 Workflow 버전마다 Camel route 묶음
+ * - Step마다 route 하나, edge를 따라 연결: Step이 끝나면 모든 upstream이 끝난 downstream Step만 이어서 실행
+ *   (하나면 같은 스레드, 여럿이면 recipient list로 병렬 - Camel 기본 스레드 풀), 다른 분기를 기다리는 단계 구분 없음
+ * - stage-consumers > 0이면 UIE/Connector Step route는 SEDA 대기열 뒤에서 전용 consumer가 실행 (보낸 쪽은 완료까지 대기)
+ * - route id: 진입 workflow-{id}-v{version}, Step {진입 route id}-node-{노드 id} → JMX/Hawtio에서 노드별 처리 수/시간 확인
+ * - WorkflowSavedEvent에 route 추가, WorkflowVersionRemovedEvent에 제거 (재시작 후 저장소에서 읽은 버전은 첫 실행 시 추가)
+ * - 제거된 버전은 route를 다시 만들지 않음 - 제거 전에 시작된 실행은 Step을 순서대로 직접 실행
+ * 노드 실행 자체(UIE 호출, 변환, Connector, 메트릭/trace)는 WorkflowExecutionService의 Step 실행을 그대로 사용
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.workflow.engine", havingValue = "camel")
+public class CamelWorkflowRoutes {
+
+    private static final Logger log = LoggerFactory.getLogger(CamelWorkflowRoutes.class);
+
+    /** 이어서 실행할 Step endpoint - 하나면 같은 스레드, 여럿이면 병렬 */
+    private static final String NEXT = "gatewayNextStep";
+    private static final String NEXT_PARALLEL = "gatewayNextSteps";
+
+    /** Step 하나 실행 - input은 upstream 결과를 합친 값 */
+    public interface StepRunner {
+        Object run(ExecutionPlan plan, ExecutionPlan.Step step, Object input, MultipartFile file,
+                   CompletableFuture<?> failure, ExecutionTrace trace);
+    }
+
+    /**
+     * route를 따라 전달되는 실행 상태 (exchange body) - Step 결과는 Step 위치에 기록
+     * waiting: Step별 아직 끝나지 않은 upstream 수 - 0이 되게 만든 분기가 그 Step을 실행
+     */
+    private record Execution(ExecutionPlan plan, MultipartFile file, ExecutionTrace trace, StepRunner runner,
+                             Object[] results, CompletableFuture<Object> failure, AtomicIntegerArray waiting) {
+    }
+
+    /** 버전별 route - 첫 번째가 진입 route */
+    private record Routes(String endpoint, List<String> routeIds) {
+    }
+
+    private final CamelContext camelContext;
+    private final ProducerTemplate producer;
+    private final int stageConsumers;
+    private final Map<String, Routes> routes = new ConcurrentHashMap<>();
+    /**
+     * Workflow별 제거된 가장 높은 버전 - 버전은 증가만 하고 제거는 오래된 버전부터이므로 그 이하는 모두 제거됨
+     * route 추가/제거와 같은 lock 안에서만 사용
+     */
+    private final Map<String, Long> removedUpTo = new HashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    /** route 정지는 진행 중인 실행을 기다리므로 저장 요청과 분리 */
+    private final ExecutorService remover = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "workflow-route-remover");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public CamelWorkflowRoutes(CamelContext camelContext,
+                               @Value("${gateway.workflow.camel.stage-consumers:0}") int stageConsumers) {
+        this.camelContext = camelContext;
+        this.producer = camelContext.createProducerTemplate();
+        this.stageConsumers = stageConsumers;
+    }
+
+    /** 진행 중인 route 제거가 끝난 뒤 종료 - CamelContext 종료와 겹치지 않게 */
+    @PreDestroy
+    void shutdown() throws Exception {
+        remover.shutdown();
+        remover.awaitTermination(60, TimeUnit.SECONDS);
+        producer.close();
+    }
+
+    @EventListener
+    public void onSaved(WorkflowSavedEvent event) {
+        try {
+            routesFor(event.plan());
+        } catch (RuntimeException e) {
+            // 실행 시 다시 시도
+            log.warn("Failed to add route for workflow {} v{}: {}", event.plan().getWorkflowId(), event.plan().getVersion(), e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onRemoved(WorkflowVersionRemovedEvent event) {
+        Routes removed;
+        synchronized (this) {
+            removedUpTo.merge(event.workflowId(), event.version(), Math::max);
+            removed = routes.remove(key(event.workflowId(), event.version()));
+        }
+        if (removed != null) {
+            remover.execute(() -> removeRoutes(removed));
+        }
+    }
+
+    /**
+     * route로 실행 - Step 실패는 WorkflowExecutionException 그대로 전달
+     * 실패한 분기가 있어도 이미 실행 중인 분기가 끝난 뒤 반환 (이후 Step은 시작하지 않음)
+     */
+    public Object run(ExecutionPlan plan, MultipartFile file, ExecutionTrace trace, StepRunner runner) throws Exception {
+        List<ExecutionPlan.Step> steps = plan.getSteps();
+        AtomicIntegerArray waiting = new AtomicIntegerArray(steps.size());
+        for (ExecutionPlan.Step step : steps) {
+            waiting.set(step.getIndex(), step.getUpstream().length);
+        }
+        Execution execution = new Execution(plan, file, trace, runner,
+                new Object[steps.size()], new CompletableFuture<>(), waiting);
+
+        Routes target = routesFor(plan);
+        if (target == null) {
+            runInOrder(execution);
+        } else {
+            Exchange exchange = producer.send(target.endpoint(), ExchangePattern.InOut, ex -> ex.getIn().setBody(execution));
+            if (execution.failure().isCompletedExceptionally()) {
+                throw unwrap(execution.failure().exceptionNow());
+            }
+            if (exchange.getException() != null) {
+                throw unwrap(exchange.getException());
+            }
+        }
+        return WorkflowExecutionService.joinResults(plan, plan.getResultSteps(), i -> execution.results()[i]);
+    }
+
+    /** Step은 위상 순서로 정렬되어 있으므로 앞에서부터 실행 */
+    private static void runInOrder(Execution execution) {
+        ExecutionPlan plan = execution.plan();
+        for (ExecutionPlan.Step step : plan.getSteps()) {
+            Object input = WorkflowExecutionService.joinResults(plan, step.getUpstream(), i -> execution.results()[i]);
+            execution.results()[step.getIndex()] = execution.runner().run(plan, step, input,
+                    execution.file(), execution.failure(), execution.trace());
+        }
+    }
+
+    /** 등록된 route 수 (버전 기준) */
+    public int routeCount() {
+        return routes.size();
+    }
+
+    /** 제거된 버전이면 null */
+    private Routes routesFor(ExecutionPlan plan) {
+        String key = key(plan.getWorkflowId(), plan.getVersion());
+        Routes existing = routes.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (this) {
+            Long removed = removedUpTo.get(plan.getWorkflowId());
+            if (removed != null && plan.getVersion() <= removed) {
+                return null;
+            }
+            return routes.computeIfAbsent(key, k -> addRoutes(plan));
+        }
+    }
+
+    private static String key(String workflowId, Long version) {
+        return workflowId + "@" + version;
+    }
+
+    /** endpoint 이름은 순번 - Workflow id에 URI 예약 문자가 있어도 안전 */
+    private Routes addRoutes(ExecutionPlan plan) {
+        long seq = sequence.incrementAndGet();
+        String base = "workflow-" + seq;
+        List<ExecutionPlan.Step> steps = plan.getSteps();
+        String routeId = routeId(plan, seq);
+
+        // Step별 downstream, 보내는 쪽 endpoint
+        List<List<Integer>> downstream = new ArrayList<>(steps.size());
+        String[] endpoints = new String[steps.size()];
+        List<Integer> sources = new ArrayList<>(1);
+        for (ExecutionPlan.Step step : steps) {
+            downstream.add(new ArrayList<>(1));
+            String name = base + "-" + step.getIndex();
+            endpoints[step.getIndex()] = isQueued(step)
+                    ? "seda:" + name + "?concurrentConsumers=" + stageConsumers + "&waitForTaskToComplete=Always&timeout=0"
+                    : "direct:" + name;
+            if (step.getUpstream().length == 0) sources.add(step.getIndex());
+            for (int u : step.getUpstream()) {
+                downstream.get(u).add(step.getIndex());
+            }
+        }
+
+        List<String> routeIds = new ArrayList<>();
+        try {
+            camelContext.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() {
+                    // 실패는 호출자에게 그대로 반환 (재시도/로그는 노드 resilience 설정과 WorkflowExecutionService가 담당)
+                    errorHandler(noErrorHandler());
+
+                    RouteDefinition entry = from("direct:" + base).routeId(routeId)
+                            .process(exchange -> next(exchange, sources.stream().map(i -> endpoints[i]).toList()));
+                    routeIds.add(routeId);
+                    dispatch(entry);
+
+                    for (ExecutionPlan.Step step : steps) {
+                        String name = base + "-" + step.getIndex();
+                        String stepRouteId = routeId + "-node-" + step.getNode().getId();
+                        RouteDefinition route = isQueued(step)
+                                ? from("seda:" + name + "?concurrentConsumers=" + stageConsumers)
+                                : from("direct:" + name);
+                        route.routeId(stepRouteId)
+                                .process(processor(step, downstream.get(step.getIndex()), endpoints)).id(stepRouteId + "-step");
+                        routeIds.add(stepRouteId);
+                        dispatch(route);
+                    }
+                }
+
+                /** 원래 exchange를 유지 - 분기에서 설정한 다음 Step이 되돌아오지 않도록 */
+                private void dispatch(RouteDefinition route) {
+                    route.recipientList(header(NEXT_PARALLEL)).parallelProcessing()
+                            .aggregationStrategy(AggregationStrategies.useOriginal()).end()
+                            .recipientList(header(NEXT))
+                            .aggregationStrategy(AggregationStrategies.useOriginal()).end();
+                }
+            });
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to add route " + routeId, e);
+        }
+        log.info("Added route {} ({} steps)", routeId, steps.size());
+        return new Routes("direct:" + base, List.copyOf(routeIds));
+    }
+
+    /** 삭제 후 같은 id로 다시 만든 Workflow나 다른 Workflow의 route id와 겹치면 순번을 붙임 */
+    private String routeId(ExecutionPlan plan, long seq) {
+        String name = "workflow-" + plan.getWorkflowId() + "-v" + plan.getVersion();
+        boolean taken = camelContext.getRoute(name) != null || plan.getSteps().stream()
+                .anyMatch(step -> camelContext.getRoute(name + "-node-" + step.getNode().getId()) != null);
+        return taken ? name + "-" + seq : name;
+    }
+
+    private boolean isQueued(ExecutionPlan.Step step) {
+        return stageConsumers > 0 && (step.getNode() instanceof UieNode || step.getNode() instanceof ConnectorNode);
+    }
+
+    private static Processor processor(ExecutionPlan.Step step, List<Integer> downstream, String[] endpoints) {
+        int[] upstream = step.getUpstream();
+        return exchange -> {
+            Execution execution = exchange.getIn().getBody(Execution.class);
+            // 다른 분기가 실패했으면 새 Step은 시작하지 않음
+            if (execution.failure().isDone()) {
+                next(exchange, List.of());
+                return;
+            }
+            Object input = WorkflowExecutionService.joinResults(execution.plan(), upstream, i -> execution.results()[i]);
+            try {
+                execution.results()[step.getIndex()] = execution.runner().run(execution.plan(), step, input,
+                        execution.file(), execution.failure(), execution.trace());
+            } catch (RuntimeException e) {
+                // 실행 중인 다른 분기는 끝까지 진행, 실패는 run에서 반환
+                execution.failure().completeExceptionally(e);
+                next(exchange, List.of());
+                return;
+            }
+            List<String> ready = new ArrayList<>(downstream.size());
+            for (int d : downstream) {
+                if (execution.waiting().decrementAndGet(d) == 0) ready.add(endpoints[d]);
+            }
+            next(exchange, ready);
+        };
+    }
+
+    private static void next(Exchange exchange, List<String> endpoints) {
+        exchange.getIn().setHeader(NEXT, endpoints.size() == 1 ? endpoints : null);
+        exchange.getIn().setHeader(NEXT_PARALLEL, endpoints.size() > 1 ? endpoints : null);
+    }
+
+    /** 병렬 단계의 실패는 Camel 예외로 감싸지므로 Step 실패를 찾아 반환 */
+    private static Exception unwrap(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof WorkflowExecutionException wee) return wee;
+        }
+        if (e instanceof CamelExecutionException && e.getCause() instanceof Exception cause) return cause;
+        return e instanceof Exception ex ? ex : new IllegalStateException(e);
+    }
+
+    private void removeRoutes(Routes removed) {
+        for (String routeId : removed.routeIds()) {
+            try {
+                camelContext.getRouteController().stopRoute(routeId, 30, TimeUnit.SECONDS);
+                camelContext.removeRoute(routeId);
+            } catch (Exception e) {
+                log.warn("Failed to remove route {}: {}", routeId, e.getMessage());
+            }
+        }
+        log.info("Removed route {}", removed.routeIds().get(0));
+    }
+}
@@ -0,0 +1,11 @@
+package upstage.gateway.workflow;
+
+/**
+ * Workflow 동시 실행 수 제한에 걸려 대기 시간 안에 실행하지 못함
+ */
+public class WorkflowBusyException extends RuntimeException {
+
+    public WorkflowBusyException(String workflowId, int limit) {
+        super("Workflow " + workflowId + " is at its concurrent execution limit (" + limit + ")");
+    }
+}
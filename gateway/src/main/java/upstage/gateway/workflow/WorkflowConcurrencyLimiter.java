@@ -0,0 +1,65 @@
+package upstage.gateway.workflow;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import upstage.gateway.workflow.plan.ExecutionPlan;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Workflow별 동시 실행 수 제한 - 한 Workflow에 요청이 몰려도 다른 Workflow의 실행 자리가 남도록
+ * - 제한: Workflow 정의의 maxConcurrentExecutions, 없으면 gateway.workflow.max-concurrent-executions (0 = 제한 없음)
+ * - 자리가 없으면 max-wait 동안 대기 후 WorkflowBusyException (기본 0 = 대기 없이 바로 - 대기 중에는 요청 스레드를 점유)
+ * 제한 값이 바뀌면 새 Semaphore로 교체 (이전 값으로 실행 중인 요청은 이전 Semaphore에 반환)
+ */
+@Component
+public class WorkflowConcurrencyLimiter {
+
+    private record Limit(int permits, Semaphore semaphore) {
+    }
+
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+    private final int defaultLimit;
+    private final long maxWaitMs;
+    private final WorkflowMetrics metrics;
+
+    public WorkflowConcurrencyLimiter(WorkflowMetrics metrics,
+                                      @Value("${gateway.workflow.max-concurrent-executions:0}") int defaultLimit,
+                                      @Value("${gateway.workflow.concurrency-max-wait:0s}") Duration maxWait) {
+        this.metrics = metrics;
+        this.defaultLimit = defaultLimit;
+        this.maxWaitMs = maxWait.toMillis();
+    }
+
+    /**
+     * 실행 자리 확보 - 반환값을 실행 후 release (제한이 없으면 null)
+     * @throws WorkflowBusyException 대기 시간 안에 자리가 나지 않은 경우
+     */
+    public Semaphore acquire(ExecutionPlan plan) throws InterruptedException {
+        Integer configured = plan.getWorkflow().getMaxConcurrentExecutions();
+        int permits = configured != null ? configured : defaultLimit;
+        if (permits <= 0) {
+            return null;
+        }
+        // 설정이 같으면 조회만, 처음이거나 제한 값이 바뀐 경우에만 교체
+        Limit limit = limits.get(plan.getWorkflowId());
+        if (limit == null || limit.permits() != permits) {
+            limit = limits.compute(plan.getWorkflowId(), (id, current) ->
+                    current != null && current.permits() == permits ? current : new Limit(permits, new Semaphore(permits, true)));
+        }
+        Semaphore semaphore = limit.semaphore();
+        if (!semaphore.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+            metrics.rejected(plan.getWorkflowId(), "concurrency");
+            throw new WorkflowBusyException(plan.getWorkflowId(), permits);
+        }
+        return semaphore;
+    }
+
+    public void remove(String workflowId) {
+        limits.remove(workflowId);
+    }
+}
@@ -3,7 +3,14 @@ package upstage.gateway.workflow;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import upstage.gateway.workflow.admission.AdmissionControl;
+import upstage.gateway.workflow.batch.WorkflowBatchService;
+import upstage.gateway.workflow.job.WorkflowJob;
+import upstage.gateway.workflow.job.WorkflowJobService;
 import upstage.gateway.workflow.model.Workflow;
+import upstage.gateway.workflow.trace.ExecutionTrace;
+import upstage.gateway.workflow.trace.ExecutionTraceStore;
 
 import java.util.List;
 
@@ -13,10 +20,25 @@ public class WorkflowController {
 
     private final WorkflowService workflowService;
     private final WorkflowExecutionService executionService;
+    private final WorkflowJobService jobService;
+    private final WorkflowBatchService batchService;
+    private final ExecutionTraceStore traceStore;
+    private final WorkflowConcurrencyLimiter concurrencyLimiter;
+    private final AdmissionControl admission;
+    private final WorkflowMetrics metrics;
 
-    public WorkflowController(WorkflowService workflowService, WorkflowExecutionService executionService) {
+    public WorkflowController(WorkflowService workflowService, WorkflowExecutionService executionService,
+                              WorkflowJobService jobService, WorkflowBatchService batchService,
+                              ExecutionTraceStore traceStore, WorkflowConcurrencyLimiter concurrencyLimiter,
+                              AdmissionControl admission, WorkflowMetrics metrics) {
         this.workflowService = workflowService;
         this.executionService = executionService;
+        this.jobService = jobService;
+        this.batchService = batchService;
+        this.traceStore = traceStore;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.admission = admission;
+        this.metrics = metrics;
     }
 
     @GetMapping
@@ -36,30 +58,78 @@ public class WorkflowController {
         return workflowService.save(workflow);
     }
 
+    /** 새 버전으로 저장 - 실행 중인 요청은 시작 시 버전으로 계속 실행 */
     @PutMapping("/{id}")
     public ResponseEntity<Workflow> update(@PathVariable String id, @RequestBody Workflow workflow) {
         workflow.setId(id);
-        return workflowService.findById(id) != null
+        return workflowService.findById(id).isPresent()
                 ? ResponseEntity.ok(workflowService.save(workflow))
                 : ResponseEntity.notFound().build();
     }
 
+    /** 보관 중인 버전 (최신 순) */
+    @GetMapping("/{id}/versions")
+    public ResponseEntity<List<Workflow>> versions(@PathVariable String id) {
+        List<Workflow> versions = workflowService.findVersions(id);
+        return versions.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(versions);
+    }
+
+    @GetMapping("/{id}/versions/{version}")
+    public ResponseEntity<Workflow> getVersion(@PathVariable String id, @PathVariable long version) {
+        return workflowService.findById(id, version)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /** 이전 버전 내용을 새 최신 버전으로 저장 (롤백) */
+    @PostMapping("/{id}/versions/{version}/restore")
+    public ResponseEntity<Workflow> restore(@PathVariable String id, @PathVariable long version) {
+        return workflowService.restore(id, version)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable String id) {
-        return workflowService.deleteById(id)
-                ? ResponseEntity.noContent().build()
-                : ResponseEntity.notFound().build();
+        if (!workflowService.deleteById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        traceStore.remove(id);
+        concurrencyLimiter.remove(id);
+        admission.remove(id);
+        metrics.remove(id);
+        return ResponseEntity.noContent().build();
     }
 
-    @PostMapping(value = "/{id}/execute", consumes = "multipart/form-data")
+    /**
+     * 동기 실행 - version 미지정 시 최신 버전
+     * 파일 대신 미리보기 응답의 X-Preview-Session token을 session으로 보내면 UIE 호출 생략 (만료 시 410)
+     * 요청률/동시 실행 한도는 AdmissionFilter가 본문을 읽기 전에 확인 (초과 시 429 + Retry-After)
+     */
+    @PostMapping("/{id}/execute")
     public ResponseEntity<?> execute(
             @PathVariable String id,
-            @RequestParam(value = "file", required = false) MultipartFile file) {
-        return executionService.execute(id, file);
+            @RequestParam(value = "file", required = false) MultipartFile file,
+            @RequestParam(value = "session", required = false) String session,
+            @RequestParam(value = "version", required = false) Long version,
+            @RequestParam(value = "trace", defaultValue = "false") boolean trace) {
+        return executionService.execute(id, version, file, session, trace);
+    }
+
+    /**
+     * 최근 실행 기록 (최신 순) - 노드별 소요 시간, 입출력 크기, 오류
+     */
+    @GetMapping("/{id}/executions")
+    public ResponseEntity<List<ExecutionTrace>> executions(@PathVariable String id) {
+        if (workflowService.findById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(traceStore.recent(id));
     }
 
     /**
      * 미리보기 실행 - UIE 노드까지 실행(호출+파싱) 후 결과 반환 (Transform 매핑 설정용)
+     * 응답 헤더 X-Preview-Session: 같은 파일로 실행할 때 파일 대신 보낼 token
      */
     @PostMapping(value = "/{id}/preview", consumes = "multipart/form-data")
     public ResponseEntity<?> preview(
@@ -68,4 +138,32 @@ public class WorkflowController {
         return executionService.preview(id, file);
     }
 
+    /**
+     * 비동기 실행 - jobId 즉시 반환 (202), 결과는 /workflows/jobs/{jobId}로 조회
+     */
+    @PostMapping(value = "/{id}/jobs", consumes = "multipart/form-data")
+    public ResponseEntity<?> submitJob(
+            @PathVariable String id,
+            @RequestParam(value = "file", required = false) MultipartFile file) {
+        return jobService.submit(id, file);
+    }
+
+    /**
+     * 배치 실행 - files(여러 개 또는 zip) 를 파이프라인 처리, 문서별 결과를 끝나는 순서대로 NDJSON 스트리밍
+     */
+    @PostMapping(value = "/{id}/batch", consumes = "multipart/form-data")
+    public ResponseEntity<StreamingResponseBody> batch(
+            @PathVariable String id,
+            @RequestParam(value = "files", required = false) List<MultipartFile> files,
+            @RequestParam(value = "parallelism", required = false) Integer parallelism) {
+        return batchService.execute(id, files, parallelism);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<WorkflowJob> getJob(@PathVariable String jobId) {
+        return jobService.findById(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
 }
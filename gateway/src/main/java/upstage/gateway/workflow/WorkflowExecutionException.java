@@ -0,0 +1,18 @@
+package upstage.gateway.workflow;
+
+/**
+ * 노드 실행 실패 - 실패한 노드 id를 함께 전달
+ */
+public class WorkflowExecutionException extends RuntimeException {
+
+    private final String nodeId;
+
+    public WorkflowExecutionException(String nodeId, Throwable cause) {
+        super(cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName(), cause);
+        this.nodeId = nodeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
@@ -1,197 +1,482 @@
 package upstage.gateway.workflow;
 
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
-import upstage.gateway.workflow.model.Workflow;
-import upstage.gateway.workflow.model.WorkflowEdge;
+import upstage.gateway.config.HttpClientRegistry;
+import upstage.gateway.workflow.model.ExtractedDocument;
 import upstage.gateway.workflow.model.WorkflowNode;
-import upstage.gateway.workflow.input.InputNode;
+import upstage.gateway.workflow.plan.ExecutionPlan;
+import upstage.gateway.workflow.resilience.ResilienceRegistry;
+import upstage.gateway.workflow.trace.ExecutionTrace;
+import upstage.gateway.workflow.trace.ExecutionTraceStore;
+import upstage.gateway.workflow.trace.NodeTrace;
+import upstage.gateway.workflow.input.ContentHash;
+import upstage.gateway.workflow.uie.PreviewSession;
+import upstage.gateway.workflow.uie.PreviewSessionStore;
+import upstage.gateway.workflow.uie.UieCallCoalescer;
 import upstage.gateway.workflow.uie.UieNode;
 import upstage.gateway.workflow.uie.UieNodeConfig;
+import upstage.gateway.workflow.uie.UieResponseCache;
 import upstage.gateway.workflow.uie.UieResponseParser;
+import upstage.gateway.workflow.uie.UploadResource;
 import upstage.gateway.workflow.transform.TransformNode;
-import upstage.gateway.workflow.transform.TransformNodeConfig;
 import upstage.gateway.workflow.transform.DataTransformer;
+import upstage.gateway.workflow.connector.ConnectorDeliveryService;
 import upstage.gateway.workflow.connector.ConnectorNode;
 import upstage.gateway.workflow.connector.ConnectorNodeConfig;
-import upstage.gateway.workflow.output.OutputNode;
 
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 
 @Service
 public class WorkflowExecutionService {
 
+    /** 실행한 Workflow 버전 응답 헤더 */
+    public static final String VERSION_HEADER = "X-Workflow-Version";
+    /** 미리보기 세션 token 응답 헤더 - 실행 요청에 파일 대신 session 파라미터로 전달 */
+    public static final String PREVIEW_SESSION_HEADER = "X-Preview-Session";
+
     private final WorkflowService workflowService;
-    private final RestTemplate restTemplate;
+    private final HttpClientRegistry httpClients;
+    private final ResilienceRegistry resilience;
+    private final ConnectorDeliveryService connectorDelivery;
+    private final WorkflowMetrics metrics;
+    private final ExecutionTraceStore traces;
+    private final UieResponseCache uieCache;
+    private final UieCallCoalescer coalescer;
+    private final PreviewSessionStore previewSessions;
+    private final WorkflowConcurrencyLimiter concurrency;
+    private final ExecutorService nodeExecutor;
+    /** gateway.workflow.engine=camel일 때만 - 없으면 runSteps로 직접 실행 */
+    private final CamelWorkflowRoutes camelRoutes;
 
-    public WorkflowExecutionService(WorkflowService workflowService, RestTemplate restTemplate) {
+    /**
+     * virtualThreads (spring.threads.virtual.enabled): fan-out 분기를 가상 스레드에서 실행 (node-threads 무시)
+     * 요청 처리 스레드도 Spring이 가상 스레드로 전환하므로 UIE 응답 대기 중에는 OS 스레드를 점유하지 않음
+     */
+    public WorkflowExecutionService(WorkflowService workflowService, HttpClientRegistry httpClients,
+                                    ResilienceRegistry resilience, ConnectorDeliveryService connectorDelivery,
+                                    UieResponseCache uieCache, UieCallCoalescer coalescer,
+                                    PreviewSessionStore previewSessions, WorkflowMetrics metrics, ExecutionTraceStore traces,
+                                    WorkflowConcurrencyLimiter concurrency, Optional<CamelWorkflowRoutes> camelRoutes,
+                                    @Value("${gateway.workflow.node-threads:64}") int nodeThreads,
+                                    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
         this.workflowService = workflowService;
-        this.restTemplate = restTemplate;
+        this.httpClients = httpClients;
+        this.resilience = resilience;
+        this.connectorDelivery = connectorDelivery;
+        this.metrics = metrics;
+        this.traces = traces;
+        this.uieCache = uieCache;
+        this.coalescer = coalescer;
+        this.previewSessions = previewSessions;
+        this.concurrency = concurrency;
+        this.camelRoutes = camelRoutes.orElse(null);
+        if (virtualThreads) {
+            this.nodeExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("workflow-node-", 1).factory());
+        } else {
+            AtomicInteger threadSeq = new AtomicInteger();
+            this.nodeExecutor = Executors.newFixedThreadPool(nodeThreads, r -> {
+                Thread t = new Thread(r, "workflow-node-" + threadSeq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        nodeExecutor.shutdown();
+    }
+
+    public ResponseEntity<?> execute(String workflowId, Long version, MultipartFile file, boolean withTrace) {
+        return execute(workflowId, version, file, null, withTrace);
     }
 
-    public ResponseEntity<?> execute(String workflowId, MultipartFile file) {
-        Optional<Workflow> opt = workflowService.findById(workflowId);
-        if (opt.isEmpty()) {
-            return ResponseEntity.notFound().build();
+    /**
+     * 동기 실행 - trace=true면 {result, trace} 형태로 노드별 실행 기록을 함께 반환
+     * version이 null이면 최신 버전, 실행한 버전은 X-Workflow-Version 헤더로 반환
+     * 파일 없이 미리보기 session token을 보내면 UIE 노드는 미리보기 응답을 재사용 (만료/없는 token은 410)
+     * - 다른 Workflow의 token, 실행할 버전의 UIE 호출 설정이 미리보기 때와 다르면 400
+     * - 파일과 token을 함께 보내면 파일로 실행 (token은 무시)
+     */
+    public ResponseEntity<?> execute(String workflowId, Long version, MultipartFile file, String sessionToken, boolean withTrace) {
+        PreviewSession session = null;
+        if ((file == null || file.isEmpty()) && sessionToken != null && !sessionToken.isBlank()) {
+            session = previewSessions.get(sessionToken);
+            if (session == null) {
+                return ResponseEntity.status(HttpStatus.GONE)
+                        .body(Map.of("error", "Preview session expired or not found - upload the file again"));
+            }
+            if (!session.workflowId().equals(workflowId)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Preview session belongs to another workflow"));
+            }
         }
-        Workflow workflow = opt.get();
 
-        if (workflow.getNodes() == null || workflow.getEdges() == null) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Invalid workflow definition"));
+        ExecutionPlan plan;
+        try {
+            Optional<ExecutionPlan> opt = workflowService.findPlan(workflowId, version);
+            if (opt.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            plan = opt.get();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        if (session != null && !matchesSession(plan, session)) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "UIE request differs from the preview session - upload the file again"));
         }
 
+        ExecutionTrace trace = new ExecutionTrace(plan.getWorkflowId(), plan.getVersion(), plan.getSteps().size());
         try {
-            Object result = runWorkflow(workflow, file);
-            return ResponseEntity.ok(result);
+            Object result = runWorkflow(plan, file, session, trace);
+            return ResponseEntity.ok()
+                    .header(VERSION_HEADER, String.valueOf(plan.getVersion()))
+                    .body(withTrace ? traced(Map.of("result", result), trace) : result);
+        } catch (WorkflowBusyException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", e.getMessage(), "reason", "concurrency"));
+        } catch (WorkflowExecutionException e) {
+            return ResponseEntity.internalServerError()
+                    .header(VERSION_HEADER, String.valueOf(plan.getVersion()))
+                    .body(withTrace
+                            ? traced(Map.of("error", e.getMessage(), "nodeId", e.getNodeId()), trace)
+                            : Map.of("error", e.getMessage(), "nodeId", e.getNodeId()));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
-                    .body(Map.of("error", e.getMessage()));
+                    .header(VERSION_HEADER, String.valueOf(plan.getVersion()))
+                    .body(withTrace ? traced(Map.of("error", e.getMessage()), trace) : Map.of("error", e.getMessage()));
         }
     }
 
+    /** 모든 UIE 노드가 미리보기 응답을 재사용할 수 있는지 (노드 실행 중 실패하기 전에 확인) */
+    private static boolean matchesSession(ExecutionPlan plan, PreviewSession session) {
+        for (ExecutionPlan.Step step : plan.getSteps()) {
+            if (step.getNode() instanceof UieNode uie && (uie.getConfig() == null || !session.matches(uie.getConfig()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, Object> traced(Map<String, Object> body, ExecutionTrace trace) {
+        Map<String, Object> result = new LinkedHashMap<>(body);
+        result.put("trace", trace);
+        return result;
+    }
+
     /**
      * 미리보기 - UIE 노드 실행 (호출+파싱) 결과 반환
+     * UIE 응답은 미리보기 세션으로 보관하고 token을 X-Preview-Session 헤더로 반환 (본문 형태는 그대로)
      */
     public ResponseEntity<?> preview(String workflowId, MultipartFile file) {
-        Optional<Workflow> opt = workflowService.findById(workflowId);
-        if (opt.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
-        Workflow workflow = opt.get();
-        if (workflow.getNodes() == null || workflow.getEdges() == null) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Invalid workflow definition"));
+        ExecutionPlan plan;
+        try {
+            Optional<ExecutionPlan> opt = workflowService.findPlan(workflowId);
+            if (opt.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            plan = opt.get();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
         try {
-            Object result = runWorkflowUntilUie(workflow, file);
-            return ResponseEntity.ok(result);
+            for (ExecutionPlan.Step step : plan.getSteps()) {
+                if (step.getNode() instanceof UieNode uie) {
+                    return previewUie(plan, step, uie, file);
+                }
+            }
+            return ResponseEntity.ok(null);
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body(Map.of("error", e.getMessage()));
         }
     }
 
-    /** UIE 노드 실행 (호출 + 파싱) 후 반환 */
-    private Object runWorkflowUntilUie(Workflow workflow, MultipartFile file) throws Exception {
-        List<WorkflowNode> nodes = workflow.getNodes();
-        List<WorkflowEdge> edges = workflow.getEdges();
+    /** 첫 번째 UIE 노드 실행 (호출 + 파싱) 후 반환 */
+    private ResponseEntity<?> previewUie(ExecutionPlan plan, ExecutionPlan.Step step, UieNode uie, MultipartFile file) throws Exception {
+        UieNodeConfig config = uieConfig(uie);
+        String contentHash = contentHash(config, file, previewSessions.isEnabled());
+        UieCall call = callUie(plan, step, config, file, contentHash);
+        String token = previewSessions.put(plan.getWorkflowId(), plan.getVersion(), uie.getId(), config, contentHash,
+                file != null ? file.getSize() : 0, call.json(), call.parsed());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (token != null) {
+            response.header(PREVIEW_SESSION_HEADER, token);
+        }
+        return response.body(call.parsed());
+    }
+
+    /**
+     * DAG 실행 - 각 Step은 upstream 결과가 모두 준비되면 실행
+     * fan-out 분기는 nodeExecutor에서 병렬 실행, 선형 구간은 완료한 스레드에서 이어서 실행
+     * 한 노드라도 실패하면 아직 시작하지 않은 노드는 실행하지 않고, 실행 중인 분기가 끝나면 첫 실패 반환
+     */
+    public Object runWorkflow(ExecutionPlan plan, MultipartFile file) throws Exception {
+        return runWorkflow(plan, file, new ExecutionTrace(plan.getWorkflowId(), plan.getVersion(), plan.getSteps().size()));
+    }
 
-        String inputNodeId = findInputNodeId(nodes);
-        String currentNodeId = inputNodeId;
-        if (currentNodeId == null) {
-            throw new IllegalArgumentException("Workflow must have Input node");
+    /**
+     * 실행 후 trace를 최근 실행 기록에 저장
+     * @throws WorkflowBusyException Workflow 동시 실행 수 제한으로 실행하지 못한 경우 (trace 기록 안 함)
+     */
+    public Object runWorkflow(ExecutionPlan plan, MultipartFile file, ExecutionTrace trace) throws Exception {
+        return runWorkflow(plan, file, null, trace);
+    }
+
+    /** session: 파일 대신 사용할 미리보기 UIE 응답 (없으면 null) */
+    public Object runWorkflow(ExecutionPlan plan, MultipartFile file, PreviewSession session, ExecutionTrace trace) throws Exception {
+        Semaphore permit = concurrency.acquire(plan);
+        long start = metrics.executionStarted(plan.getWorkflowId());
+        try {
+            Object result = camelRoutes != null
+                    ? camelRoutes.run(plan, file, trace, (p, step, input, f, failure, t) -> runStep(p, step, input, f, session, failure, t))
+                    : runSteps(plan, file, session, trace);
+            metrics.executionFinished(plan.getWorkflowId(), start, null);
+            trace.finish(plan.getResultSteps(), null);
+            return result;
+        } catch (Exception e) {
+            metrics.executionFinished(plan.getWorkflowId(), start, e);
+            trace.finish(plan.getResultSteps(), e);
+            throw e;
+        } finally {
+            traces.record(trace);
+            if (permit != null) permit.release();
         }
+    }
 
-        Object currentResult = null;
+    private Object runSteps(ExecutionPlan plan, MultipartFile file, PreviewSession session, ExecutionTrace trace) throws Exception {
+        List<ExecutionPlan.Step> steps = plan.getSteps();
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Object>[] results = new CompletableFuture[steps.size()];
+        CompletableFuture<Object> failure = new CompletableFuture<>();
+
+        for (ExecutionPlan.Step step : steps) {
+            int[] upstream = step.getUpstream();
+            CompletableFuture<?> ready = switch (upstream.length) {
+                case 0 -> CompletableFuture.completedFuture(null);
+                case 1 -> results[upstream[0]];
+                default -> CompletableFuture.allOf(Arrays.stream(upstream).mapToObj(i -> results[i]).toArray(CompletableFuture[]::new));
+            };
+            Function<Object, Object> task = ignored -> runStep(plan, step, joinResults(plan, upstream, results), file, session, failure, trace);
+            CompletableFuture<Object> result = step.isForked()
+                    ? ready.thenApplyAsync(task, nodeExecutor)
+                    : ready.thenApply(task);
+            result.whenComplete((r, e) -> {
+                if (e != null) failure.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+            });
+            results[step.getIndex()] = result;
+        }
 
-        while (currentNodeId != null) {
-            final String nodeId = currentNodeId;
-            WorkflowNode node = nodes.stream()
-                    .filter(n -> n.getId().equals(nodeId))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException("Node not found: " + nodeId));
+        CompletableFuture<Object> completed = CompletableFuture.allOf(results)
+                .thenApply(ignored -> joinResults(plan, plan.getResultSteps(), results));
+        try {
+            return CompletableFuture.anyOf(completed, failure).get();
+        } catch (ExecutionException e) {
+            // 실행 중인 분기가 끝날 때까지 대기 - 동시 실행 permit 반환과 trace 기록이 실제 실행보다 앞서지 않도록
+            CompletableFuture.allOf(results).handle((r, ignored) -> r).join();
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof Exception ex) throw ex;
+            throw e;
+        }
+    }
 
-            if (node instanceof InputNode) {
-                currentNodeId = findNextNodeId(edges, currentNodeId);
-                continue;
+    private Object runStep(ExecutionPlan plan, ExecutionPlan.Step step, Object input, MultipartFile file,
+                           PreviewSession session, CompletableFuture<?> failure, ExecutionTrace trace) {
+        String workflowId = plan.getWorkflowId();
+        if (failure.isDone()) {
+            throw new CancellationException("Workflow aborted");
+        }
+        Semaphore limit = step.getConcurrencyLimit();
+        NodeTrace nodeTrace = trace.startNode(step.getIndex(), step.getNode().getId(), step.getType());
+        long start = System.nanoTime();
+        try {
+            if (limit != null) limit.acquire();
+            try {
+                Object result = runNode(plan, step, input, file, session);
+                metrics.nodeFinished(workflowId, step.getType(), start, null);
+                nodeTrace.succeeded(inputBytes(step, input, file), result);
+                return result;
+            } finally {
+                if (limit != null) limit.release();
             }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            metrics.nodeFinished(workflowId, step.getType(), start, e);
+            nodeTrace.failed(inputBytes(step, input, file), e);
+            throw new WorkflowExecutionException(step.getNode().getId(), e);
+        }
+    }
 
-            if (node instanceof UieNode uie) {
-                UieNodeConfig config = uie.getConfig();
-                if (config == null || config.getUrl() == null || config.getUrl().isBlank()) {
-                    throw new IllegalArgumentException("UIE node has no URL configured");
-                }
-                currentResult = callUieApi(config, file);
-                String json = currentResult instanceof String s ? s : new com.fasterxml.jackson.databind.ObjectMapper().writeValueAsString(currentResult);
-                currentResult = UieResponseParser.parse(json, config);
-                return currentResult;
+    /** 입력 크기 - UIE는 업로드 파일, 나머지는 이미 직렬화된 문서만 */
+    private static Long inputBytes(ExecutionPlan.Step step, Object input, MultipartFile file) {
+        if (step.getNode() instanceof UieNode) {
+            return file != null ? file.getSize() : null;
+        }
+        if (input instanceof ExtractedDocument doc && doc.serializedLength() >= 0) {
+            return doc.serializedLength();
+        }
+        return null;
+    }
+
+    /**
+     * 노드 실행 - UIE/Transform 결과는 ExtractedDocument로 감싸 다음 노드로 전달
+     * Connector/Output은 입력을 그대로 전달, JSON 직렬화는 문서당 한 번만 수행
+     */
+    private Object runNode(ExecutionPlan plan, ExecutionPlan.Step step, Object input, MultipartFile file,
+                           PreviewSession session) throws Exception {
+        String workflowId = plan.getWorkflowId();
+        WorkflowNode node = step.getNode();
+        if (node instanceof UieNode uie) {
+            return runUie(plan, step, uie, file, session);
+        }
+        if (node instanceof TransformNode) {
+            if (input == null) {
+                throw new IllegalArgumentException("Transform node requires preceding UIE output");
             }
-            if (node instanceof TransformNode || node instanceof ConnectorNode || node instanceof OutputNode) {
-                break;
+            long start = System.nanoTime();
+            Object result = DataTransformer.transform(input, step.getTransform());
+            metrics.operation(workflowId, "transform", start);
+            return ExtractedDocument.of(result);
+        }
+        if (node instanceof ConnectorNode connector) {
+            ConnectorNodeConfig config = connector.getConfig();
+            if (config != null && "http".equals(config.getType()) && config.getUrl() != null && !config.getUrl().isBlank()) {
+                long start = System.nanoTime();
+                String json = ExtractedDocument.toJson(input);
+                metrics.payload(workflowId, "connector.request", json.length());
+                if ("async".equals(config.getDelivery())) {
+                    connectorDelivery.enqueue(workflowId, node.getId(), config, json);
+                    metrics.operation(workflowId, "connector.enqueue", start);
+                } else {
+                    callHttpConnector(config, json);
+                    metrics.operation(workflowId, "connector.call", start);
+                }
             }
-            currentNodeId = findNextNodeId(edges, currentNodeId);
         }
-
-        return currentResult;
+        return input;
     }
 
-    private Object runWorkflow(Workflow workflow, MultipartFile file) throws Exception {
-        List<WorkflowNode> nodes = workflow.getNodes();
-        List<WorkflowEdge> edges = workflow.getEdges();
-
-        String inputNodeId = findInputNodeId(nodes);
-        String currentNodeId = inputNodeId;
+    /** UIE 응답 원본 + 파싱 결과 */
+    private record UieCall(String json, ExtractedDocument parsed) {
+    }
 
-        if (currentNodeId == null) {
-            throw new IllegalArgumentException("Workflow must have Input node");
+    /**
+     * UIE 노드 실행 - 파일 없이 미리보기 세션이 있으면 세션의 응답 사용, 아니면 호출 + 파싱
+     */
+    private Object runUie(ExecutionPlan plan, ExecutionPlan.Step step, UieNode uie, MultipartFile file,
+                          PreviewSession session) throws Exception {
+        UieNodeConfig config = uieConfig(uie);
+        if ((file == null || file.isEmpty()) && session != null) {
+            return fromPreviewSession(plan, step, config, session);
         }
+        return callUie(plan, step, config, file, contentHash(config, file, false)).parsed();
+    }
 
-        Object currentResult = null;
+    private static UieNodeConfig uieConfig(UieNode uie) {
+        UieNodeConfig config = uie.getConfig();
+        if (config == null || config.getUrl() == null || config.getUrl().isBlank()) {
+            throw new IllegalArgumentException("UIE node has no URL configured");
+        }
+        return config;
+    }
 
-        while (currentNodeId != null) {
-            final String nodeId = currentNodeId;
-            WorkflowNode node = nodes.stream()
-                    .filter(n -> n.getId().equals(nodeId))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException("Node not found: " + nodeId));
+    /** 파일 내용 해시 - 합치기/캐시/세션에 필요할 때만 한 번 계산 */
+    private String contentHash(UieNodeConfig config, MultipartFile file, boolean forSession) throws IOException {
+        return forSession || coalescer.isEnabled() || config.isCacheEnabled() ? ContentHash.of(file) : null;
+    }
 
-            if (node instanceof InputNode) {
-                currentNodeId = findNextNodeId(edges, currentNodeId);
-                continue;
-            }
+    /**
+     * 미리보기 응답 재사용 - 미리보기와 같은 버전/노드면 파싱 결과 그대로, 아니면 원본을 이 노드 설정으로 다시 파싱
+     * @throws IllegalArgumentException UIE 호출 설정이 미리보기 때와 달라 응답을 재사용할 수 없는 경우
+     */
+    private Object fromPreviewSession(ExecutionPlan plan, ExecutionPlan.Step step, UieNodeConfig config,
+                                      PreviewSession session) throws Exception {
+        if (!session.matches(config)) {
+            throw new IllegalArgumentException("UIE request differs from the preview session - upload the file again");
+        }
+        if (session.workflowVersion() == plan.getVersion() && session.nodeId().equals(step.getNode().getId())) {
+            return session.parsed();
+        }
+        long start = System.nanoTime();
+        Object parsed = UieResponseParser.parse(session.json(), step.getParseSpec());
+        metrics.operation(plan.getWorkflowId(), "uie.parse", start);
+        return ExtractedDocument.of(parsed);
+    }
 
-            if (node instanceof UieNode uie) {
-                UieNodeConfig config = uie.getConfig();
-                if (config == null || config.getUrl() == null || config.getUrl().isBlank()) {
-                    throw new IllegalArgumentException("UIE node has no URL configured");
-                }
-                currentResult = callUieApi(config, file);
-                String json = currentResult instanceof String s ? s : new com.fasterxml.jackson.databind.ObjectMapper().writeValueAsString(currentResult);
-                currentResult = UieResponseParser.parse(json, config);
-            } else if (node instanceof TransformNode transform) {
-                if (currentResult == null) {
-                    throw new IllegalArgumentException("Transform node requires preceding UIE output");
-                }
-                currentResult = DataTransformer.transform(currentResult, transform.getConfig());
-            } else if (node instanceof ConnectorNode connector) {
-                ConnectorNodeConfig config = connector.getConfig();
-                if (config != null && "http".equals(config.getType()) && config.getUrl() != null && !config.getUrl().isBlank()) {
-                    callHttpConnector(config, currentResult);
-                }
-            } else if (node instanceof OutputNode) {
-                break;
-            }
+    /**
+     * UIE 호출 + 파싱 - 같은 버전/노드/파일 내용의 동시 실행은 호출 하나를 공유 (UieCallCoalescer)
+     */
+    private UieCall callUie(ExecutionPlan plan, ExecutionPlan.Step step, UieNodeConfig config, MultipartFile file,
+                            String contentHash) throws Exception {
+        String workflowId = plan.getWorkflowId();
+        if (file != null) {
+            metrics.payload(workflowId, "upload", file.getSize());
+        }
+        if (!coalescer.isEnabled()) {
+            return callAndParseUie(workflowId, config, step.getParseSpec(), file, contentHash);
+        }
+        String key = workflowId + "@" + plan.getVersion() + "/" + step.getNode().getId() + "/" + contentHash;
+        return (UieCall) coalescer.execute(key, () -> callAndParseUie(workflowId, config, step.getParseSpec(), file, contentHash));
+    }
 
-            currentNodeId = findNextNodeId(edges, currentNodeId);
+    private UieCall callAndParseUie(String workflowId, UieNodeConfig config, UieResponseParser.Spec parseSpec,
+                                    MultipartFile file, String contentHash) throws Exception {
+        long start = System.nanoTime();
+        String json = config.isCacheEnabled()
+                ? uieCache.getOrLoad(config, contentHash, () -> callUieApi(config, file))
+                : callUieApi(config, file);
+        metrics.operation(workflowId, "uie.call", start);
+        if (json != null) {
+            metrics.payload(workflowId, "uie.response", json.length());
         }
 
-        return currentResult;
+        start = System.nanoTime();
+        Object parsed = UieResponseParser.parse(json, parseSpec);
+        metrics.operation(workflowId, "uie.parse", start);
+        return new UieCall(json, ExtractedDocument.of(parsed));
     }
 
-    private String findInputNodeId(List<WorkflowNode> nodes) {
-        return nodes.stream()
-                .filter(n -> n instanceof InputNode)
-                .map(WorkflowNode::getId)
-                .findFirst()
-                .orElse(null);
+    /**
+     * fan-in 결과 합치기 - 모두 같은 객체면 그대로 (Connector 분기 후 합류), 아니면 노드 id → 결과
+     */
+    private static Object joinResults(ExecutionPlan plan, int[] positions, CompletableFuture<Object>[] results) {
+        return joinResults(plan, positions, i -> results[i].join());
     }
 
-    private String findNextNodeId(List<WorkflowEdge> edges, String sourceId) {
-        if (sourceId == null) return null;
-        return edges.stream()
-                .filter(e -> sourceId.equals(e.getSourceNodeId()))
-                .map(WorkflowEdge::getTargetNodeId)
-                .findFirst()
-                .orElse(null);
+    static Object joinResults(ExecutionPlan plan, int[] positions, IntFunction<Object> results) {
+        if (positions.length == 0) return null;
+        Object first = results.apply(positions[0]);
+        if (positions.length == 1) return first;
+
+        Map<String, Object> joined = new LinkedHashMap<>();
+        boolean same = true;
+        for (int p : positions) {
+            Object value = results.apply(p);
+            same &= value == first;
+            joined.put(plan.getSteps().get(p).getNode().getId(), value);
+        }
+        return same ? first : joined;
     }
 
-    private Object callUieApi(UieNodeConfig config, MultipartFile file) throws Exception {
+    private String callUieApi(UieNodeConfig config, MultipartFile file) throws Exception {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.MULTIPART_FORM_DATA);
 
@@ -203,37 +488,35 @@ public class WorkflowExecutionService {
 
         if (file != null && !file.isEmpty()) {
             String fieldName = config.getFileFieldName() != null ? config.getFileFieldName() : "file";
-            ByteArrayResource resource = new ByteArrayResource(file.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return file.getOriginalFilename() != null ? file.getOriginalFilename() : "file";
-                }
-            };
-            body.add(fieldName, resource);
+            // 힙에 복사하지 않고 multipart 저장소에서 스트림 전달 - 파일 part 길이는 업로드 크기(contentLength)로 미리 알림
+            body.add(fieldName, new UploadResource(file));
         }
 
         HttpEntity<MultiValueMap<String, Object>> request = new HttpEntity<>(body, headers);
         String method = config.getMethod() != null ? config.getMethod().toUpperCase() : "POST";
 
-        ResponseEntity<String> response = restTemplate.exchange(
+        RestTemplate restTemplate = httpClients.forUrl(config.getUrl(), config.getHttpProfile());
+        // UIE 추출은 부작용이 없으므로 응답 대기 중 실패도 다시 시도
+        ResponseEntity<String> response = resilience.call(config.getResilience(), config.getUrl(), true, () -> restTemplate.exchange(
                 config.getUrl(),
                 HttpMethod.valueOf(method),
                 request,
                 String.class
-        );
+        ));
 
         return response.getBody();
     }
 
-    private void callHttpConnector(ConnectorNodeConfig config, Object body) throws Exception {
+    private void callHttpConnector(ConnectorNodeConfig config, String json) throws Exception {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         if (config.getHeaders() != null) {
             config.getHeaders().forEach(headers::set);
         }
-        String json = body instanceof String s ? s : new com.fasterxml.jackson.databind.ObjectMapper().writeValueAsString(body);
         HttpEntity<String> request = new HttpEntity<>(json, headers);
         String method = config.getMethod() != null ? config.getMethod().toUpperCase() : "POST";
-        restTemplate.exchange(config.getUrl(), HttpMethod.valueOf(method), request, String.class);
+        RestTemplate restTemplate = httpClients.forUrl(config.getUrl(), config.getHttpProfile());
+        resilience.call(config.getResilience(), config.getUrl(), ResilienceRegistry.isIdempotent(method),
+                () -> restTemplate.exchange(config.getUrl(), HttpMethod.valueOf(method), request, String.class));
     }
 }
@@ -0,0 +1,123 @@
+package upstage.gateway.workflow;
+
+import io.micrometer.core.instrument.*;
+import org.springframework.stereotype.Component;
+import upstage.gateway.workflow.uie.UieCallException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Workflow 실행 메트릭 (actuator /metrics, /prometheus)
+ * - gateway.workflow.executions: 실행 시간 (workflow, outcome)
+ * - gateway.workflow.nodes: 노드 실행 시간 (workflow, type, outcome)
+ * - gateway.workflow.operations: UIE 호출/파싱, Transform, Connector 호출 시간 (workflow, operation)
+ * - gateway.workflow.errors: 실패 수 (workflow, type, cause)
+ * - gateway.workflow.payload: 업로드/응답/전송 크기 (workflow, kind) - JSON 본문은 문자 수 기준
+ * - gateway.workflow.inflight: 실행 중인 수 (workflow)
+ * - gateway.workflow.rejected: 실행 전에 거절된 요청 수 (workflow, reason)
+ * Meter는 태그 조합별로 한 번만 등록하고 재사용 (실행 경로에서는 map 조회 + 기록만)
+ * Workflow 삭제 시 remove로 해당 Workflow의 Meter를 registry에서 제거 (id가 바뀌어도 태그 조합이 계속 늘지 않도록)
+ */
+@Component
+public class WorkflowMetrics {
+
+    private record Key(String workflowId, String a, String b) {
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Key, Timer> executionTimers = new ConcurrentHashMap<>();
+    private final Map<Key, Timer> nodeTimers = new ConcurrentHashMap<>();
+    private final Map<Key, Timer> operationTimers = new ConcurrentHashMap<>();
+    private final Map<Key, Counter> errorCounters = new ConcurrentHashMap<>();
+    private final Map<Key, DistributionSummary> payloads = new ConcurrentHashMap<>();
+    private final Map<Key, Counter> rejectedCounters = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public WorkflowMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** 실행 시작 - 반환값을 executionFinished에 전달 */
+    public long executionStarted(String workflowId) {
+        inFlight.computeIfAbsent(workflowId, id -> registry.gauge("gateway.workflow.inflight",
+                Tags.of("workflow", id), new AtomicInteger())).incrementAndGet();
+        return System.nanoTime();
+    }
+
+    public void executionFinished(String workflowId, long startNanos, Throwable error) {
+        AtomicInteger running = inFlight.get(workflowId);
+        if (running != null) running.decrementAndGet();
+        executionTimers.computeIfAbsent(new Key(workflowId, outcome(error), null), k -> Timer.builder("gateway.workflow.executions")
+                        .tag("workflow", k.workflowId()).tag("outcome", k.a()).register(registry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void nodeFinished(String workflowId, String type, long startNanos, Throwable error) {
+        nodeTimers.computeIfAbsent(new Key(workflowId, type, outcome(error)), k -> Timer.builder("gateway.workflow.nodes")
+                        .tag("workflow", k.workflowId()).tag("type", k.a()).tag("outcome", k.b()).register(registry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (error != null) {
+            errorCounters.computeIfAbsent(new Key(workflowId, type, cause(error)), k -> Counter.builder("gateway.workflow.errors")
+                            .tag("workflow", k.workflowId()).tag("type", k.a()).tag("cause", k.b()).register(registry))
+                    .increment();
+        }
+    }
+
+    /** operation: uie.call, uie.parse, transform, connector.call, connector.enqueue */
+    public void operation(String workflowId, String operation, long startNanos) {
+        operationTimers.computeIfAbsent(new Key(workflowId, operation, null), k -> Timer.builder("gateway.workflow.operations")
+                        .tag("workflow", k.workflowId()).tag("operation", k.a()).register(registry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** kind: upload, uie.response, connector.request */
+    public void payload(String workflowId, String kind, long bytes) {
+        if (bytes < 0) return;
+        payloads.computeIfAbsent(new Key(workflowId, kind, null), k -> DistributionSummary.builder("gateway.workflow.payload")
+                        .baseUnit("bytes").tag("workflow", k.workflowId()).tag("kind", k.a()).register(registry))
+                .record(bytes);
+    }
+
+    /** reason: concurrency (Workflow 동시 실행 수), rate, global-rate, queue-full, queue-timeout (AdmissionControl) */
+    public void rejected(String workflowId, String reason) {
+        rejectedCounters.computeIfAbsent(new Key(workflowId, reason, null), k -> Counter.builder("gateway.workflow.rejected")
+                        .tag("workflow", k.workflowId()).tag("reason", k.a()).register(registry))
+                .increment();
+    }
+
+    /** 삭제된 Workflow의 Meter 제거 - 실행 중인 요청이 있으면 inflight gauge는 남겨둠 */
+    public void remove(String workflowId) {
+        for (Map<Key, ? extends Meter> meters : List.<Map<Key, ? extends Meter>>of(
+                executionTimers, nodeTimers, operationTimers, errorCounters, payloads, rejectedCounters)) {
+            meters.entrySet().removeIf(entry -> {
+                if (!entry.getKey().workflowId().equals(workflowId)) return false;
+                registry.remove(entry.getValue());
+                return true;
+            });
+        }
+        inFlight.computeIfPresent(workflowId, (id, running) -> {
+            if (running.get() != 0) return running;
+            registry.find("gateway.workflow.inflight").tag("workflow", id).meters().forEach(registry::remove);
+            return null;
+        });
+    }
+
+    private static String outcome(Throwable error) {
+        return error == null ? "success" : "error";
+    }
+
+    /** 노드 예외를 감싼 래퍼 (합쳐진 UIE 호출 포함)를 벗긴 원인 클래스 이름 */
+    private static String cause(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof WorkflowExecutionException || cause instanceof CompletionException
+                || cause instanceof UieCallException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,9 @@
+package upstage.gateway.workflow;
+
+import upstage.gateway.workflow.plan.ExecutionPlan;
+
+/**
+ * 새 버전 저장 완료 (저장소 기록 후 발행) - 컴파일에 실패한 정의는 발행하지 않음
+ */
+public record WorkflowSavedEvent(ExecutionPlan plan) {
+}
@@ -1,35 +1,231 @@
 package upstage.gateway.workflow;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import upstage.gateway.workflow.model.Workflow;
+import upstage.gateway.workflow.plan.ExecutionPlan;
+import upstage.gateway.workflow.store.WorkflowStore;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
+/**
+ * Workflow 정의 관리 - 저장할 때마다 새 버전을 만들고 이전 버전은 변경하지 않음
+ * - 조회/실행은 id별 불변 버전 목록을 lock 없이 읽음 (저장은 새 목록으로 교체)
+ * - 실행 중인 Workflow는 시작 시 가져온 버전의 계획으로 끝까지 실행
+ * - id별 최근 retain개 버전 보관, 변경은 WorkflowStore에 기록된 후 조회에 반영하고 반환
+ * - 기록 후 WorkflowSavedEvent / WorkflowVersionRemovedEvent 발행 (Camel 실행 모드의 route 추가/제거)
+ * 반환된 Workflow는 공유되는 스냅샷이므로 변경하지 않음
+ */
 @Service
 public class WorkflowService {
 
-    private final Map<String, Workflow> store = new ConcurrentHashMap<>();
+    private static final Logger log = LoggerFactory.getLogger(WorkflowService.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
 
+    /** 정의 + 컴파일된 실행 계획 (컴파일 실패 시 plan 대신 error 보관) */
+    private record Entry(Workflow workflow, ExecutionPlan plan, String error) {
+
+        long version() {
+            return workflow.getVersion();
+        }
+    }
+
+    /** 한 Workflow의 보관 중인 버전 (오래된 순, 마지막이 최신) - 생성 후 변경하지 않음 */
+    private record Versions(List<Entry> entries) {
+
+        Entry latest() {
+            return entries.get(entries.size() - 1);
+        }
+
+        Entry find(long version) {
+            for (Entry entry : entries) {
+                if (entry.version() == version) return entry;
+            }
+            return null;
+        }
+    }
+
+    private final Map<String, Versions> store = new ConcurrentHashMap<>();
+    /** id별 마지막으로 부여한 버전 (기록 중인 버전 포함) - this lock 안에서만 사용 */
+    private final Map<String, Long> lastVersions = new HashMap<>();
+    private final WorkflowStore workflowStore;
+    private final int retain;
+    private final ApplicationEventPublisher events;
+
+    public WorkflowService(WorkflowStore workflowStore, int retain) throws IOException {
+        this(workflowStore, retain, event -> { });
+    }
+
+    /** 저장된 정의를 모두 읽고 실행 계획까지 컴파일한 뒤 요청을 받음 */
+    @Autowired
+    public WorkflowService(WorkflowStore workflowStore,
+                           @Value("${gateway.workflow.versions.retain:20}") int retain,
+                           ApplicationEventPublisher events) throws IOException {
+        this.workflowStore = workflowStore;
+        this.retain = Math.max(1, retain);
+        this.events = events;
+        long start = System.nanoTime();
+        Map<String, List<Workflow>> byId = workflowStore.loadAll().stream()
+                .collect(Collectors.groupingBy(Workflow::getId));
+        byId.forEach((id, workflows) -> {
+            List<Entry> entries = workflows.stream()
+                    .sorted(Comparator.comparing(Workflow::getVersion))
+                    .map(WorkflowService::readOnly)
+                    .map(WorkflowService::compile)
+                    .toList();
+            store.put(id, new Versions(entries.subList(Math.max(0, entries.size() - this.retain), entries.size())));
+            lastVersions.put(id, entries.get(entries.size() - 1).version());
+        });
+        if (!store.isEmpty()) {
+            log.info("Loaded {} workflows in {} ms", store.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /** Workflow별 최신 버전 */
     public List<Workflow> findAll() {
-        return List.copyOf(store.values());
+        return store.values().stream().map(v -> v.latest().workflow()).toList();
     }
 
     public Optional<Workflow> findById(String id) {
-        return Optional.ofNullable(store.get(id));
+        return Optional.ofNullable(store.get(id)).map(v -> v.latest().workflow());
+    }
+
+    public Optional<Workflow> findById(String id, long version) {
+        return Optional.ofNullable(store.get(id)).map(v -> v.find(version)).map(Entry::workflow);
+    }
+
+    /** 보관 중인 버전 (최신 순) */
+    public List<Workflow> findVersions(String id) {
+        Versions versions = store.get(id);
+        if (versions == null) {
+            return List.of();
+        }
+        List<Workflow> result = new ArrayList<>(versions.entries().size());
+        for (int i = versions.entries().size() - 1; i >= 0; i--) {
+            result.add(versions.entries().get(i).workflow());
+        }
+        return result;
+    }
+
+    public Optional<ExecutionPlan> findPlan(String id) {
+        return findPlan(id, null);
     }
 
+    /**
+     * 실행 계획 조회 - save 시점에 컴파일된 계획 반환 (version이 null이면 최신 버전)
+     * @throws IllegalArgumentException 정의가 잘못되어 컴파일에 실패한 경우
+     */
+    public Optional<ExecutionPlan> findPlan(String id, Long version) {
+        Versions versions = store.get(id);
+        if (versions == null) {
+            return Optional.empty();
+        }
+        Entry entry = version == null ? versions.latest() : versions.find(version);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.plan() == null) {
+            throw new IllegalArgumentException(entry.error());
+        }
+        return Optional.of(entry.plan());
+    }
+
+    /**
+     * 새 버전으로 저장 - 요청 객체를 복사해 저장하므로 이후 호출자가 변경해도 영향 없음
+     * 버전 부여와 기록 순서는 lock 안에서, 디스크 반영 대기는 lock 밖에서 (동시 저장은 한 번에 기록)
+     * 목록 교체는 기록이 끝난 뒤 - 기록에 실패하면 목록은 그대로 두고 부여한 버전 번호는 다시 쓰지 않음
+     */
     public Workflow save(Workflow workflow) {
-        if (workflow.getId() == null || workflow.getId().isBlank()) {
-            workflow.setId("wf-" + System.currentTimeMillis());
+        Workflow snapshot = copy(workflow);
+        if (snapshot.getId() == null || snapshot.getId().isBlank()) {
+            snapshot.setId("wf-" + System.currentTimeMillis());
         }
-        store.put(workflow.getId(), workflow);
-        return workflow;
+
+        CompletableFuture<Void> written;
+        synchronized (this) {
+            snapshot.setVersion(lastVersions.merge(snapshot.getId(), 1L, Long::sum));
+            written = workflowStore.put(snapshot);
+        }
+        Entry entry = compile(snapshot);
+        written.join();
+
+        List<CompletableFuture<Void>> deleted = new ArrayList<>(1);
+        List<Long> pruned = new ArrayList<>(1);
+        synchronized (this) {
+            Versions current = store.get(snapshot.getId());
+            List<Entry> entries = new ArrayList<>(current != null ? current.entries() : List.of());
+            // 동시 저장은 기록이 끝나는 순서가 버전 순서와 다를 수 있음
+            entries.add(entry);
+            entries.sort(Comparator.comparingLong(Entry::version));
+            while (entries.size() > retain) {
+                long version = entries.remove(0).version();
+                pruned.add(version);
+                deleted.add(workflowStore.delete(snapshot.getId(), version));
+            }
+            store.put(snapshot.getId(), new Versions(List.copyOf(entries)));
+        }
+        deleted.forEach(CompletableFuture::join);
+        if (entry.plan() != null) {
+            events.publishEvent(new WorkflowSavedEvent(entry.plan()));
+        }
+        pruned.forEach(version -> events.publishEvent(new WorkflowVersionRemovedEvent(snapshot.getId(), version)));
+        return snapshot;
     }
 
+    /** 이전 버전 내용을 새 버전으로 다시 저장 (롤백) */
+    public Optional<Workflow> restore(String id, long version) {
+        return findById(id, version).map(this::save);
+    }
+
+    /** 모든 버전 삭제 */
     public boolean deleteById(String id) {
-        return store.remove(id) != null;
+        List<CompletableFuture<Void>> written = new ArrayList<>();
+        Versions removed;
+        synchronized (this) {
+            removed = store.remove(id);
+            if (removed == null) {
+                return false;
+            }
+            for (Entry entry : removed.entries()) {
+                written.add(workflowStore.delete(id, entry.version()));
+            }
+        }
+        written.forEach(CompletableFuture::join);
+        removed.entries().forEach(entry -> events.publishEvent(new WorkflowVersionRemovedEvent(id, entry.version())));
+        return true;
+    }
+
+    /** 노드/edge 목록까지 새 객체로 복사 */
+    private static Workflow copy(Workflow workflow) {
+        try {
+            return readOnly(MAPPER.readValue(MAPPER.writeValueAsBytes(workflow), Workflow.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Workflow readOnly(Workflow workflow) {
+        if (workflow.getNodes() != null) workflow.setNodes(Collections.unmodifiableList(workflow.getNodes()));
+        if (workflow.getEdges() != null) workflow.setEdges(Collections.unmodifiableList(workflow.getEdges()));
+        return workflow;
+    }
+
+    /** 편집 중인 불완전한 정의도 저장은 허용하고, 오류는 실행 시점에 반환 */
+    private static Entry compile(Workflow workflow) {
+        try {
+            return new Entry(workflow, ExecutionPlan.compile(workflow), null);
+        } catch (IllegalArgumentException e) {
+            return new Entry(workflow, null, e.getMessage());
+        }
     }
 }
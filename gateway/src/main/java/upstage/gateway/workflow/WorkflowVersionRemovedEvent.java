@@ -0,0 +1,7 @@
+package upstage.gateway.workflow;
+
+/**
+ * 버전 삭제 완료 - 보관 수를 넘어 정리되었거나 Workflow가 삭제됨
+ */
+public record WorkflowVersionRemovedEvent(String workflowId, long version) {
+}
@@ -0,0 +1,141 @@
+package upstage.gateway.workflow.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import upstage.gateway.workflow.WorkflowMetrics;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 동기 실행 요청 수락 여부 결정 (업로드 본문을 읽기 전에 AdmissionFilter에서 호출)
+ * 1. Workflow별 token bucket (정의의 maxRequestsPerSecond, 없으면 gateway.admission.workflow.rate)
+ * 2. 전체 token bucket (gateway.admission.global.rate)
+ * 3. 전체 동시 실행 수 (max-in-flight) - 자리가 없으면 max-queue개까지 max-queue-time 동안 대기
+ * 어느 단계든 넘치면 바로 AdmissionRejectedException (429 + Retry-After), 앞 단계에서 사용한 token은 되돌림
+ * 수락 경로는 map 조회와 CAS 연산만 사용 (bucket, Semaphore.tryAcquire, 대기 수 카운터)
+ */
+@Component
+public class AdmissionControl {
+
+    private final WorkflowMetrics metrics;
+    private final double workflowRate;
+    private final int workflowBurst;
+    private final TokenBucket globalBucket;
+    private final Semaphore inFlight;
+    private final int maxQueue;
+    private final long maxQueueNanos;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Map<String, TokenBucket> workflowBuckets = new ConcurrentHashMap<>();
+
+    public AdmissionControl(WorkflowMetrics metrics, MeterRegistry registry,
+                            @Value("${gateway.admission.workflow.rate:0}") double workflowRate,
+                            @Value("${gateway.admission.workflow.burst:0}") int workflowBurst,
+                            @Value("${gateway.admission.global.rate:0}") double globalRate,
+                            @Value("${gateway.admission.global.burst:0}") int globalBurst,
+                            @Value("${gateway.admission.max-in-flight:0}") int maxInFlight,
+                            @Value("${gateway.admission.max-queue:0}") int maxQueue,
+                            @Value("${gateway.admission.max-queue-time:5s}") Duration maxQueueTime) {
+        this.metrics = metrics;
+        this.workflowRate = workflowRate;
+        this.workflowBurst = workflowBurst;
+        this.globalBucket = globalRate > 0 ? new TokenBucket(globalRate, burst(globalRate, globalBurst), System.nanoTime()) : null;
+        this.inFlight = maxInFlight > 0 ? new Semaphore(maxInFlight) : null;
+        this.maxQueue = maxQueue;
+        this.maxQueueNanos = maxQueueTime.toNanos();
+
+        if (inFlight != null) {
+            Gauge.builder("gateway.admission.inflight", inFlight, s -> maxInFlight - s.availablePermits()).register(registry);
+            Gauge.builder("gateway.admission.queued", queued, AtomicInteger::get).register(registry);
+        }
+    }
+
+    /** burst 미설정 시 1초 분량 */
+    private static int burst(double rate, int burst) {
+        return burst > 0 ? burst : (int) Math.max(1, Math.ceil(rate));
+    }
+
+    /**
+     * 실행 허가 - 반환값을 실행 후 release에 전달
+     * @param workflowRateOverride Workflow 정의의 초당 요청 수 (null이면 기본값)
+     * @throws AdmissionRejectedException 한도 초과
+     */
+    public Permit acquire(String workflowId, Double workflowRateOverride) throws InterruptedException {
+        long now = System.nanoTime();
+        double rate = workflowRateOverride != null ? workflowRateOverride : workflowRate;
+        TokenBucket bucket = null;
+        if (rate > 0) {
+            bucket = workflowBucket(workflowId, rate, burst(rate, workflowBurst), now);
+            long wait = bucket.tryAcquire(now);
+            if (wait > 0) {
+                throw reject(workflowId, "rate", "Workflow rate limit exceeded", wait);
+            }
+        }
+        if (globalBucket != null) {
+            long wait = globalBucket.tryAcquire(now);
+            if (wait > 0) {
+                // 전체 한도로 거절된 요청이 이 Workflow의 몫을 쓰지 않도록
+                if (bucket != null) bucket.refund();
+                throw reject(workflowId, "global-rate", "Gateway rate limit exceeded", wait);
+            }
+        }
+
+        if (inFlight == null || inFlight.tryAcquire()) {
+            return new Permit(inFlight);
+        }
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            throw reject(workflowId, "queue-full", "Gateway is at capacity", maxQueueNanos);
+        }
+        try {
+            if (!inFlight.tryAcquire(maxQueueNanos, TimeUnit.NANOSECONDS)) {
+                throw reject(workflowId, "queue-timeout", "Timed out waiting for capacity", maxQueueNanos);
+            }
+        } finally {
+            queued.decrementAndGet();
+        }
+        return new Permit(inFlight);
+    }
+
+    /** 설정이 같으면 조회만, 처음이거나 설정이 바뀐 경우에만 교체 */
+    private TokenBucket workflowBucket(String workflowId, double rate, int burst, long now) {
+        TokenBucket bucket = workflowBuckets.get(workflowId);
+        if (bucket != null && bucket.hasSettings(rate, burst)) {
+            return bucket;
+        }
+        return workflowBuckets.compute(workflowId, (id, current) ->
+                current != null && current.hasSettings(rate, burst) ? current : new TokenBucket(rate, burst, now));
+    }
+
+    private AdmissionRejectedException reject(String workflowId, String reason, String message, long retryAfterNanos) {
+        metrics.rejected(workflowId, reason);
+        return new AdmissionRejectedException(reason, message, retryAfterNanos);
+    }
+
+    public void remove(String workflowId) {
+        workflowBuckets.remove(workflowId);
+    }
+
+    /** 실행 자리 - 실행이 끝나면 release (두 번 호출해도 한 번만 반환) */
+    public static final class Permit {
+
+        private final Semaphore semaphore;
+        private final AtomicInteger released = new AtomicInteger();
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        public void release() {
+            if (semaphore != null && released.compareAndSet(0, 1)) {
+                semaphore.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package upstage.gateway.workflow.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import upstage.gateway.workflow.WorkflowService;
+import upstage.gateway.workflow.model.Workflow;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * POST /workflows/{id}/execute, /preview, /jobs, /batch 수락 여부를 multipart 본문을 읽기 전에 결정
+ * 모두 같은 UIE 호출로 이어지므로 같은 Workflow/전체 요청률을 나눠 씀
+ * 동시 실행 자리는 요청 스레드가 반환할 때까지만 - /jobs, /batch의 이후 실행은 gateway.jobs.*, gateway.batch.* 한도로 제한
+ * 거절된 요청은 업로드를 디스크에 저장하거나 실행 스레드를 점유하지 않고 바로 429 반환
+ * 없는 Workflow는 바로 404 - 임의 id로 bucket이나 metric tag가 늘어나지 않도록
+ */
+@Component
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String PREFIX = "/workflows/";
+    private static final List<String> SUFFIXES = List.of("/execute", "/preview", "/jobs", "/batch");
+
+    private final AdmissionControl admission;
+    private final WorkflowService workflowService;
+
+    public AdmissionFilter(AdmissionControl admission, WorkflowService workflowService) {
+        this.admission = admission;
+        this.workflowService = workflowService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || workflowId(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String workflowId = workflowId(request);
+        Optional<Workflow> workflow = workflowService.findById(workflowId);
+        if (workflow.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        AdmissionControl.Permit permit;
+        try {
+            permit = admission.acquire(workflowId, workflow.get().getMaxRequestsPerSecond());
+        } catch (AdmissionRejectedException e) {
+            reject(response, e);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permit.release();
+        }
+    }
+
+    private static void reject(HttpServletResponse response, AdmissionRejectedException e) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        MAPPER.writeValue(response.getOutputStream(), Map.of("error", e.getMessage(), "reason", e.getReason()));
+    }
+
+    /** /workflows/{id}/{execute|preview|jobs|batch} 형식이면 id, 아니면 null */
+    private static String workflowId(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(PREFIX)) {
+            return null;
+        }
+        for (String suffix : SUFFIXES) {
+            if (path.endsWith(suffix) && path.length() > PREFIX.length() + suffix.length()) {
+                String id = path.substring(PREFIX.length(), path.length() - suffix.length());
+                return id.indexOf('/') >= 0 ? null : id;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,26 @@
+package upstage.gateway.workflow.admission;
+
+/**
+ * 실행 요청 거절 (429) - retryAfterNanos 후 다시 시도
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final String reason;
+    private final long retryAfterNanos;
+
+    public AdmissionRejectedException(String reason, String message, long retryAfterNanos) {
+        super(message);
+        this.reason = reason;
+        this.retryAfterNanos = retryAfterNanos;
+    }
+
+    /** rate, global-rate, queue-full, queue-timeout, concurrency */
+    public String getReason() {
+        return reason;
+    }
+
+    /** Retry-After 헤더 값 (초, 최소 1) */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfterNanos + 999_999_999L) / 1_000_000_000L);
+    }
+}
@@ -0,0 +1,47 @@
+package upstage.gateway.workflow.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 초당 rate개, 최대 burst개까지 몰아서 허용하는 token bucket
+ * 남은 token 대신 "다음 token이 생기는 시각" 하나만 보관해 CAS 한 번으로 처리 (lock 없음)
+ */
+final class TokenBucket {
+
+    private final double rate;
+    private final int burst;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong nextFree;
+
+    TokenBucket(double rate, int burst, long nowNanos) {
+        this.rate = rate;
+        this.burst = Math.max(1, burst);
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / rate));
+        this.toleranceNanos = intervalNanos * (this.burst - 1);
+        this.nextFree = new AtomicLong(nowNanos - toleranceNanos);
+    }
+
+    /** token 하나 사용 - 허용되면 0, 아니면 token이 생길 때까지 남은 nanos */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = nextFree.get();
+            long start = Math.max(current, nowNanos - toleranceNanos);
+            if (start > nowNanos) {
+                return start - nowNanos;
+            }
+            if (nextFree.compareAndSet(current, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /** 사용한 token 하나 되돌림 (다음 단계에서 거절된 경우) */
+    void refund() {
+        nextFree.addAndGet(-intervalNanos);
+    }
+
+    boolean hasSettings(double rate, int burst) {
+        return this.rate == rate && this.burst == Math.max(1, burst);
+    }
+}
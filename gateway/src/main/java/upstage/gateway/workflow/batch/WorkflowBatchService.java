@@ -0,0 +1,275 @@
+package upstage.gateway.workflow.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import upstage.gateway.workflow.WorkflowExecutionException;
+import upstage.gateway.workflow.WorkflowExecutionService;
+import upstage.gateway.workflow.WorkflowService;
+import upstage.gateway.workflow.input.SpooledMultipartFile;
+import upstage.gateway.workflow.plan.ExecutionPlan;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+/**
+ * 배치 실행 - 여러 파일(또는 zip)을 하나의 Workflow로 파이프라인 처리
+ * - 실행 계획은 한 번만 조회, 문서별 실행은 parallelism 개까지 동시에 진행
+ * - zip은 entry를 하나씩 읽으면서 앞선 문서 처리와 겹쳐 진행
+ * - 결과는 끝나는 순서대로 문서당 한 줄 (application/x-ndjson)
+ * - 문서 수, 문서별/전체 크기 (zip은 압축 해제 크기) 한도 - 응답 전에 zip을 한 번 읽어 확인 (디스크에 쓰지 않음)
+ *   넘으면 413, 읽을 수 없는 zip은 400 (작은 zip으로 디스크나 실행 대기열을 채우지 못하도록)
+ */
+@Service
+public class WorkflowBatchService {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final WorkflowService workflowService;
+    private final WorkflowExecutionService executionService;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final int defaultParallelism;
+    private final int maxParallelism;
+    private final long memoryThreshold;
+    private final int maxDocuments;
+    private final long maxDocumentBytes;
+    private final long maxTotalBytes;
+
+    public WorkflowBatchService(WorkflowService workflowService,
+                                WorkflowExecutionService executionService,
+                                ObjectMapper objectMapper,
+                                @Value("${gateway.batch.parallelism:4}") int defaultParallelism,
+                                @Value("${gateway.batch.max-parallelism:16}") int maxParallelism,
+                                @Value("${spring.servlet.multipart.file-size-threshold:0B}") DataSize memoryThreshold,
+                                @Value("${gateway.batch.max-documents:1000}") int maxDocuments,
+                                @Value("${gateway.batch.max-document-size:100MB}") DataSize maxDocumentSize,
+                                @Value("${gateway.batch.max-total-size:1GB}") DataSize maxTotalSize) {
+        this.workflowService = workflowService;
+        this.executionService = executionService;
+        this.objectMapper = objectMapper;
+        this.defaultParallelism = defaultParallelism;
+        this.maxParallelism = maxParallelism;
+        this.memoryThreshold = memoryThreshold.toBytes();
+        this.maxDocuments = maxDocuments;
+        this.maxDocumentBytes = maxDocumentSize.toBytes();
+        this.maxTotalBytes = maxTotalSize.toBytes();
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxParallelism, r -> {
+            Thread t = new Thread(r, "workflow-batch-" + threadSeq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public ResponseEntity<StreamingResponseBody> execute(String workflowId, List<MultipartFile> files, Integer parallelism) {
+        ExecutionPlan plan;
+        try {
+            Optional<ExecutionPlan> opt = workflowService.findPlan(workflowId);
+            if (opt.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            plan = opt.get();
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (files == null || files.stream().allMatch(MultipartFile::isEmpty)) {
+            return error(HttpStatus.BAD_REQUEST, "No files to process");
+        }
+
+        // 응답 스트리밍은 요청 스레드 밖에서 진행되므로 업로드를 먼저 옮겨둠
+        List<SpooledMultipartFile> uploads = new ArrayList<>(files.size());
+        try {
+            for (MultipartFile file : files) {
+                if (!file.isEmpty()) uploads.add(SpooledMultipartFile.spool(file, memoryThreshold));
+            }
+        } catch (IOException e) {
+            uploads.forEach(SpooledMultipartFile::delete);
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+
+        String exceeded;
+        try {
+            exceeded = checkLimits(uploads);
+        } catch (ZipException e) {
+            uploads.forEach(SpooledMultipartFile::delete);
+            return error(HttpStatus.BAD_REQUEST, "Invalid zip: " + e.getMessage());
+        } catch (IOException e) {
+            uploads.forEach(SpooledMultipartFile::delete);
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+        if (exceeded != null) {
+            uploads.forEach(SpooledMultipartFile::delete);
+            return error(HttpStatus.PAYLOAD_TOO_LARGE, exceeded);
+        }
+
+        int limit = Math.max(1, Math.min(parallelism != null ? parallelism : defaultParallelism, maxParallelism));
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(out -> stream(plan, uploads, limit, out));
+    }
+
+    /**
+     * 처리할 문서 수와 크기 확인 - 한도를 넘으면 이유, 아니면 null (문서가 하나도 없는 zip은 ZipException)
+     * zip entry는 선언된 크기를 믿지 않고 실제로 압축을 풀어 세고, 한도를 넘는 즉시 중단
+     */
+    private String checkLimits(List<SpooledMultipartFile> uploads) throws IOException {
+        int documents = 0;
+        long total = 0;
+        byte[] buffer = new byte[8192];
+        for (SpooledMultipartFile upload : uploads) {
+            if (!isZip(upload)) {
+                if (++documents > maxDocuments) return "Too many documents (max " + maxDocuments + ")";
+                if (upload.getSize() > maxDocumentBytes) return upload.getOriginalFilename() + " exceeds " + maxDocumentBytes + " bytes";
+                total += upload.getSize();
+                if (total > maxTotalBytes) return "Batch exceeds " + maxTotalBytes + " bytes";
+                continue;
+            }
+            try (ZipInputStream zip = new ZipInputStream(upload.getInputStream())) {
+                for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+                    if (entry.isDirectory() || isHidden(entry.getName())) continue;
+                    if (++documents > maxDocuments) return "Too many documents (max " + maxDocuments + ")";
+                    long size = 0;
+                    for (int n; (n = zip.read(buffer)) > 0; ) {
+                        size += n;
+                        if (size > maxDocumentBytes) return entry.getName() + " exceeds " + maxDocumentBytes + " bytes";
+                        if (total + size > maxTotalBytes) return "Batch exceeds " + maxTotalBytes + " bytes";
+                    }
+                    total += size;
+                }
+            }
+        }
+        if (documents == 0) {
+            throw new ZipException("no documents found");
+        }
+        return null;
+    }
+
+    private void stream(ExecutionPlan plan, List<SpooledMultipartFile> uploads, int parallelism, OutputStream out) throws IOException {
+        Semaphore permits = new Semaphore(parallelism);
+        BlockingQueue<Map<String, Object>> completed = new LinkedBlockingQueue<>();
+        int submitted = 0;
+        int written = 0;
+        Iterator<SpooledMultipartFile> remaining = uploads.iterator();
+        try {
+            while (remaining.hasNext()) {
+                SpooledMultipartFile upload = remaining.next();
+                if (!isZip(upload)) {
+                    permits.acquire();
+                    written += drain(completed, out);
+                    submit(plan, submitted++, upload, permits, completed);
+                    continue;
+                }
+                try (ZipInputStream zip = new ZipInputStream(upload.getInputStream())) {
+                    for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+                        if (entry.isDirectory() || isHidden(entry.getName())) continue;
+                        permits.acquire();
+                        written += drain(completed, out);
+                        String filename = entry.getName().substring(entry.getName().lastIndexOf('/') + 1);
+                        String contentType = MediaTypeFactory.getMediaType(filename)
+                                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+                        SpooledMultipartFile document;
+                        try {
+                            document = SpooledMultipartFile.spool(upload.getName(), filename, contentType, zip, memoryThreshold);
+                        } catch (IOException e) {
+                            permits.release();
+                            throw e;
+                        }
+                        submit(plan, submitted++, document, permits, completed);
+                    }
+                } finally {
+                    upload.delete();
+                }
+            }
+            while (written < submitted) {
+                write(out, completed.take());
+                written++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch interrupted", e);
+        } finally {
+            // 클라이언트 연결 종료 등으로 중단된 경우 아직 처리하지 않은 업로드 정리
+            remaining.forEachRemaining(SpooledMultipartFile::delete);
+        }
+    }
+
+    private void submit(ExecutionPlan plan, int index, SpooledMultipartFile document,
+                        Semaphore permits, BlockingQueue<Map<String, Object>> completed) {
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("index", index);
+            line.put("filename", document.getOriginalFilename());
+            try {
+                Object result = executionService.runWorkflow(plan, document);
+                line.put("status", "SUCCEEDED");
+                line.put("result", result);
+            } catch (WorkflowExecutionException e) {
+                line.put("status", "FAILED");
+                line.put("error", e.getMessage());
+                line.put("nodeId", e.getNodeId());
+            } catch (Exception e) {
+                line.put("status", "FAILED");
+                line.put("error", e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            } finally {
+                line.put("durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                document.delete();
+                completed.add(line);
+                permits.release();
+            }
+        });
+    }
+
+    private int drain(BlockingQueue<Map<String, Object>> completed, OutputStream out) throws IOException {
+        int count = 0;
+        for (Map<String, Object> line; (line = completed.poll()) != null; count++) {
+            write(out, line);
+        }
+        return count;
+    }
+
+    private void write(OutputStream out, Map<String, Object> line) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+        out.flush();
+    }
+
+    private static boolean isZip(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        return (name != null && name.toLowerCase(Locale.ROOT).endsWith(".zip"))
+                || "application/zip".equals(file.getContentType())
+                || "application/x-zip-compressed".equals(file.getContentType());
+    }
+
+    /** macOS 압축 시 생기는 메타데이터 entry 제외 */
+    private static boolean isHidden(String entryName) {
+        String filename = entryName.substring(entryName.lastIndexOf('/') + 1);
+        return entryName.startsWith("__MACOSX/") || filename.startsWith(".");
+    }
+
+    private ResponseEntity<StreamingResponseBody> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> out.write(objectMapper.writeValueAsBytes(Map.of("error", message != null ? message : status.getReasonPhrase()))));
+    }
+}
@@ -0,0 +1,414 @@
+package upstage.gateway.workflow.connector;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.HttpClientErrorException;
+import upstage.gateway.config.HttpClientRegistry;
+import upstage.gateway.workflow.WorkflowService;
+import upstage.gateway.workflow.WorkflowVersionRemovedEvent;
+import upstage.gateway.workflow.input.ContentHash;
+import upstage.gateway.workflow.model.Workflow;
+import upstage.gateway.workflow.model.WorkflowNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Connector 비동기 전송 (delivery=async)
+ * - 실행 결과를 대상별 write-ahead log에 기록하고 바로 반환
+ * - 대상마다 별도 작업으로 대기 중인 레코드를 JSON 배열로 묶어 전송, 성공하면 checkpoint 기록
+ *   (응답이 느린 대상이 다른 대상의 전송을 막지 않음)
+ * - 다시 보내도 실패할 4xx (408/429 제외)는 <key>.dead에 남기고 다음 배치로 진행
+ * - 그 외 실패는 대상별 exponential backoff (jitter) 후 같은 배치부터 재전송 - at-least-once
+ * 대상은 <key>.json으로 저장해 재시작 후에도 남은 레코드를 전송
+ * 헤더 (인증 토큰 등)는 파일에 남기지 않고 전송할 때 현재 Workflow의 노드 설정에서 읽음
+ * 대상별 미전송 크기가 max-pending을 넘으면 새 레코드는 바로 <key>.dead로 (대상이 오래 응답하지 않을 때 디스크 보호)
+ * 보관 중인 어느 버전에도 없는 노드의 대상은 남은 레코드를 모두 보낸 뒤 파일과 함께 정리
+ */
+@Service
+public class ConnectorDeliveryService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectorDeliveryService.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** 전송 대상 - 파일로 저장되므로 노드 위치와 전송에 필요한 값만 보관 (헤더 제외) */
+    record Destination(String workflowId, String nodeId, String url, String method, String httpProfile, int batchSize) {
+    }
+
+    private static final class Queue {
+        final Destination destination;
+        final DeliveryLog log;
+        final Path deadLetter;
+        final AtomicBoolean running = new AtomicBoolean();
+        /** 보관 중인 버전에 더 이상 없는 노드 - 비면 정리 */
+        volatile boolean retired;
+        volatile int failures;
+        volatile long nextAttemptAt;
+
+        Queue(Destination destination, DeliveryLog log, Path deadLetter) {
+            this.destination = destination;
+            this.log = log;
+            this.deadLetter = deadLetter;
+        }
+    }
+
+    private final HttpClientRegistry httpClients;
+    private final WorkflowService workflowService;
+    private final Path dir;
+    private final boolean fsync;
+    private final int defaultBatchSize;
+    private final long maxPendingBytes;
+    private final long retryBackoffMs;
+    private final long retryMaxBackoffMs;
+    private final Map<String, Queue> queues = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher;
+
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter deadLettered;
+
+    public ConnectorDeliveryService(HttpClientRegistry httpClients, WorkflowService workflowService, MeterRegistry registry,
+                                    @Value("${gateway.connector.wal.dir:${gateway.data-dir:data}/connector-wal}") String dir,
+                                    @Value("${gateway.connector.wal.fsync:true}") boolean fsync,
+                                    @Value("${gateway.connector.batch-size:100}") int defaultBatchSize,
+                                    @Value("${gateway.connector.wal.max-pending:256MB}") DataSize maxPending,
+                                    @Value("${gateway.connector.retry-backoff:1s}") Duration retryBackoff,
+                                    @Value("${gateway.connector.retry-max-backoff:5m}") Duration retryMaxBackoff) throws IOException {
+        this.httpClients = httpClients;
+        this.workflowService = workflowService;
+        this.dir = Files.createDirectories(Path.of(dir));
+        this.fsync = fsync;
+        this.defaultBatchSize = defaultBatchSize;
+        this.maxPendingBytes = maxPending.toBytes();
+        this.retryBackoffMs = retryBackoff.toMillis();
+        this.retryMaxBackoffMs = retryMaxBackoff.toMillis();
+
+        AtomicInteger threads = new AtomicInteger();
+        this.dispatcher = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "connector-dispatch-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // 모두 레코드 수 - result=delivered|retried|dead_lettered
+        this.delivered = records(registry, "delivered");
+        this.retried = records(registry, "retried");
+        this.deadLettered = records(registry, "dead_lettered");
+        Gauge.builder("gateway.connector.delivery.pending.bytes", this, s -> s.pendingBytes()).register(registry);
+
+        recover();
+    }
+
+    private static Counter records(MeterRegistry registry, String result) {
+        return Counter.builder("gateway.connector.delivery.records").tag("result", result).register(registry);
+    }
+
+    /** 재시작 시 남아있는 대상 log 열기 */
+    private void recover() throws IOException {
+        try (Stream<Path> paths = Files.list(dir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                String name = path.getFileName().toString();
+                if (!name.endsWith(".json")) continue;
+                String key = name.substring(0, name.length() - ".json".length());
+                Destination destination = MAPPER.readValue(path.toFile(), Destination.class);
+                Queue queue = newQueue(key, destination);
+                // 재시작 전에 삭제된 노드 - 남은 레코드를 보낸 뒤 정리
+                queue.retired = !inUse(key, destination.workflowId());
+                queues.put(key, queue);
+            }
+        }
+        if (!queues.isEmpty()) {
+            log.info("Recovered {} connector delivery logs ({} bytes pending)", queues.size(), pendingBytes());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdown();
+        try {
+            if (!dispatcher.awaitTermination(5, TimeUnit.SECONDS)) {
+                dispatcher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            dispatcher.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        for (Queue queue : queues.values()) {
+            try {
+                queue.log.close();
+            } catch (IOException e) {
+                log.warn("Connector delivery log close failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /** 결과 JSON을 대상 log에 기록 (fsync 설정 시 디스크 반영 후 반환) */
+    public void enqueue(String workflowId, String nodeId, ConnectorNodeConfig config, String json) throws IOException {
+        Destination destination = destination(workflowId, nodeId, config);
+        String key = key(destination);
+        byte[] record = json.getBytes(StandardCharsets.UTF_8);
+
+        Queue queue = queues.get(key);
+        if (queue == null) {
+            queue = open(key, destination);
+        }
+        while (true) {
+            if (queue.log.pendingBytes() >= maxPendingBytes) {
+                deadLetter(queue, List.of(record));
+                deadLettered.increment();
+                log.warn("Connector delivery to {} has {} bytes pending, moved new record to {}",
+                        destination.url(), queue.log.pendingBytes(), queue.deadLetter);
+                return;
+            }
+            try {
+                queue.log.append(record);
+                return;
+            } catch (ClosedChannelException e) {
+                // 사용하지 않는 대상으로 정리된 직후 - 새로 열어서 기록
+                Queue current = open(key, destination);
+                if (current == queue) throw e;
+                queue = current;
+            }
+        }
+    }
+
+    private Destination destination(String workflowId, String nodeId, ConnectorNodeConfig config) {
+        return new Destination(
+                workflowId,
+                nodeId,
+                config.getUrl(),
+                config.getMethod() != null ? config.getMethod().toUpperCase() : "POST",
+                config.getHttpProfile(),
+                config.getBatchSize() != null && config.getBatchSize() > 0 ? config.getBatchSize() : defaultBatchSize);
+    }
+
+    private synchronized Queue open(String key, Destination destination) throws IOException {
+        Queue queue = queues.get(key);
+        if (queue == null) {
+            writeDestination(key, destination);
+            queue = newQueue(key, destination);
+            queues.put(key, queue);
+        }
+        return queue;
+    }
+
+    private Queue newQueue(String key, Destination destination) throws IOException {
+        return new Queue(destination, DeliveryLog.open(dir, key, fsync), dir.resolve(key + ".dead"));
+    }
+
+    private void writeDestination(String key, Destination destination) throws IOException {
+        Path tmp = dir.resolve(key + ".json.tmp");
+        MAPPER.writeValue(tmp.toFile(), destination);
+        Files.move(tmp, dir.resolve(key + ".json"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** 같은 대상 = 같은 Workflow 노드 + url, method, httpProfile, batchSize 모두 같음 */
+    static String key(Destination destination) throws IOException {
+        String text = MAPPER.writeValueAsString(destination);
+        return HexFormat.of().formatHex(ContentHash.sha256().digest(text.getBytes(StandardCharsets.UTF_8))).substring(0, 32);
+    }
+
+    /** 보관 중인 버전이 줄면 그 Workflow의 대상 중 더 이상 쓰지 않는 것을 정리 대상으로 */
+    @EventListener
+    public void onVersionRemoved(WorkflowVersionRemovedEvent event) {
+        queues.forEach((key, queue) -> {
+            if (queue.retired || !event.workflowId().equals(queue.destination.workflowId())) return;
+            try {
+                if (inUse(key, event.workflowId())) return;
+            } catch (IOException e) {
+                return;
+            }
+            queue.retired = true;
+            // 전송 중이면 그 작업이 끝날 때 정리
+            if (queue.running.compareAndSet(false, true)) {
+                try {
+                    removeIfDrained(key, queue);
+                } finally {
+                    queue.running.set(false);
+                }
+            }
+        });
+    }
+
+    /** 보관 중인 버전 중 같은 대상으로 보내는 Connector 노드가 있는지 */
+    private boolean inUse(String key, String workflowId) throws IOException {
+        if (workflowId == null) return false;
+        for (Workflow workflow : workflowService.findVersions(workflowId)) {
+            if (workflow.getNodes() == null) continue;
+            for (WorkflowNode node : workflow.getNodes()) {
+                if (node instanceof ConnectorNode connector && connector.getConfig() != null
+                        && key.equals(key(destination(workflowId, node.getId(), connector.getConfig())))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** running을 잡은 상태에서 호출 - 남은 레코드가 없으면 log를 닫고 파일 삭제 (.dead는 보관) */
+    private synchronized void removeIfDrained(String key, Queue queue) {
+        try {
+            if (!queue.log.closeIfDrained()) return;
+            queues.remove(key, queue);
+            for (String suffix : List.of(".log", ".offset", ".json")) {
+                Files.deleteIfExists(dir.resolve(key + suffix));
+            }
+            log.info("Removed connector delivery log for {}/{} ({})",
+                    queue.destination.workflowId(), queue.destination.nodeId(), queue.destination.url());
+        } catch (IOException e) {
+            log.warn("Connector delivery log cleanup failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.connector.dispatch-interval-ms:500}")
+    void dispatch() {
+        dispatchAll();
+    }
+
+    /** 전송할 차례인 대상마다 작업 시작 - 이전 작업이 아직 실행 중인 대상은 건너뜀 */
+    CompletableFuture<Void> dispatchAll() {
+        long now = System.currentTimeMillis();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (Map.Entry<String, Queue> entry : queues.entrySet()) {
+            Queue queue = entry.getValue();
+            if (queue.nextAttemptAt > now || !queue.running.compareAndSet(false, true)) continue;
+            tasks.add(CompletableFuture.runAsync(() -> {
+                        if (drain(queue) && queue.retired) removeIfDrained(entry.getKey(), queue);
+                    }, dispatcher)
+                    .whenComplete((ignored, e) -> queue.running.set(false)));
+        }
+        return CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new));
+    }
+
+    /** 쌓인 레코드가 없어질 때까지 배치 단위로 전송 - 모두 보냈으면 true */
+    private boolean drain(Queue queue) {
+        DeliveryLog.Batch batch = null;
+        try {
+            while (!(batch = queue.log.read(queue.destination.batchSize())).isEmpty()) {
+                try {
+                    send(queue.destination, batch.records());
+                    delivered.increment(batch.records().size());
+                } catch (HttpClientErrorException e) {
+                    if (!isPermanent(e)) throw e;
+                    deadLetter(queue, batch.records());
+                    deadLettered.increment(batch.records().size());
+                    log.warn("Connector delivery to {} rejected with {}, moved {} records to {}",
+                            queue.destination.url(), e.getStatusCode().value(), batch.records().size(), queue.deadLetter);
+                }
+                queue.log.commit(batch.end());
+                queue.failures = 0;
+            }
+            return true;
+        } catch (Exception e) {
+            if (batch != null) retried.increment(batch.records().size());
+            int failures = queue.failures + 1;
+            queue.failures = failures;
+            queue.nextAttemptAt = System.currentTimeMillis() + backoff(failures);
+            log.warn("Connector delivery to {} failed (attempt {}): {}", queue.destination.url(), failures, e.getMessage());
+            return false;
+        }
+    }
+
+    /** 같은 요청을 다시 보내도 결과가 같은 4xx - 408/429는 대상 상태에 따른 것이므로 재전송 */
+    private static boolean isPermanent(HttpClientErrorException e) {
+        int status = e.getStatusCode().value();
+        return status != 408 && status != 429;
+    }
+
+    /** 거부된 배치를 레코드별 한 줄 (NDJSON)로 추가 - 전송 작업과 enqueue가 같은 파일에 쓸 수 있어 대상별로 순서대로 */
+    private void deadLetter(Queue queue, List<byte[]> records) throws IOException {
+        synchronized (queue) {
+            appendDeadLetter(queue, records);
+        }
+    }
+
+    private void appendDeadLetter(Queue queue, List<byte[]> records) throws IOException {
+        try (FileChannel out = FileChannel.open(queue.deadLetter,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            for (byte[] record : records) {
+                ByteBuffer buffer = ByteBuffer.allocate(record.length + 1).put(record).put((byte) '\n').flip();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+            if (fsync) out.force(false);
+        }
+    }
+
+    /** 레코드는 이미 JSON이므로 다시 파싱하지 않고 배열로 이어붙임 */
+    private void send(Destination destination, List<byte[]> records) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write('[');
+        for (int i = 0; i < records.size(); i++) {
+            if (i > 0) body.write(',');
+            body.writeBytes(records.get(i));
+        }
+        body.write(']');
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers(destination).forEach(headers::set);
+        httpClients.forUrl(destination.url(), destination.httpProfile()).exchange(
+                destination.url(), HttpMethod.valueOf(destination.method()), new HttpEntity<>(body.toByteArray(), headers), String.class);
+    }
+
+    /** 현재 Workflow의 같은 노드 헤더 - 노드가 없어졌으면 헤더 없이 전송 */
+    private Map<String, String> headers(Destination destination) {
+        if (destination.workflowId() == null) return Map.of();
+        Optional<ConnectorNodeConfig> config = workflowService.findById(destination.workflowId())
+                .filter(workflow -> workflow.getNodes() != null)
+                .flatMap(workflow -> workflow.getNodes().stream()
+                        .filter(node -> node instanceof ConnectorNode && Objects.equals(node.getId(), destination.nodeId()))
+                        .map(node -> ((ConnectorNode) node).getConfig())
+                        .filter(Objects::nonNull)
+                        .findFirst());
+        if (config.isEmpty()) {
+            log.warn("Connector node {}/{} no longer exists, sending to {} without headers",
+                    destination.workflowId(), destination.nodeId(), destination.url());
+            return Map.of();
+        }
+        return config.get().getHeaders() != null ? config.get().getHeaders() : Map.of();
+    }
+
+    private long backoff(int failures) {
+        long cap = Math.min(retryMaxBackoffMs, retryBackoffMs << Math.min(failures - 1, 20));
+        return cap / 2 + ThreadLocalRandom.current().nextLong(cap / 2 + 1);
+    }
+
+    private long pendingBytes() {
+        return queues.values().stream().mapToLong(q -> q.log.pendingBytes()).sum();
+    }
+}
@@ -3,6 +3,7 @@ package upstage.gateway.workflow.connector;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import upstage.gateway.workflow.resilience.ResiliencePolicy;
 
 import java.util.Map;
 
@@ -25,4 +26,19 @@ public class ConnectorNodeConfig {
 
     /** 추가 헤더 */
     private Map<String, String> headers;
+
+    /** 전송 방식: sync (실행 중 바로 전송), async (디스크 log에 기록 후 배치 전송) */
+    private String delivery = "sync";
+
+    /** async: 한 요청에 JSON 배열로 묶을 최대 결과 수 (비어있으면 gateway.connector.batch-size) */
+    private Integer batchSize;
+
+    /** 이 노드의 동시 전송 수 제한 (비어있으면 제한 없음) */
+    private Integer maxConcurrency;
+
+    /** HTTP 클라이언트 프로필 (gateway.http.profiles.*, 비어있으면 대상 host로 선택) */
+    private String httpProfile;
+
+    /** 재시도, 회로 차단기, 대상별 동시 호출 제한 (비어있으면 사용 안 함) */
+    private ResiliencePolicy resilience;
 }
@@ -0,0 +1,226 @@
+package upstage.gateway.workflow.connector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 대상 하나의 write-ahead log
+ * - <key>.log: [길이 4바이트][JSON 바이트] 레코드를 뒤에 추가
+ * - <key>.offset: 전송 완료된 위치 (checkpoint) - 임시 파일에 쓰고 교체, fsync 설정 시 파일과 디렉터리까지 반영
+ * 모두 전송되면 offset을 0으로 먼저 기록한 뒤 log를 비움 (중간에 중단되면 재전송 - at-least-once)
+ * append는 여러 스레드, read/commit은 한 번에 하나의 전송 작업에서만 호출
+ * append는 group commit - lock을 먼저 잡은 스레드가 그동안 쌓인 레코드를 모두 기록하고 fsync 한 번,
+ * 기다리던 스레드는 자기 레코드가 이미 기록됐으면 바로 반환
+ * fsync 중 가상 스레드가 OS 스레드를 붙잡지 않도록 synchronized 대신 ReentrantLock
+ */
+final class DeliveryLog implements AutoCloseable {
+
+    private final Path offsetPath;
+    private final FileChannel channel;
+    private final boolean fsync;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Queue<Pending> appends = new ConcurrentLinkedQueue<>();
+
+    private long size;
+    private volatile long offset;
+
+    private DeliveryLog(Path offsetPath, FileChannel channel, long size, long offset, boolean fsync) {
+        this.offsetPath = offsetPath;
+        this.channel = channel;
+        this.size = size;
+        this.offset = offset;
+        this.fsync = fsync;
+    }
+
+    static DeliveryLog open(Path dir, String key, boolean fsync) throws IOException {
+        Path logPath = dir.resolve(key + ".log");
+        Path offsetPath = dir.resolve(key + ".offset");
+        FileChannel channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        long offset = Files.exists(offsetPath) ? Long.parseLong(Files.readString(offsetPath).trim()) : 0;
+        long size = validEnd(channel, Math.min(offset, channel.size()));
+        if (size < channel.size()) {
+            // 쓰는 도중 중단된 마지막 레코드 제거
+            channel.truncate(size);
+        }
+        return new DeliveryLog(offsetPath, channel, size, Math.min(offset, size), fsync);
+    }
+
+    /** 완전한 레코드가 끝나는 위치 */
+    private static long validEnd(FileChannel channel, long from) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(4);
+        long position = from;
+        long end = channel.size();
+        while (position + 4 <= end) {
+            header.clear();
+            channel.read(header, position);
+            int length = header.flip().getInt();
+            if (length < 0 || position + 4 + length > end) break;
+            position += 4 + length;
+        }
+        return position;
+    }
+
+    void append(byte[] record) throws IOException {
+        Pending pending = new Pending(ByteBuffer.allocate(4 + record.length).putInt(record.length).put(record).flip(),
+                new CompletableFuture<>());
+        appends.add(pending);
+        lock.lock();
+        try {
+            if (!pending.done().isDone()) {
+                writeAppends();
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            pending.done().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            throw e;
+        }
+    }
+
+    /** lock 안에서 호출 - 대기 중인 레코드를 이어서 기록 후 fsync 한 번 */
+    private void writeAppends() {
+        List<Pending> batch = new ArrayList<>();
+        for (Pending p; (p = appends.poll()) != null; ) {
+            batch.add(p);
+        }
+        try {
+            long position = size;
+            for (Pending p : batch) {
+                while (p.buffer().hasRemaining()) {
+                    position += channel.write(p.buffer(), position);
+                }
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+            size = position;
+        } catch (Throwable t) {
+            // size는 그대로 - 일부만 기록된 내용은 다음 기록이 덮어씀
+            batch.forEach(p -> p.done().completeExceptionally(t));
+            return;
+        }
+        batch.forEach(p -> p.done().complete(null));
+    }
+
+    long pendingBytes() {
+        lock.lock();
+        try {
+            return size - offset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** offset부터 최대 maxRecords개 레코드 - 반환값의 end를 commit에 전달 */
+    Batch read(int maxRecords) throws IOException {
+        long end;
+        lock.lock();
+        try {
+            end = size;
+        } finally {
+            lock.unlock();
+        }
+        List<byte[]> records = new ArrayList<>();
+        ByteBuffer header = ByteBuffer.allocate(4);
+        long position = offset;
+        while (position < end && records.size() < maxRecords) {
+            header.clear();
+            channel.read(header, position);
+            int length = header.flip().getInt();
+            ByteBuffer body = ByteBuffer.allocate(length);
+            while (body.hasRemaining()) {
+                channel.read(body, position + 4 + body.position());
+            }
+            records.add(body.array());
+            position += 4 + length;
+        }
+        return new Batch(records, position);
+    }
+
+    /**
+     * 전송 완료 위치 기록 - 모두 전송됐으면 log를 비움
+     * offset 기록과 truncate는 같은 lock 안에서 offset 먼저 - 반대 순서로 중단되면 이전의 큰 offset이 남아
+     * 이후 0부터 추가된 레코드를 전송 완료로 보고 건너뜀
+     */
+    void commit(long end) throws IOException {
+        lock.lock();
+        try {
+            if (end == size) {
+                writeOffset(0);
+                channel.truncate(0);
+                if (fsync) channel.force(false);
+                size = 0;
+                offset = 0;
+            } else {
+                writeOffset(end);
+                offset = end;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeOffset(long value) throws IOException {
+        Path tmp = offsetPath.resolveSibling(offsetPath.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            if (fsync) out.force(true);
+        }
+        Files.move(tmp, offsetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (fsync) syncDirectory(offsetPath.getParent());
+    }
+
+    /** 파일 생성/이름 변경을 디스크에 반영 */
+    static void syncDirectory(Path dir) throws IOException {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    /** 전송할 레코드가 없으면 닫고 true - 이후 append는 ClosedChannelException */
+    boolean closeIfDrained() throws IOException {
+        lock.lock();
+        try {
+            if (size != offset || !appends.isEmpty()) return false;
+            channel.close();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private record Pending(ByteBuffer buffer, CompletableFuture<Void> done) {
+    }
+
+    record Batch(List<byte[]> records, long end) {
+        boolean isEmpty() {
+            return records.isEmpty();
+        }
+    }
+}
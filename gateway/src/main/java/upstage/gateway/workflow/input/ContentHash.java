@@ -0,0 +1,44 @@
+package upstage.gateway.workflow.input;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 업로드 내용의 SHA-256 해시 - 파일 전체를 힙에 올리지 않고 스트림으로 계산
+ */
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** 파일이 없거나 비어있으면 빈 입력의 해시 */
+    public static String of(MultipartFile file) throws IOException {
+        MessageDigest digest = sha256();
+        if (file != null && !file.isEmpty()) {
+            update(digest, file);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static void update(MessageDigest digest, MultipartFile file) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = file.getInputStream()) {
+            for (int n; (n = in.read(buffer)) > 0; ) {
+                digest.update(buffer, 0, n);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package upstage.gateway.workflow.input;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 요청 종료 후에도 읽을 수 있도록 업로드 파일을 복사해둔 MultipartFile
+ * (요청이 끝나면 컨테이너가 원본 multipart 임시 파일을 삭제)
+ * threshold 이하는 메모리에, 초과하면 임시 파일로 옮겨 힙 사용을 제한
+ */
+public class SpooledMultipartFile implements MultipartFile {
+
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+    private final byte[] content;
+    private final Path path;
+    private final long size;
+
+    private SpooledMultipartFile(String name, String originalFilename, String contentType, byte[] content, Path path, long size) {
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.content = content;
+        this.path = path;
+        this.size = size;
+    }
+
+    /**
+     * @param memoryThreshold 이 크기 이하의 파일은 메모리에 보관 (bytes)
+     */
+    public static SpooledMultipartFile spool(MultipartFile file, long memoryThreshold) throws IOException {
+        if (file.getSize() <= memoryThreshold) {
+            byte[] content = file.getBytes();
+            return new SpooledMultipartFile(file.getName(), file.getOriginalFilename(), file.getContentType(), content, null, content.length);
+        }
+        try (InputStream in = file.getInputStream()) {
+            Path path = copyToTempFile(new byte[0], in);
+            return new SpooledMultipartFile(file.getName(), file.getOriginalFilename(), file.getContentType(), null, path, Files.size(path));
+        }
+    }
+
+    /**
+     * 크기를 미리 알 수 없는 스트림 (zip entry 등) - threshold를 넘는 순간 임시 파일로 전환
+     */
+    public static SpooledMultipartFile spool(String name, String originalFilename, String contentType,
+                                             InputStream in, long memoryThreshold) throws IOException {
+        byte[] head = in.readNBytes((int) Math.min(memoryThreshold + 1, Integer.MAX_VALUE - 8));
+        if (head.length <= memoryThreshold) {
+            return new SpooledMultipartFile(name, originalFilename, contentType, head, null, head.length);
+        }
+        Path path = copyToTempFile(head, in);
+        return new SpooledMultipartFile(name, originalFilename, contentType, null, path, Files.size(path));
+    }
+
+    private static Path copyToTempFile(byte[] head, InputStream rest) throws IOException {
+        Path path = Files.createTempFile("workflow-upload-", ".tmp");
+        try (OutputStream out = Files.newOutputStream(path)) {
+            out.write(head);
+            rest.transferTo(out);
+        } catch (IOException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        return path;
+    }
+
+    /** 임시 파일 위치 - 메모리에 보관 중이면 null */
+    Path path() {
+        return path;
+    }
+
+    /** 임시 파일 삭제 - 실행이 끝난 뒤 호출 */
+    public void delete() {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 임시 디렉터리 정리에 맡김
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return content != null ? content : Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return content != null ? new ByteArrayInputStream(content) : Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        if (content != null) {
+            Files.write(dest.toPath(), content);
+        } else {
+            Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
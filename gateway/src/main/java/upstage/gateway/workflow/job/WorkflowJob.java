@@ -0,0 +1,34 @@
+package upstage.gateway.workflow.job;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * 비동기 실행 Job - 상태 조회 시 그대로 반환
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WorkflowJob {
+
+    public enum Status { QUEUED, RUNNING, SUCCEEDED, FAILED }
+
+    private final String jobId;
+    private final String workflowId;
+    private final Long workflowVersion;
+    private final Instant submittedAt = Instant.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    /** 실행 결과 (SUCCEEDED) */
+    private volatile Object result;
+
+    /** 실패 사유 (FAILED) */
+    private volatile String error;
+
+    /** 실패한 노드 id (노드 실행 중 실패한 경우) */
+    private volatile String nodeId;
+}
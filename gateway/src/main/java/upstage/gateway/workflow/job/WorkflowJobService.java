@@ -0,0 +1,127 @@
+package upstage.gateway.workflow.job;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import upstage.gateway.workflow.WorkflowExecutionException;
+import upstage.gateway.workflow.WorkflowExecutionService;
+import upstage.gateway.workflow.WorkflowService;
+import upstage.gateway.workflow.input.SpooledMultipartFile;
+import upstage.gateway.workflow.plan.ExecutionPlan;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 Workflow 실행 - 업로드 즉시 jobId 반환, 전용 bounded executor에서 실행
+ * 완료된 Job 결과는 TTL 동안 보관 후 제거
+ */
+@Service
+public class WorkflowJobService {
+
+    private final WorkflowService workflowService;
+    private final WorkflowExecutionService executionService;
+    private final ThreadPoolExecutor executor;
+    private final Duration resultTtl;
+    private final long memoryThreshold;
+    private final Map<String, WorkflowJob> jobs = new ConcurrentHashMap<>();
+
+    public WorkflowJobService(WorkflowService workflowService,
+                              WorkflowExecutionService executionService,
+                              @Value("${gateway.jobs.threads:8}") int threads,
+                              @Value("${gateway.jobs.queue-capacity:100}") int queueCapacity,
+                              @Value("${gateway.jobs.result-ttl:10m}") Duration resultTtl,
+                              @Value("${spring.servlet.multipart.file-size-threshold:0B}") DataSize memoryThreshold) {
+        this.workflowService = workflowService;
+        this.executionService = executionService;
+        this.resultTtl = resultTtl;
+        this.memoryThreshold = memoryThreshold.toBytes();
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> new Thread(r, "workflow-job-" + threadSeq.incrementAndGet()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** Job 등록 - 실행 계획은 등록 시점 버전으로 고정 */
+    public ResponseEntity<?> submit(String workflowId, MultipartFile file) {
+        ExecutionPlan plan;
+        try {
+            Optional<ExecutionPlan> opt = workflowService.findPlan(workflowId);
+            if (opt.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            plan = opt.get();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        SpooledMultipartFile spooled;
+        try {
+            spooled = file != null && !file.isEmpty() ? SpooledMultipartFile.spool(file, memoryThreshold) : null;
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+
+        WorkflowJob job = new WorkflowJob(UUID.randomUUID().toString(), workflowId, plan.getVersion());
+        jobs.put(job.getJobId(), job);
+        try {
+            executor.execute(() -> run(job, plan, spooled));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            if (spooled != null) spooled.delete();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Job queue is full"));
+        }
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/workflows/jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    public Optional<WorkflowJob> findById(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void run(WorkflowJob job, ExecutionPlan plan, SpooledMultipartFile file) {
+        job.setStartedAt(Instant.now());
+        job.setStatus(WorkflowJob.Status.RUNNING);
+        try {
+            job.setResult(executionService.runWorkflow(plan, file));
+            job.setStatus(WorkflowJob.Status.SUCCEEDED);
+        } catch (WorkflowExecutionException e) {
+            job.setError(e.getMessage());
+            job.setNodeId(e.getNodeId());
+            job.setStatus(WorkflowJob.Status.FAILED);
+        } catch (Exception e) {
+            job.setError(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            job.setStatus(WorkflowJob.Status.FAILED);
+        } finally {
+            job.setFinishedAt(Instant.now());
+            if (file != null) file.delete();
+        }
+    }
+
+    /** TTL이 지난 완료 Job 제거 */
+    @Scheduled(fixedDelayString = "${gateway.jobs.eviction-interval-ms:30000}")
+    void evictExpired() {
+        Instant cutoff = Instant.now().minus(resultTtl);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,140 @@
+package upstage.gateway.workflow.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 노드 간에 전달되는 결과 문서 (UIE 파싱 결과, Transform 결과)
+ * - 값 트리는 생성 후 변경하지 않음 - fan-out 분기에서 여러 노드가 동시에 읽음
+ * - fields 배열의 key 색인은 처음 조회할 때 한 번만 생성
+ * - JSON 직렬화는 한 번만 수행 후 재사용 (Connector 전송, 응답 출력)
+ */
+public final class ExtractedDocument implements JsonSerializable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Object root;
+    private volatile Map<String, FieldValues> fieldIndex;
+    private volatile String json;
+
+    private ExtractedDocument(Object root) {
+        this.root = root;
+    }
+
+    /** 이미 문서면 그대로, 아니면 감싸서 반환 */
+    public static ExtractedDocument of(Object value) {
+        return value instanceof ExtractedDocument doc ? doc : new ExtractedDocument(value);
+    }
+
+    /** 노드 결과를 JSON 문자열로 - 문서면 캐시된 직렬화 결과 사용 */
+    public static String toJson(Object value) throws JsonProcessingException {
+        if (value instanceof ExtractedDocument doc) return doc.toJson();
+        if (value instanceof String s) return s;
+        return MAPPER.writeValueAsString(value);
+    }
+
+    public Object getRoot() {
+        return root;
+    }
+
+    /** root가 객체면 해당 Map, 아니면 빈 Map */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> asMap() {
+        return root instanceof Map<?, ?> map ? (Map<String, Object>) map : Map.of();
+    }
+
+    /** 최상위 값 */
+    public Object get(String key) {
+        return root instanceof Map<?, ?> map ? map.get(key) : null;
+    }
+
+    /** fields 배열에 key 항목이 있는지 */
+    public boolean hasField(String key) {
+        return fieldIndex().containsKey(key);
+    }
+
+    /** fields 배열에서 key의 첫 번째 항목 값 (refinedValue 우선) */
+    public Object firstFieldValue(String key) {
+        FieldValues values = fieldIndex().get(key);
+        return values != null ? values.first : null;
+    }
+
+    /** fields 배열에서 key의 마지막 항목 값 (refinedValue 우선) */
+    public Object lastFieldValue(String key) {
+        FieldValues values = fieldIndex().get(key);
+        return values != null ? values.last : null;
+    }
+
+    public String toJson() throws JsonProcessingException {
+        String result = json;
+        if (result == null) {
+            result = MAPPER.writeValueAsString(root);
+            json = result;
+        }
+        return result;
+    }
+
+    /** 이미 직렬화된 경우 JSON 문자 수, 아니면 -1 (직렬화하지 않음) */
+    public long serializedLength() {
+        String result = json;
+        return result != null ? result.length() : -1;
+    }
+
+    private Map<String, FieldValues> fieldIndex() {
+        Map<String, FieldValues> index = fieldIndex;
+        if (index == null) {
+            index = buildFieldIndex();
+            fieldIndex = index;
+        }
+        return index;
+    }
+
+    private Map<String, FieldValues> buildFieldIndex() {
+        if (!(get("fields") instanceof List<?> fields)) {
+            return Map.of();
+        }
+        Map<String, FieldValues> index = new HashMap<>();
+        for (Object f : fields) {
+            if (!(f instanceof Map<?, ?> field)) continue;
+            Object key = field.get("key");
+            if (key == null) continue;
+
+            Object value = field.get("refinedValue");
+            if (value == null) value = field.get("value");
+            FieldValues existing = index.get(key.toString());
+            index.put(key.toString(), new FieldValues(existing != null ? existing.first : value, value));
+        }
+        return index;
+    }
+
+    private record FieldValues(Object first, Object last) {
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(toJson());
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+
+    @Override
+    public String toString() {
+        try {
+            return toJson();
+        } catch (JsonProcessingException e) {
+            return String.valueOf(root);
+        }
+    }
+}
@@ -15,6 +15,20 @@ public class Workflow {
 
     private String id;
     private String name;
+
+    /** 저장 시 부여되는 버전 (1부터 증가, 요청 본문의 값은 무시) */
+    private Long version;
+
+    /** 이 Workflow의 동시 실행 수 제한 (비어있으면 gateway.workflow.max-concurrent-executions) */
+    private Integer maxConcurrentExecutions;
+
+    /** 이 Workflow의 초당 실행 요청 수 제한 (비어있으면 gateway.admission.workflow.rate) */
+    private Double maxRequestsPerSecond;
+
     private List<WorkflowNode> nodes;
     private List<WorkflowEdge> edges;
+
+    public Workflow(String id, String name, List<WorkflowNode> nodes, List<WorkflowEdge> edges) {
+        this(id, name, null, null, null, nodes, edges);
+    }
 }
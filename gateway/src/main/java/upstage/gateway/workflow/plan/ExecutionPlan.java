@@ -0,0 +1,273 @@
+package upstage.gateway.workflow.plan;
+
+import upstage.gateway.workflow.connector.ConnectorNode;
+import upstage.gateway.workflow.input.InputNode;
+import upstage.gateway.workflow.model.Workflow;
+import upstage.gateway.workflow.model.WorkflowEdge;
+import upstage.gateway.workflow.model.WorkflowNode;
+import upstage.gateway.workflow.output.OutputNode;
+import upstage.gateway.workflow.transform.DataTransformer;
+import upstage.gateway.workflow.transform.TransformNode;
+import upstage.gateway.workflow.uie.UieNode;
+import upstage.gateway.workflow.uie.UieResponseParser;
+
+import java.util.*;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Workflow 실행 계획 - 저장 시점에 한 번 컴파일되는 불변 구조
+ * - Input 노드에서 도달 가능한 노드만 위상 정렬 순서의 Step으로 보관, 사이클이면 컴파일 실패
+ * - Step마다 upstream 인덱스 배열 (fan-in), Output 노드의 나가는 edge는 무시
+ */
+public final class ExecutionPlan {
+
+    private static final int[] NONE = new int[0];
+
+    private final Workflow workflow;
+    private final List<Step> steps;
+    private final int[] resultSteps;
+
+    private ExecutionPlan(Workflow workflow, List<Step> steps, int[] resultSteps) {
+        this.workflow = workflow;
+        this.steps = steps;
+        this.resultSteps = resultSteps;
+    }
+
+    /**
+     * Workflow 정의 검증 + 컴파일
+     * @throws IllegalArgumentException 정의가 잘못된 경우 (Input 없음, 중복 id, 없는 노드 참조, 사이클)
+     */
+    public static ExecutionPlan compile(Workflow workflow) {
+        if (workflow.getNodes() == null || workflow.getEdges() == null) {
+            throw new IllegalArgumentException("Invalid workflow definition");
+        }
+
+        WorkflowNode[] nodes = workflow.getNodes().toArray(new WorkflowNode[0]);
+        Map<String, Integer> indexById = new HashMap<>(nodes.length * 2);
+        int inputIndex = -1;
+        for (int i = 0; i < nodes.length; i++) {
+            WorkflowNode node = nodes[i];
+            if (node == null || node.getId() == null) {
+                throw new IllegalArgumentException("Node id is required");
+            }
+            if (indexById.putIfAbsent(node.getId(), i) != null) {
+                throw new IllegalArgumentException("Duplicate node id: " + node.getId());
+            }
+            if (inputIndex < 0 && node instanceof InputNode) {
+                inputIndex = i;
+            }
+        }
+        if (inputIndex < 0) {
+            throw new IllegalArgumentException("Workflow must have Input node");
+        }
+
+        Map<String, List<String>> targetsBySource = new HashMap<>();
+        for (WorkflowEdge edge : workflow.getEdges()) {
+            if (edge == null || edge.getSourceNodeId() == null || edge.getTargetNodeId() == null) continue;
+            List<String> targets = targetsBySource.computeIfAbsent(edge.getSourceNodeId(), k -> new ArrayList<>(2));
+            if (!targets.contains(edge.getTargetNodeId())) {
+                targets.add(edge.getTargetNodeId());
+            }
+        }
+
+        // Input에서 도달 가능한 노드만 인접 배열 구성
+        int[][] successors = new int[nodes.length][];
+        boolean[] reachable = new boolean[nodes.length];
+        int reachableCount = 0;
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(inputIndex);
+        reachable[inputIndex] = true;
+        while (!queue.isEmpty()) {
+            int i = queue.poll();
+            reachableCount++;
+            List<String> targets = nodes[i] instanceof OutputNode
+                    ? List.of()
+                    : targetsBySource.getOrDefault(nodes[i].getId(), List.of());
+            int[] next = targets.isEmpty() ? NONE : new int[targets.size()];
+            for (int t = 0; t < next.length; t++) {
+                Integer target = indexById.get(targets.get(t));
+                if (target == null) {
+                    throw new IllegalArgumentException("Node not found: " + targets.get(t));
+                }
+                next[t] = target;
+                if (!reachable[target]) {
+                    reachable[target] = true;
+                    queue.add(target);
+                }
+            }
+            successors[i] = next;
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            if (successors[i] == null) successors[i] = NONE;
+        }
+
+        int[] order = topologicalOrder(nodes, successors, reachable, reachableCount);
+        List<Step> steps = buildSteps(nodes, successors, order);
+        return new ExecutionPlan(workflow, steps, resultSteps(steps));
+    }
+
+    /** Kahn 알고리즘 - 도달 가능 노드 중 정렬되지 않은 노드가 남으면 사이클 */
+    private static int[] topologicalOrder(WorkflowNode[] nodes, int[][] successors, boolean[] reachable, int reachableCount) {
+        int[] inDegree = new int[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            if (!reachable[i]) continue;
+            for (int t : successors[i]) inDegree[t]++;
+        }
+
+        int[] order = new int[reachableCount];
+        int head = 0, tail = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            if (reachable[i] && inDegree[i] == 0) order[tail++] = i;
+        }
+        while (head < tail) {
+            int i = order[head++];
+            for (int t : successors[i]) {
+                if (--inDegree[t] == 0) order[tail++] = t;
+            }
+        }
+
+        if (tail < reachableCount) {
+            List<String> cyclic = new ArrayList<>();
+            for (int i = 0; i < nodes.length; i++) {
+                if (reachable[i] && inDegree[i] > 0) cyclic.add(nodes[i].getId());
+            }
+            throw new IllegalArgumentException("Workflow contains a cycle: " + cyclic);
+        }
+        return order;
+    }
+
+    /** 노드 인덱스 → 위상 순서 위치로 변환한 Step 목록 (upstream은 항상 앞쪽 Step) */
+    private static List<Step> buildSteps(WorkflowNode[] nodes, int[][] successors, int[] order) {
+        int[] position = new int[nodes.length];
+        for (int p = 0; p < order.length; p++) position[order[p]] = p;
+
+        List<List<Integer>> upstream = new ArrayList<>(order.length);
+        for (int p = 0; p < order.length; p++) upstream.add(new ArrayList<>(1));
+        for (int i : order) {
+            for (int t : successors[i]) upstream.get(position[t]).add(position[i]);
+        }
+
+        List<Step> steps = new ArrayList<>(order.length);
+        for (int p = 0; p < order.length; p++) {
+            WorkflowNode node = nodes[order[p]];
+            int[] up = upstream.get(p).stream().mapToInt(Integer::intValue).sorted().toArray();
+            boolean forked = up.length == 1 && successors[order[up[0]]].length > 1;
+            UieResponseParser.Spec parseSpec = node instanceof UieNode uie ? UieResponseParser.compile(uie.getConfig()) : null;
+            DataTransformer.Program transform = node instanceof TransformNode t ? DataTransformer.compile(t.getConfig()) : null;
+            steps.add(new Step(p, node, up, successors[order[p]].length == 0, forked, concurrencyLimit(node), parseSpec, transform));
+        }
+        return List.copyOf(steps);
+    }
+
+    private static Semaphore concurrencyLimit(WorkflowNode node) {
+        Integer max = null;
+        if (node instanceof UieNode uie && uie.getConfig() != null) {
+            max = uie.getConfig().getMaxConcurrency();
+        } else if (node instanceof ConnectorNode connector && connector.getConfig() != null) {
+            max = connector.getConfig().getMaxConcurrency();
+        }
+        return max != null && max > 0 ? new Semaphore(max, true) : null;
+    }
+
+    /** 결과 Step: Output 노드가 있으면 Output, 없으면 sink 노드 */
+    private static int[] resultSteps(List<Step> steps) {
+        int[] outputs = steps.stream().filter(s -> s.getNode() instanceof OutputNode).mapToInt(Step::getIndex).toArray();
+        return outputs.length > 0
+                ? outputs
+                : steps.stream().filter(Step::isSink).mapToInt(Step::getIndex).toArray();
+    }
+
+    public Workflow getWorkflow() {
+        return workflow;
+    }
+
+    public String getWorkflowId() {
+        return workflow.getId();
+    }
+
+    /** 컴파일한 Workflow 버전 */
+    public Long getVersion() {
+        return workflow.getVersion();
+    }
+
+    /** 위상 정렬 순서의 Step 목록 (Input Step이 항상 첫 번째) */
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    /** 실행 결과로 반환할 Step 위치 (읽기 전용) */
+    public int[] getResultSteps() {
+        return resultSteps;
+    }
+
+    /**
+     * 실행 단위 - 노드 + upstream Step 위치 + 노드별 동시 실행 제한
+     */
+    public static final class Step {
+
+        private final int index;
+        private final WorkflowNode node;
+        private final String type;
+        private final int[] upstream;
+        private final boolean sink;
+        private final boolean forked;
+        private final Semaphore concurrencyLimit;
+        private final UieResponseParser.Spec parseSpec;
+        private final DataTransformer.Program transform;
+
+        private Step(int index, WorkflowNode node, int[] upstream, boolean sink, boolean forked,
+                     Semaphore concurrencyLimit, UieResponseParser.Spec parseSpec, DataTransformer.Program transform) {
+            this.index = index;
+            this.node = node;
+            this.type = node.getClass().getSimpleName().replace("Node", "").toLowerCase();
+            this.upstream = upstream;
+            this.sink = sink;
+            this.forked = forked;
+            this.concurrencyLimit = concurrencyLimit;
+            this.parseSpec = parseSpec;
+            this.transform = transform;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public WorkflowNode getNode() {
+            return node;
+        }
+
+        /** 노드 타입 이름 (input, uie, transform, connector, output) - 메트릭/trace 태그용 */
+        public String getType() {
+            return type;
+        }
+
+        /** upstream Step 위치 (읽기 전용) */
+        public int[] getUpstream() {
+            return upstream;
+        }
+
+        public boolean isSink() {
+            return sink;
+        }
+
+        /** upstream이 여러 갈래로 fan-out 하는 분기 - 별도 스레드에서 병렬 실행 */
+        public boolean isForked() {
+            return forked;
+        }
+
+        /** maxConcurrency 미설정 시 null */
+        public Semaphore getConcurrencyLimit() {
+            return concurrencyLimit;
+        }
+
+        /** UIE 노드의 컴파일된 파싱 설정 (UIE 노드가 아니면 null) */
+        public UieResponseParser.Spec getParseSpec() {
+            return parseSpec;
+        }
+
+        /** Transform 노드의 컴파일된 변환 프로그램 (Transform 노드가 아니면 null) */
+        public DataTransformer.Program getTransform() {
+            return transform;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package upstage.gateway.workflow.resilience;
+
+/**
+ * 대상별 동시 호출 수 제한 초과
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(String destination) {
+        super("Too many concurrent calls to " + destination);
+    }
+}
@@ -0,0 +1,48 @@
+package upstage.gateway.workflow.resilience;
+
+/**
+ * 대상별 회로 차단기 - CLOSED → (연속 실패) → OPEN → (openDuration 경과) → HALF_OPEN
+ * HALF_OPEN에서는 probe 호출 하나만 허용, 성공하면 CLOSED, 실패하면 다시 OPEN
+ */
+final class CircuitBreaker {
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+
+    synchronized boolean tryAcquire(ResiliencePolicy policy, long now) {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> {
+                if (now - openedAt < policy.getOpenDurationMs()) yield false;
+                state = State.HALF_OPEN;
+                yield true;
+            }
+            case HALF_OPEN -> false;
+        };
+    }
+
+    /** 응답을 받은 호출 (4xx 포함) */
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+    }
+
+    /** 연결 실패, 5xx, 429 */
+    synchronized void onFailure(ResiliencePolicy policy, long now) {
+        if (state == State.HALF_OPEN || ++failures >= policy.getFailureThreshold()) {
+            state = State.OPEN;
+            openedAt = now;
+            failures = 0;
+        }
+    }
+
+    /** 허용받았지만 호출하지 않음 - HALF_OPEN이면 다음 호출이 probe가 되도록 되돌림 */
+    synchronized void cancel() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+        }
+    }
+}
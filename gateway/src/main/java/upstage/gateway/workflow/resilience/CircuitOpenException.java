@@ -0,0 +1,11 @@
+package upstage.gateway.workflow.resilience;
+
+/**
+ * 회로가 열려 호출하지 않음
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(String destination) {
+        super("Circuit open for " + destination);
+    }
+}
@@ -0,0 +1,36 @@
+package upstage.gateway.workflow.resilience;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 외부 호출 보호 설정 (UIE, Connector 노드별)
+ * 회로 차단기와 bulkhead 상태는 대상(scheme://host:port)별로 공유
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResiliencePolicy {
+
+    /** 최대 시도 횟수 (1이면 재시도 없음) - 연결 실패, 429, 502/503/504만 재시도 */
+    private int maxAttempts = 1;
+
+    /** 재시도 대기 기준 시간 (ms) - 시도마다 2배, full jitter */
+    private long retryBackoffMs = 200;
+
+    /** 재시도 대기 최대 시간 (ms) */
+    private long retryMaxBackoffMs = 5000;
+
+    /** 연속 실패가 이 횟수에 도달하면 회로 열림 (0이면 사용 안 함) */
+    private int failureThreshold;
+
+    /** 회로가 열린 뒤 probe 호출 하나를 허용하기까지의 시간 (ms) */
+    private long openDurationMs = 30000;
+
+    /** 대상별 동시 호출 수 제한 (비어있으면 제한 없음) - 같은 대상의 노드는 한 제한을 공유, 처음 호출한 노드의 값 */
+    private Integer maxConcurrentCalls;
+
+    /** 동시 호출 제한에 걸렸을 때 대기 시간 (ms, 0이면 바로 거절) */
+    private long maxWaitMs;
+}
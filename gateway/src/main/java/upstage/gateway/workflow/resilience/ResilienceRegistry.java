@@ -0,0 +1,143 @@
+package upstage.gateway.workflow.resilience;
+
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 호출 보호 - 대상(scheme://host:port)별 회로 차단기 + bulkhead, 호출별 재시도
+ * 시도마다 회로 차단기와 bulkhead를 거치므로 재시도 중 회로가 열리면 바로 중단
+ * 재시도는 요청이 처리되지 않았다고 확실한 실패만 - 응답 대기 중 실패는 idempotent 호출만 다시 보냄
+ */
+@Component
+public class ResilienceRegistry {
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Map<String, Semaphore> bulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * policy가 없으면 그대로 호출
+     * @param idempotent 다시 보내도 결과가 같은 호출 (GET/PUT/DELETE, 부작용 없는 UIE 추출 등)
+     */
+    public <T> T call(ResiliencePolicy policy, String url, boolean idempotent, Callable<T> call) throws Exception {
+        if (policy == null) {
+            return call.call();
+        }
+        String destination = destination(url);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return attempt(policy, destination, call);
+            } catch (Exception e) {
+                if (attempt >= policy.getMaxAttempts() || !isRetryable(e, idempotent)) throw e;
+                Thread.sleep(backoff(policy, attempt));
+            }
+        }
+    }
+
+    /** HTTP 의미상 idempotent 메서드 */
+    public static boolean isIdempotent(String method) {
+        return switch (method.toUpperCase(Locale.ROOT)) {
+            case "GET", "HEAD", "OPTIONS", "TRACE", "PUT", "DELETE" -> true;
+            default -> false;
+        };
+    }
+
+    private <T> T attempt(ResiliencePolicy policy, String destination, Callable<T> call) throws Exception {
+        CircuitBreaker breaker = policy.getFailureThreshold() > 0
+                ? breakers.computeIfAbsent(destination, d -> new CircuitBreaker())
+                : null;
+        if (breaker != null && !breaker.tryAcquire(policy, System.currentTimeMillis())) {
+            throw new CircuitOpenException(destination);
+        }
+
+        // probe로 허용받고 결과를 남기지 못하면 (bulkhead 대기 중 interrupt, Error 등) HALF_OPEN에 묶이지 않도록 되돌림
+        boolean recorded = false;
+        try {
+            Semaphore bulkhead = null;
+            if (policy.getMaxConcurrentCalls() != null && policy.getMaxConcurrentCalls() > 0) {
+                // 대상당 하나 - 노드마다 제한 값이 다르면 처음 만든 노드의 값 사용
+                int limit = policy.getMaxConcurrentCalls();
+                bulkhead = bulkheads.computeIfAbsent(destination, k -> new Semaphore(limit));
+                if (!bulkhead.tryAcquire(policy.getMaxWaitMs(), TimeUnit.MILLISECONDS)) {
+                    throw new BulkheadFullException(destination);
+                }
+            }
+
+            try {
+                T result = call.call();
+                if (breaker != null) breaker.onSuccess();
+                recorded = true;
+                return result;
+            } catch (Exception e) {
+                if (breaker != null) {
+                    if (isFailure(e)) breaker.onFailure(policy, System.currentTimeMillis());
+                    else breaker.onSuccess();
+                }
+                recorded = true;
+                throw e;
+            } finally {
+                if (bulkhead != null) bulkhead.release();
+            }
+        } finally {
+            if (breaker != null && !recorded) breaker.cancel();
+        }
+    }
+
+    /**
+     * 다시 보내도 안전한 실패
+     * - 항상: 요청을 보내기 전 실패 (연결 실패/연결 시간 초과/연결 풀 대기 초과), 처리하지 않았다고 알린 429/503
+     * - idempotent 호출만: 요청을 보낸 뒤 응답을 받지 못한 I/O 오류 (읽기 시간 초과 등), 502/504
+     */
+    static boolean isRetryable(Exception e, boolean idempotent) {
+        if (e instanceof ResourceAccessException) {
+            return idempotent || isNotSent(e);
+        }
+        if (e instanceof HttpStatusCodeException h) {
+            int status = h.getStatusCode().value();
+            return status == 429 || status == 503 || idempotent && (status == 502 || status == 504);
+        }
+        return false;
+    }
+
+    private static boolean isNotSent(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConnectException || t instanceof ConnectTimeoutException
+                    || t instanceof ConnectionRequestTimeoutException) return true;
+        }
+        return false;
+    }
+
+    /** 대상 상태로 보는 실패 - I/O 오류, 5xx, 429 */
+    private static boolean isFailure(Exception e) {
+        if (e instanceof ResourceAccessException) return true;
+        if (e instanceof HttpStatusCodeException h) {
+            return h.getStatusCode().is5xxServerError() || h.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return false;
+    }
+
+    /** exponential backoff + full jitter: [0, min(max, base * 2^(attempt-1))] */
+    private static long backoff(ResiliencePolicy policy, int attempt) {
+        long cap = Math.min(policy.getRetryMaxBackoffMs(), policy.getRetryBackoffMs() << Math.min(attempt - 1, 20));
+        return cap > 0 ? ThreadLocalRandom.current().nextLong(cap + 1) : 0;
+    }
+
+    static String destination(String url) {
+        URI uri = URI.create(url);
+        int port = uri.getPort() != -1 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        return uri.getScheme() + "://" + uri.getHost() + ":" + port;
+    }
+}
@@ -0,0 +1,312 @@
+package upstage.gateway.workflow.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import upstage.gateway.workflow.model.Workflow;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32C;
+
+/**
+ * 로컬 디스크 저장소
+ * - changes.log: 변경 레코드를 뒤에 추가 [본문 길이 4바이트][CRC32C 4바이트][op 1바이트][key 길이 2바이트][key][JSON]
+ *   key = id@version
+ * - snapshot: 같은 형식, 버전마다 put 레코드 하나 (log가 compactThreshold를 넘으면 다시 작성 후 log 비움)
+ * - 시작 시 snapshot → log 순서로 mmap 후 id별 마지막 레코드만 색인, 살아남은 정의만 JSON 파싱
+ * - 쓰기 스레드 하나가 대기 중인 변경을 모아 한 번에 기록 + fsync (group commit)
+ * CRC가 맞지 않거나 잘린 끝부분은 쓰는 도중 중단된 것으로 보고 위치와 함께 경고 후 무시 (log는 잘라냄)
+ */
+public class FileWorkflowStore implements WorkflowStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(FileWorkflowStore.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER = 8;
+    private static final int MAX_BATCH = 1024;
+
+    private record Pending(byte[] record, String key, byte op, CompletableFuture<Void> done) {
+    }
+
+    private static final Pending CLOSE = new Pending(null, null, (byte) 0, null);
+
+    private final Path snapshotPath;
+    private final Path logPath;
+    private final boolean fsync;
+    private final long compactThreshold;
+    private final FileChannel channel;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    /** key → 마지막 put 레코드 (snapshot 작성용) - 쓰기 스레드만 변경 */
+    private final Map<String, byte[]> latest = new HashMap<>();
+    private long logSize;
+    private volatile boolean closed;
+    /** 쓰기 스레드 종료 - 이후 변경은 바로 실패 */
+    private volatile boolean stopped;
+
+    public FileWorkflowStore(Path dir, boolean fsync, long compactThreshold) throws IOException {
+        Files.createDirectories(dir);
+        this.snapshotPath = dir.resolve("snapshot");
+        this.logPath = dir.resolve("changes.log");
+        this.fsync = fsync;
+        this.compactThreshold = compactThreshold;
+
+        replay(snapshotPath);
+        this.channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.logSize = replay(logPath);
+        if (logSize < channel.size()) {
+            channel.truncate(logSize);
+        }
+        if (logSize >= compactThreshold) {
+            compact();
+        }
+
+        this.writer = new Thread(this::writeLoop, "workflow-store-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /** 완전한 레코드를 latest에 반영하고 마지막 완전한 레코드의 끝 위치 반환 */
+    private long replay(Path path) throws IOException {
+        if (!Files.exists(path)) return 0;
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = in.size();
+            if (size == 0) return 0;
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Workflow store file too large: " + path);
+            }
+            MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32C crc = new CRC32C();
+            int position = 0;
+            String problem = null;
+            while (position + HEADER <= size) {
+                int length = buffer.getInt(position);
+                if (length < 3 || position + HEADER + (long) length > size) {
+                    problem = "incomplete record";
+                    break;
+                }
+                crc.reset();
+                crc.update(buffer.slice(position + HEADER, length));
+                if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                    problem = "CRC mismatch";
+                    break;
+                }
+
+                byte op = buffer.get(position + HEADER);
+                int keyLength = Short.toUnsignedInt(buffer.getShort(position + HEADER + 1));
+                byte[] keyBytes = new byte[keyLength];
+                buffer.get(position + HEADER + 3, keyBytes);
+                String key = new String(keyBytes, StandardCharsets.UTF_8);
+                if (op == PUT) {
+                    byte[] record = new byte[HEADER + length];
+                    buffer.get(position, record);
+                    latest.put(key, record);
+                } else {
+                    latest.remove(key);
+                }
+                position += HEADER + length;
+            }
+            if (position < size) {
+                log.warn("Ignoring {} bytes of {} at offset {} ({})", size - position, path, position,
+                        problem != null ? problem : "incomplete header");
+            }
+            return position;
+        }
+    }
+
+    @Override
+    public Collection<Workflow> loadAll() {
+        return List.copyOf(latest.values()).parallelStream().map(FileWorkflowStore::decode).toList();
+    }
+
+    private static Workflow decode(byte[] record) {
+        int keyLength = Short.toUnsignedInt(ByteBuffer.wrap(record, HEADER + 1, 2).getShort());
+        int offset = HEADER + 3 + keyLength;
+        try {
+            return MAPPER.readValue(record, offset, record.length - offset, Workflow.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> put(Workflow workflow) {
+        try {
+            return enqueue(PUT, key(workflow.getId(), workflow.getVersion()), MAPPER.writeValueAsBytes(workflow));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String id, long version) {
+        return enqueue(DELETE, key(id, version), new byte[0]);
+    }
+
+    private static String key(String id, Long version) {
+        return id + "@" + version;
+    }
+
+    /** 직렬화는 호출 스레드에서, 쓰기 스레드는 이어붙여 기록만 */
+    private CompletableFuture<Void> enqueue(byte op, String key, byte[] json) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > 0xFFFF) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Workflow id too long"));
+        }
+        int length = 3 + keyBytes.length + json.length;
+        ByteBuffer record = ByteBuffer.allocate(HEADER + length)
+                .putInt(length).putInt(0)
+                .put(op).putShort((short) keyBytes.length).put(keyBytes).put(json);
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), HEADER, length);
+        record.putInt(4, (int) crc.getValue());
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        if (closed || stopped) {
+            done.completeExceptionally(new IllegalStateException(closed ? "Workflow store is closed" : "Workflow store writer stopped"));
+            return done;
+        }
+        queue.add(new Pending(record.array(), key, op, done));
+        if (stopped) {
+            // 추가하는 사이 쓰기 스레드가 멈춤
+            failQueued("Workflow store writer stopped");
+        }
+        return done;
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>();
+        try {
+            while (true) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                queue.drainTo(batch, MAX_BATCH - 1);
+                boolean close = batch.remove(CLOSE);
+                if (!batch.isEmpty()) {
+                    try {
+                        write(batch);
+                    } catch (Throwable t) {
+                        // 쓰기 스레드가 멈추면 이후 save가 모두 응답 없이 대기 - 이 batch만 실패 처리하고 계속
+                        log.error("Workflow store write failed ({} changes)", batch.size(), t);
+                        batch.forEach(p -> p.done().completeExceptionally(t));
+                    }
+                    batch.clear();
+                }
+                if (close) return;
+            }
+        } finally {
+            stopped = true;
+            String reason = closed ? "Workflow store is closed" : "Workflow store writer stopped";
+            batch.forEach(p -> p.done().completeExceptionally(new IllegalStateException(reason)));
+            failQueued(reason);
+        }
+    }
+
+    private void failQueued(String message) {
+        for (Pending p; (p = queue.poll()) != null; ) {
+            if (p.done() != null) p.done().completeExceptionally(new IllegalStateException(message));
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        int total = 0;
+        for (Pending p : batch) total += p.record().length;
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        for (Pending p : batch) buffer.put(p.record());
+        buffer.flip();
+
+        try {
+            long position = logSize;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+            logSize = position;
+        } catch (IOException e) {
+            log.error("Workflow store write failed ({} changes): {}", batch.size(), e.getMessage());
+            try {
+                channel.truncate(logSize);
+            } catch (IOException ignored) {
+                // 다음 시작 시 CRC 검사로 제거
+            }
+            batch.forEach(p -> p.done().completeExceptionally(e));
+            return;
+        }
+
+        for (Pending p : batch) {
+            if (p.op() == PUT) latest.put(p.key(), p.record());
+            else latest.remove(p.key());
+        }
+        batch.forEach(p -> p.done().complete(null));
+
+        if (logSize >= compactThreshold) {
+            try {
+                compact();
+            } catch (IOException e) {
+                log.warn("Workflow store compaction failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 현재 정의 전체로 snapshot 작성 후 log 비움
+     * snapshot 교체 후 log를 비우기 전에 중단되어도 log를 다시 적용하면 같은 상태
+     */
+    private void compact() throws IOException {
+        Path tmp = snapshotPath.resolveSibling("snapshot.tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (byte[] record : latest.values()) {
+                ByteBuffer buffer = ByteBuffer.wrap(record);
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+            out.force(true);
+        }
+        Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // 교체가 디스크에 반영되기 전에 log를 비우면 중단 시 이전 snapshot + 빈 log만 남음
+        try (FileChannel dir = FileChannel.open(snapshotPath.getParent(), StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+        channel.truncate(0);
+        channel.force(true);
+        log.info("Compacted workflow store: {} workflows, {} log bytes removed", latest.size(), logSize);
+        logSize = 0;
+    }
+
+    /** 대기 중인 변경을 모두 기록한 뒤 닫음 */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        queue.add(CLOSE);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failQueued("Workflow store is closed");
+        channel.close();
+    }
+}
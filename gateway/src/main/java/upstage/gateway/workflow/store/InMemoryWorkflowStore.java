@@ -0,0 +1,28 @@
+package upstage.gateway.workflow.store;
+
+import upstage.gateway.workflow.model.Workflow;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 저장하지 않는 저장소 - 정의는 WorkflowService 메모리에만 존재
+ */
+public class InMemoryWorkflowStore implements WorkflowStore {
+
+    @Override
+    public Collection<Workflow> loadAll() {
+        return List.of();
+    }
+
+    @Override
+    public CompletableFuture<Void> put(Workflow workflow) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String id, long version) {
+        return CompletableFuture.completedFuture(null);
+    }
+}
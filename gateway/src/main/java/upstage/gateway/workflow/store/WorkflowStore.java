@@ -0,0 +1,23 @@
+package upstage.gateway.workflow.store;
+
+import upstage.gateway.workflow.model.Workflow;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Workflow 정의 저장소 (gateway.workflow.store.type)
+ * - memory: 저장하지 않음 (재시작 시 초기화)
+ * - file: 로컬 디스크 변경 log + snapshot
+ * 정의는 id + version 단위로 저장, put/delete는 호출 순서대로 기록, 반환된 future가 완료되면 디스크 반영 완료
+ */
+public interface WorkflowStore {
+
+    /** 시작 시 저장된 정의 전체 (모든 버전) */
+    Collection<Workflow> loadAll() throws IOException;
+
+    CompletableFuture<Void> put(Workflow workflow);
+
+    CompletableFuture<Void> delete(String id, long version);
+}
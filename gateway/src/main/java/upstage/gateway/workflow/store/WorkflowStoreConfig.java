@@ -0,0 +1,29 @@
+package upstage.gateway.workflow.store;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Workflow 정의 저장소 선택 (gateway.workflow.store.type=file|memory)
+ * file은 gateway.workflow.store.dir (기본 gateway.data-dir 아래 workflow-store)에 기록
+ */
+@Configuration
+public class WorkflowStoreConfig {
+
+    @Bean
+    public WorkflowStore workflowStore(@Value("${gateway.workflow.store.type:file}") String type,
+                                       @Value("${gateway.workflow.store.dir:${gateway.data-dir:data}/workflow-store}") String dir,
+                                       @Value("${gateway.workflow.store.fsync:true}") boolean fsync,
+                                       @Value("${gateway.workflow.store.compact-threshold:16MB}") DataSize compactThreshold) throws IOException {
+        return switch (type) {
+            case "memory" -> new InMemoryWorkflowStore();
+            case "file" -> new FileWorkflowStore(Path.of(dir), fsync, compactThreshold.toBytes());
+            default -> throw new IllegalArgumentException("Unknown gateway.workflow.store.type: " + type);
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package upstage.gateway.workflow.trace;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.Getter;
+import upstage.gateway.workflow.WorkflowExecutionException;
+import upstage.gateway.workflow.model.ExtractedDocument;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Workflow 실행 한 번의 기록 - 노드별 시작 시점, 소요 시간, 입출력 크기, 오류
+ * 노드 기록은 Step 위치별 칸에 저장 (fan-out 분기가 서로 다른 칸에 쓰므로 잠금 없음)
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExecutionTrace {
+
+    public enum Status { SUCCEEDED, FAILED }
+
+    private final String executionId = UUID.randomUUID().toString();
+    private final String workflowId;
+    private final Long workflowVersion;
+    private final Instant startedAt = Instant.now();
+    private volatile Status status;
+    private volatile Double durationMs;
+    private volatile String error;
+    private volatile String nodeId;
+
+    @JsonIgnore
+    private final long startNanos = System.nanoTime();
+    @JsonIgnore
+    private final NodeTrace[] nodes;
+
+    public ExecutionTrace(String workflowId, Long workflowVersion, int stepCount) {
+        this.workflowId = workflowId;
+        this.workflowVersion = workflowVersion;
+        this.nodes = new NodeTrace[stepCount];
+    }
+
+    public NodeTrace startNode(int stepIndex, String nodeId, String type) {
+        NodeTrace node = new NodeTrace(nodeId, type, startNanos);
+        nodes[stepIndex] = node;
+        return node;
+    }
+
+    /** 실행한 노드만, 실행 계획 순서대로 */
+    public List<NodeTrace> getNodes() {
+        List<NodeTrace> result = new ArrayList<>(nodes.length);
+        for (NodeTrace node : nodes) {
+            if (node != null) result.add(node);
+        }
+        return result;
+    }
+
+    /**
+     * 실행 종료 - 결과 노드의 문서는 응답에서 어차피 직렬화되므로 여기서 직렬화 (결과는 문서에 캐시되어 재사용)
+     * 나머지 노드는 이미 직렬화된 경우에만 출력 크기 기록
+     */
+    public void finish(int[] resultSteps, Throwable error) {
+        this.durationMs = (System.nanoTime() - startNanos) / 1_000_000.0;
+        this.status = error == null ? Status.SUCCEEDED : Status.FAILED;
+        if (error != null) {
+            this.error = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+            if (error instanceof WorkflowExecutionException e) this.nodeId = e.getNodeId();
+        }
+
+        boolean[] isResult = new boolean[nodes.length];
+        for (int p : resultSteps) isResult[p] = true;
+        for (int i = 0; i < nodes.length; i++) {
+            NodeTrace node = nodes[i];
+            if (node == null) continue;
+            node.resolveOutput(outputBytes(node.getOutput(), isResult[i] && error == null));
+        }
+    }
+
+    private static Long outputBytes(Object output, boolean serialize) {
+        if (!(output instanceof ExtractedDocument doc)) return null;
+        try {
+            long length = serialize ? doc.toJson().length() : doc.serializedLength();
+            return length >= 0 ? length : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
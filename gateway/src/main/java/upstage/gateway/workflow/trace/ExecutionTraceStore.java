@@ -0,0 +1,57 @@
+package upstage.gateway.workflow.trace;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Workflow별 최근 실행 기록 - 고정 크기 ring buffer, 잠금 없이 기록 (가장 오래된 기록을 덮어씀)
+ */
+@Component
+public class ExecutionTraceStore {
+
+    private static final class Ring {
+        final AtomicReferenceArray<ExecutionTrace> slots;
+        final AtomicLong next = new AtomicLong();
+
+        Ring(int capacity) {
+            this.slots = new AtomicReferenceArray<>(capacity);
+        }
+    }
+
+    private final int capacity;
+    private final Map<String, Ring> rings = new ConcurrentHashMap<>();
+
+    public ExecutionTraceStore(@Value("${gateway.workflow.trace.capacity:100}") int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    public void record(ExecutionTrace trace) {
+        Ring ring = rings.computeIfAbsent(trace.getWorkflowId(), id -> new Ring(capacity));
+        long seq = ring.next.getAndIncrement();
+        ring.slots.set((int) (seq % capacity), trace);
+    }
+
+    /** 최신 순 */
+    public List<ExecutionTrace> recent(String workflowId) {
+        Ring ring = rings.get(workflowId);
+        if (ring == null) return List.of();
+        long next = ring.next.get();
+        List<ExecutionTrace> result = new ArrayList<>(capacity);
+        for (long seq = next - 1; seq >= 0 && seq >= next - capacity; seq--) {
+            ExecutionTrace trace = ring.slots.get((int) (seq % capacity));
+            if (trace != null) result.add(trace);
+        }
+        return result;
+    }
+
+    public void remove(String workflowId) {
+        rings.remove(workflowId);
+    }
+}
@@ -0,0 +1,58 @@
+package upstage.gateway.workflow.trace;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * 노드 하나의 실행 기록
+ * 크기는 이미 알고 있는 값만 기록 (업로드 크기, UIE 응답, 직렬화된 문서) - trace를 위해 직렬화하지 않음
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NodeTrace {
+
+    private final String nodeId;
+    private final String type;
+    private final Instant startedAt;
+    /** 실행 시작으로부터의 시간 (ms) */
+    private final double offsetMs;
+    private double durationMs;
+    private Long inputBytes;
+    private Long outputBytes;
+    private String error;
+
+    /** 실행이 끝날 때 출력 크기를 계산하고 해제 */
+    @JsonIgnore
+    private Object output;
+
+    @JsonIgnore
+    private final long startNanos;
+
+    NodeTrace(String nodeId, String type, long executionStartNanos) {
+        this.nodeId = nodeId;
+        this.type = type;
+        this.startedAt = Instant.now();
+        this.startNanos = System.nanoTime();
+        this.offsetMs = (startNanos - executionStartNanos) / 1_000_000.0;
+    }
+
+    public void succeeded(Long inputBytes, Object output) {
+        this.durationMs = (System.nanoTime() - startNanos) / 1_000_000.0;
+        this.inputBytes = inputBytes;
+        this.output = output;
+    }
+
+    public void failed(Long inputBytes, Throwable error) {
+        this.durationMs = (System.nanoTime() - startNanos) / 1_000_000.0;
+        this.inputBytes = inputBytes;
+        this.error = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+    }
+
+    void resolveOutput(Long outputBytes) {
+        this.outputBytes = outputBytes;
+        this.output = null;
+    }
+}
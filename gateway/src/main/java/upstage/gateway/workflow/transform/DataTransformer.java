@@ -1,8 +1,8 @@
 package upstage.gateway.workflow.transform;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import upstage.gateway.workflow.model.ExtractedDocument;
 
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -10,8 +10,8 @@ import java.util.regex.Pattern;
 
 /**
  * Parse 출력을 기업 포맷으로 변환
- * 1) fieldMappings: sourceKey → targetPath (점 표기로 중첩 객체 생성)
- * 2) outputTemplate: {{key}} 형식 치환 (폴백)
+ * 1) fieldMappings: sourceKey → targetPath (점 표기로 중첩 객체 생성, MappingProgram으로 컴파일)
+ * 2) outputTemplate: {{key}} 형식 치환 (폴백, TemplateProgram으로 컴파일 - JSON으로 파싱되지 않는 템플릿은 문자열 치환 후 파싱)
  */
 public class DataTransformer {
 
@@ -19,82 +19,57 @@ public class DataTransformer {
     private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{([^}]+)}}");
 
     public static Object transform(Object input, TransformNodeConfig config) throws Exception {
-        if (config == null) {
-            return input;
-        }
+        return transform(input, compile(config));
+    }
 
-        List<FieldMapping> mappings = config.getFieldMappings();
-        if (mappings != null && !mappings.isEmpty()) {
-            return transformByMappings(input, mappings);
+    public static Object transform(Object input, Program program) throws Exception {
+        if (program.mappings != null) {
+            return program.mappings.run(toDocument(input));
         }
-
-        if (config.getOutputTemplate() != null && !config.getOutputTemplate().isBlank()) {
-            return transformByTemplate(input, config.getOutputTemplate());
+        if (program.templateProgram != null) {
+            return program.templateProgram.run(toDocument(input));
+        }
+        if (program.template != null) {
+            return transformByTemplate(input, program.template);
         }
-
         return input;
     }
 
-    /** fieldMappings 기반 변환 - targetPath에 따라 중첩 객체 생성 */
-    private static Object transformByMappings(Object input, List<FieldMapping> mappings) throws Exception {
-        Map<String, Object> data;
-        if (input instanceof Map) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> m = (Map<String, Object>) input;
-            data = m;
-        } else {
-            String json = input instanceof String s ? s : MAPPER.writeValueAsString(input);
-            data = MAPPER.readValue(json, Map.class);
+    /** 설정을 실행용 프로그램으로 컴파일 - 실행 계획에 캐시 */
+    public static Program compile(TransformNodeConfig config) {
+        if (config == null) {
+            return new Program(null, null, null);
         }
 
-        Map<String, Object> result = new LinkedHashMap<>();
-
-        for (FieldMapping m : mappings) {
-            if (m.getSourceKey() == null || m.getTargetPath() == null) continue;
-            Object value = data.get(m.getSourceKey());
-            if (value == null && data.containsKey("fields")) {
-                Object fieldsObj = data.get("fields");
-                if (fieldsObj instanceof List<?> list) {
-                    for (Object f : list) {
-                        if (f instanceof Map) {
-                            Map<?, ?> fieldMap = (Map<?, ?>) f;
-                            Object k = fieldMap.get("key");
-                            if (m.getSourceKey().equals(k != null ? k.toString() : null)) {
-                                value = fieldMap.get("refinedValue");
-                                if (value == null) value = fieldMap.get("value");
-                                break;
-                            }
-                        }
-                    }
-                }
+        List<FieldMapping> mappings = config.getFieldMappings();
+        if (mappings != null && !mappings.isEmpty()) {
+            return new Program(MappingProgram.compile(mappings), null, null);
+        }
+
+        String template = config.getOutputTemplate();
+        if (template != null && !template.isBlank()) {
+            try {
+                return new Program(null, TemplateProgram.compile(template), null);
+            } catch (Exception e) {
+                // placeholder 위치 때문에 JSON으로 파싱되지 않는 템플릿 - 실행마다 치환 후 파싱
+                return new Program(null, null, template);
             }
-            setNested(result, m.getTargetPath(), value);
         }
 
-        return result;
+        return new Program(null, null, null);
     }
 
-    @SuppressWarnings("unchecked")
-    private static void setNested(Map<String, Object> root, String path, Object value) {
-        String[] parts = path.split("\\.", -1);
-        Map<String, Object> current = root;
-        for (int i = 0; i < parts.length - 1; i++) {
-            String key = parts[i];
-            current = (Map<String, Object>) current.computeIfAbsent(key, k -> new LinkedHashMap<>());
+    /** 노드 결과는 그대로 사용, JSON 문자열만 파싱 */
+    private static ExtractedDocument toDocument(Object input) throws Exception {
+        if (input instanceof String json) {
+            return ExtractedDocument.of(MAPPER.readValue(json, Map.class));
         }
-        current.put(parts[parts.length - 1], value);
+        return ExtractedDocument.of(input);
     }
 
-    private static Object transformByTemplate(Object input, String template) throws Exception {
-        Map<String, Object> data;
-        if (input instanceof Map) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> m = (Map<String, Object>) input;
-            data = m;
-        } else {
-            String json = input instanceof String s ? s : MAPPER.writeValueAsString(input);
-            data = MAPPER.readValue(json, Map.class);
-        }
+    /** 기존 템플릿 처리 - 정규식 치환 후 재파싱 (컴파일할 수 없는 템플릿용) */
+    static Object transformByTemplate(Object input, String template) throws Exception {
+        Map<String, Object> data = toDocument(input).asMap();
 
         Map<String, String> flat = data.entrySet().stream()
                 .collect(java.util.stream.Collectors.toMap(
@@ -125,4 +100,20 @@ public class DataTransformer {
 
         return MAPPER.readValue(sb.toString(), Object.class);
     }
+
+    /**
+     * 컴파일된 Transform 설정 (불변) - fieldMappings 우선, 없으면 outputTemplate
+     */
+    public static final class Program {
+
+        private final MappingProgram mappings;
+        private final TemplateProgram templateProgram;
+        private final String template;
+
+        private Program(MappingProgram mappings, TemplateProgram templateProgram, String template) {
+            this.mappings = mappings;
+            this.templateProgram = templateProgram;
+            this.template = template;
+        }
+    }
 }
@@ -0,0 +1,92 @@
+package upstage.gateway.workflow.transform;
+
+import upstage.gateway.workflow.model.ExtractedDocument;
+
+import java.util.*;
+
+/**
+ * fieldMappings를 한 번 컴파일한 변환 프로그램
+ * - sourceKey마다 값 슬롯 하나, 최상위에 없는 값은 문서의 fields 색인에서 조회
+ * - targetPath는 미리 분리해 트리로 구성, 실행 시 트리를 따라 결과 Map을 바로 생성
+ * - 같은 경로에 여러 매핑이 있으면 나중 매핑이 우선 (위치는 처음 등장 순서)
+ */
+final class MappingProgram {
+
+    private final String[] sourceKeys;
+    private final Target root;
+
+    private MappingProgram(String[] sourceKeys, Target root) {
+        this.sourceKeys = sourceKeys;
+        this.root = root;
+    }
+
+    static MappingProgram compile(List<FieldMapping> mappings) {
+        Map<String, Integer> slotByKey = new HashMap<>();
+        List<String> sourceKeys = new ArrayList<>();
+        Target root = new Target();
+
+        for (FieldMapping m : mappings) {
+            if (m.getSourceKey() == null || m.getTargetPath() == null) continue;
+            Integer slot = slotByKey.get(m.getSourceKey());
+            if (slot == null) {
+                slot = sourceKeys.size();
+                slotByKey.put(m.getSourceKey(), slot);
+                sourceKeys.add(m.getSourceKey());
+            }
+
+            String[] parts = m.getTargetPath().split("\\.", -1);
+            Target current = root;
+            for (int i = 0; i < parts.length - 1; i++) {
+                current = current.branch(parts[i]);
+            }
+            current.leaf(parts[parts.length - 1], slot);
+        }
+
+        return new MappingProgram(sourceKeys.toArray(new String[0]), root);
+    }
+
+    Map<String, Object> run(ExtractedDocument data) {
+        Object[] values = new Object[sourceKeys.length];
+        for (int i = 0; i < sourceKeys.length; i++) {
+            Object value = data.get(sourceKeys[i]);
+            // 최상위에 없으면 fields 배열에서 key별 첫 번째 항목
+            values[i] = value != null ? value : data.firstFieldValue(sourceKeys[i]);
+        }
+        return root.render(values);
+    }
+
+    /**
+     * 결과 트리 노드 - leaf면 slot, 아니면 하위 노드 (삽입 순서 유지)
+     */
+    private static final class Target {
+
+        private static final int BRANCH = -1;
+
+        private final LinkedHashMap<String, Target> children = new LinkedHashMap<>();
+        private int slot = BRANCH;
+
+        Target branch(String name) {
+            Target child = children.get(name);
+            if (child == null || child.slot != BRANCH) {
+                child = new Target();
+                children.put(name, child);
+            }
+            return child;
+        }
+
+        void leaf(String name, int slot) {
+            Target child = new Target();
+            child.slot = slot;
+            children.put(name, child);
+        }
+
+        Map<String, Object> render(Object[] values) {
+            Map<String, Object> result = new LinkedHashMap<>(Math.max(4, children.size() * 4 / 3 + 1));
+            for (Map.Entry<String, Target> e : children.entrySet()) {
+                Target child = e.getValue();
+                result.put(e.getKey(), child.slot == BRANCH ? child.render(values) : values[child.slot]);
+            }
+            return result;
+        }
+    }
+}
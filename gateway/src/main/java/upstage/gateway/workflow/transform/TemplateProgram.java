@@ -0,0 +1,202 @@
+package upstage.gateway.workflow.transform;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import upstage.gateway.workflow.model.ExtractedDocument;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * outputTemplate을 한 번 파싱한 변환 프로그램
+ * - {{key}}를 표식 문자로 바꾼 뒤 JSON 트리로 파싱, 문자열 노드는 literal / placeholder 세그먼트 목록으로 보관
+ * - 실행 시 트리를 따라 결과 객체를 바로 생성 (문자열 치환 후 재파싱 없음)
+ * - 문자열 밖의 placeholder ("total": {{amount}})는 값을 타입 그대로 삽입
+ * 값 해석은 기존 방식과 동일: 최상위 값 → fields 배열의 key (뒤 항목 우선, refinedValue 우선)
+ */
+final class TemplateProgram {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    /** 문자열 전체가 하나의 JSON 값일 때만 - "123 Main St"가 123으로 잘리지 않도록 */
+    private static final ObjectReader VALUE_READER = MAPPER.readerFor(Object.class)
+            .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{([^}]+)}}");
+
+    /** 문자열 안 placeholder 표식 */
+    private static final char IN_STRING = '\u0001';
+    /** 문자열 밖 placeholder 표식 (따옴표로 감싼 단독 값) */
+    private static final char RAW = '\u0002';
+
+    private final String[] keys;
+    private final Node root;
+
+    private TemplateProgram(String[] keys, Node root) {
+        this.keys = keys;
+        this.root = root;
+    }
+
+    /**
+     * 템플릿 컴파일 - 표식 치환 후에도 JSON으로 파싱되지 않으면 예외 (호출 측에서 기존 방식으로 폴백)
+     */
+    static TemplateProgram compile(String template) throws JsonProcessingException {
+        if (template.indexOf(IN_STRING) >= 0 || template.indexOf(RAW) >= 0) {
+            throw new IllegalArgumentException("Template contains reserved control characters");
+        }
+
+        Map<String, Integer> slotByKey = new HashMap<>();
+        List<String> keys = new ArrayList<>();
+        StringBuilder skeleton = new StringBuilder(template.length());
+        boolean inString = false;
+        int last = 0;
+
+        Matcher m = PLACEHOLDER.matcher(template);
+        while (m.find()) {
+            inString = scan(template, last, m.start(), inString);
+            skeleton.append(template, last, m.start());
+            last = m.end();
+
+            String key = m.group(1).trim();
+            Integer slot = slotByKey.get(key);
+            if (slot == null) {
+                slot = keys.size();
+                slotByKey.put(key, slot);
+                keys.add(key);
+            }
+            if (inString) {
+                skeleton.append("\\u0001").append(slot).append("\\u0001");
+            } else {
+                skeleton.append("\"\\u0002").append(slot).append("\\u0002\"");
+            }
+        }
+        skeleton.append(template, last, template.length());
+
+        Object tree = MAPPER.readValue(skeleton.toString(), Object.class);
+        return new TemplateProgram(keys.toArray(new String[0]), toNode(tree));
+    }
+
+    Object run(ExtractedDocument data) {
+        Object[] values = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            // fields 배열에 같은 key가 있으면 마지막 항목이 우선 (기존 방식과 동일)
+            values[i] = data.hasField(keys[i]) ? data.lastFieldValue(keys[i]) : data.get(keys[i]);
+        }
+        return root.render(values);
+    }
+
+    /** JSON 문자열 상태 추적 - from~to 구간을 지난 뒤 문자열 안인지 반환 */
+    private static boolean scan(String s, int from, int to, boolean inString) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (inString) {
+                if (c == '\\') i++;
+                else if (c == '"') inString = false;
+            } else if (c == '"') {
+                inString = true;
+            }
+        }
+        return inString;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Node toNode(Object tree) {
+        if (tree instanceof Map<?, ?> map) {
+            List<Text> names = new ArrayList<>(map.size());
+            List<Node> children = new ArrayList<>(map.size());
+            for (Map.Entry<String, Object> e : ((Map<String, Object>) map).entrySet()) {
+                names.add(text(e.getKey()));
+                children.add(toNode(e.getValue()));
+            }
+            return new ObjectNode(names.toArray(new Text[0]), children.toArray(new Node[0]));
+        }
+        if (tree instanceof List<?> list) {
+            return new ArrayNode(list.stream().map(TemplateProgram::toNode).toArray(Node[]::new));
+        }
+        if (tree instanceof String s) {
+            if (s.length() > 2 && s.charAt(0) == RAW && s.charAt(s.length() - 1) == RAW) {
+                return new RawNode(Integer.parseInt(s.substring(1, s.length() - 1)));
+            }
+            Text text = text(s);
+            return text.slots.length == 0 ? new Constant(s) : text;
+        }
+        // 숫자, boolean, null - 불변 값이므로 그대로 공유
+        return new Constant(tree);
+    }
+
+    /** 표식으로 나뉜 문자열 - 짝수 위치 literal, 홀수 위치 slot 번호 */
+    private static Text text(String s) {
+        String[] parts = s.split(String.valueOf(IN_STRING), -1);
+        String[] literals = new String[parts.length / 2 + 1];
+        int[] slots = new int[parts.length / 2];
+        for (int i = 0; i < parts.length; i++) {
+            if (i % 2 == 0) literals[i / 2] = parts[i];
+            else slots[i / 2] = Integer.parseInt(parts[i]);
+        }
+        return new Text(literals, slots);
+    }
+
+    private interface Node {
+        Object render(Object[] values);
+    }
+
+    private record Constant(Object value) implements Node {
+        public Object render(Object[] values) {
+            return value;
+        }
+    }
+
+    /** 문자열 안 placeholder - 값을 문자열로 이어붙임 (null은 빈 문자열) */
+    private record Text(String[] literals, int[] slots) implements Node {
+        public String render(Object[] values) {
+            if (slots.length == 0) {
+                return literals[0];
+            }
+            if (slots.length == 1 && literals[0].isEmpty() && literals[1].isEmpty()) {
+                Object v = values[slots[0]];
+                return v != null ? v.toString() : "";
+            }
+            StringBuilder sb = new StringBuilder(literals[0]);
+            for (int i = 0; i < slots.length; i++) {
+                Object v = values[slots[i]];
+                if (v != null) sb.append(v);
+                sb.append(literals[i + 1]);
+            }
+            return sb.toString();
+        }
+    }
+
+    /** 문자열 밖 placeholder - 숫자/boolean/객체는 그대로, 문자열은 전체가 JSON 값이면 해당 타입으로 */
+    private record RawNode(int slot) implements Node {
+        public Object render(Object[] values) {
+            Object v = values[slot];
+            if (!(v instanceof String s)) return v;
+            try {
+                return VALUE_READER.readValue(s);
+            } catch (JsonProcessingException e) {
+                return s;
+            }
+        }
+    }
+
+    private record ObjectNode(Text[] names, Node[] children) implements Node {
+        public Object render(Object[] values) {
+            Map<String, Object> result = new LinkedHashMap<>(Math.max(4, names.length * 4 / 3 + 1));
+            for (int i = 0; i < names.length; i++) {
+                result.put(names[i].render(values), children[i].render(values));
+            }
+            return result;
+        }
+    }
+
+    private record ArrayNode(Node[] items) implements Node {
+        public Object render(Object[] values) {
+            List<Object> result = new ArrayList<>(items.length);
+            for (Node item : items) {
+                result.add(item.render(values));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package upstage.gateway.workflow.uie;
+
+import upstage.gateway.workflow.model.ExtractedDocument;
+
+/**
+ * 미리보기에서 받은 UIE 응답 - 실행 요청이 파일 대신 token을 보내면 UIE 호출 없이 재사용
+ * - 같은 버전의 같은 노드면 파싱 결과 그대로, 아니면 원본 응답을 그 노드의 파싱 설정으로 다시 파싱
+ * - UIE 호출 설정(url, method, formFields, fileFieldName)이 다른 노드에는 사용할 수 없음
+ *
+ * @param callKey UieResponseCache.key(config, contentHash) - 같은 요청이면 같은 응답
+ */
+public record PreviewSession(String workflowId, long workflowVersion, String nodeId, String callKey,
+                             String contentHash, long fileSize, String json, ExtractedDocument parsed) {
+
+    /** 이 노드 설정으로 호출했어도 같은 요청인지 */
+    public boolean matches(UieNodeConfig config) {
+        return callKey.equals(UieResponseCache.key(config, contentHash));
+    }
+
+    /** 원본 응답 + 파싱 결과 (String은 UTF-16, 파싱 결과는 원본과 비슷한 크기로 추정) */
+    long weight() {
+        return (long) json.length() * 4;
+    }
+}
@@ -0,0 +1,112 @@
+package upstage.gateway.workflow.uie;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import upstage.gateway.workflow.model.ExtractedDocument;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * 미리보기 세션 - 추측할 수 없는 token → PreviewSession, 메모리 크기 제한 LRU + TTL
+ * max-memory가 0이면 사용 안 함 (미리보기는 token 없이 응답)
+ */
+@Component
+public class PreviewSessionStore {
+
+    private record Entry(PreviewSession session, long expiresAt) {
+    }
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder TOKEN_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final long maxMemoryBytes;
+    private final long ttlMillis;
+
+    /** access-order LinkedHashMap = LRU, this 로 동기화 */
+    private final LinkedHashMap<String, Entry> sessions = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public PreviewSessionStore(MeterRegistry registry,
+                               @Value("${gateway.uie.preview-session.max-memory:64MB}") DataSize maxMemory,
+                               @Value("${gateway.uie.preview-session.ttl:10m}") Duration ttl) {
+        this.maxMemoryBytes = maxMemory.toBytes();
+        this.ttlMillis = ttl.toMillis();
+        this.hits = Counter.builder("gateway.uie.preview-session.requests").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("gateway.uie.preview-session.requests").tag("result", "miss").register(registry);
+        Gauge.builder("gateway.uie.preview-session.bytes", this, PreviewSessionStore::memoryBytes).register(registry);
+    }
+
+    public boolean isEnabled() {
+        return maxMemoryBytes > 0;
+    }
+
+    /**
+     * 세션 저장 후 token 반환 - 사용 안 함이거나 응답이 한도보다 크면 null
+     */
+    public String put(String workflowId, long workflowVersion, String nodeId, UieNodeConfig config,
+                      String contentHash, long fileSize, String json, ExtractedDocument parsed) {
+        if (!isEnabled() || json == null) return null;
+        PreviewSession session = new PreviewSession(workflowId, workflowVersion, nodeId,
+                UieResponseCache.key(config, contentHash), contentHash, fileSize, json, parsed);
+        if (session.weight() > maxMemoryBytes) return null;
+
+        byte[] random = new byte[24];
+        RANDOM.nextBytes(random);
+        String token = TOKEN_ENCODER.encodeToString(random);
+        synchronized (this) {
+            sessions.put(token, new Entry(session, System.currentTimeMillis() + ttlMillis));
+            memoryBytes += session.weight();
+            Iterator<Entry> eldest = sessions.values().iterator();
+            while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+                memoryBytes -= eldest.next().session().weight();
+                eldest.remove();
+            }
+        }
+        return token;
+    }
+
+    /** 만료되었거나 없으면 null - 만료 전까지 여러 번 사용 가능 (매핑을 바꿔가며 실행) */
+    public synchronized PreviewSession get(String token) {
+        Entry entry = sessions.get(token);
+        if (entry != null && entry.expiresAt() < System.currentTimeMillis()) {
+            sessions.remove(token);
+            memoryBytes -= entry.session().weight();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.session();
+    }
+
+    /** 만료된 세션 정리 */
+    @Scheduled(fixedDelayString = "${gateway.uie.preview-session.cleanup-interval-ms:60000}")
+    synchronized void evictExpired() {
+        long now = System.currentTimeMillis();
+        for (Iterator<Entry> it = sessions.values().iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (entry.expiresAt() < now) {
+                memoryBytes -= entry.session().weight();
+                it.remove();
+            }
+        }
+    }
+
+    private synchronized long memoryBytes() {
+        return memoryBytes;
+    }
+}
@@ -0,0 +1,108 @@
+package upstage.gateway.workflow.uie;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 같은 입력의 동시 UIE 실행 합치기 (single-flight)
+ * - 키(Workflow 버전 + UIE 노드 + 파일 내용 해시)가 같은 실행이 진행 중이면 새로 호출하지 않고 그 결과를 공유
+ *   실패는 기다리던 요청마다 새 UieCallException으로 감싸 반환 (leader의 예외 객체는 leader만 던짐)
+ * - 먼저 온 요청(leader)이 자기 스레드에서 호출 + 파싱, 끝나면 바로 제거 (결과 보관은 UieResponseCache 담당)
+ * - 기다리던 요청이 중단(interrupt)되면 그 요청만 대기를 그만둠 - leader의 호출은 계속
+ * - leader가 중단되면 실패를 공유하지 않고 기다리던 요청 중 하나가 다시 호출
+ * 공유되는 결과는 UIE 응답 원본 + ExtractedDocument (불변)
+ */
+@Component
+public class UieCallCoalescer {
+
+    /** leader가 중단되어 결과 없이 끝남 - 기다리던 요청은 다시 시도 */
+    private static final class LeaderCancelled extends RuntimeException {
+        LeaderCancelled() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final LeaderCancelled LEADER_CANCELLED = new LeaderCancelled();
+
+    private final boolean enabled;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter calls;
+    private final Counter shared;
+
+    public UieCallCoalescer(MeterRegistry registry,
+                            @Value("${gateway.uie.coalesce.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        this.calls = Counter.builder("gateway.uie.coalesce.requests").tag("result", "call").register(registry);
+        this.shared = Counter.builder("gateway.uie.coalesce.requests").tag("result", "shared").register(registry);
+        Gauge.builder("gateway.uie.coalesce.inflight", inFlight, Map::size).register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 진행 중인 같은 키의 호출이 있으면 그 결과, 없으면 call 실행
+     * @throws InterruptedException 결과를 기다리는 중 중단된 경우
+     */
+    public Object execute(String key, Callable<Object> call) throws Exception {
+        if (!enabled) {
+            return call.call();
+        }
+        while (true) {
+            CompletableFuture<Object> flight = new CompletableFuture<>();
+            CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                calls.increment();
+                return lead(key, flight, call);
+            }
+            try {
+                Object result = existing.get();
+                shared.increment();
+                return result;
+            } catch (ExecutionException e) {
+                if (e.getCause() == LEADER_CANCELLED) continue;
+                shared.increment();
+                throw new UieCallException(e.getCause());
+            }
+        }
+    }
+
+    /** 결과를 알리기 전에 제거 - 이후 요청은 끝난 호출에 합류하지 않고 새로 호출 */
+    private Object lead(String key, CompletableFuture<Object> flight, Callable<Object> call) throws Exception {
+        Object result;
+        try {
+            result = call.call();
+        } catch (Throwable e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(isCancellation(e) ? LEADER_CANCELLED : e);
+            throw e;
+        }
+        inFlight.remove(key, flight);
+        flight.complete(result);
+        return result;
+    }
+
+    private static boolean isCancellation(Throwable e) {
+        return Thread.currentThread().isInterrupted()
+                || e instanceof InterruptedException
+                || e instanceof InterruptedIOException && !(e instanceof SocketTimeoutException)
+                || e instanceof CancellationException;
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+}
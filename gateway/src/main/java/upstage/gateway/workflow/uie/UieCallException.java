@@ -0,0 +1,12 @@
+package upstage.gateway.workflow.uie;
+
+/**
+ * 합쳐진 UIE 호출의 실패 - 기다리던 요청마다 새로 만들어 반환 (원래 예외는 cause)
+ * 같은 예외 객체를 여러 스레드에서 던지면 suppressed/stack trace가 서로 섞이므로 공유하지 않음
+ */
+public class UieCallException extends RuntimeException {
+
+    public UieCallException(Throwable cause) {
+        super(cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName(), cause);
+    }
+}
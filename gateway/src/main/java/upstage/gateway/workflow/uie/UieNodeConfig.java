@@ -3,6 +3,7 @@ package upstage.gateway.workflow.uie;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import upstage.gateway.workflow.resilience.ResiliencePolicy;
 
 import java.util.List;
 import java.util.Map;
@@ -38,4 +39,16 @@ public class UieNodeConfig {
 
     /** 파싱: confidence 최소값 필터 */
     private Double minConfidence;
+
+    /** 이 노드의 동시 호출 수 제한 (비어있으면 제한 없음) */
+    private Integer maxConcurrency;
+
+    /** 같은 파일 + 같은 호출 설정이면 UIE 응답 캐시 사용 */
+    private boolean cacheEnabled;
+
+    /** HTTP 클라이언트 프로필 (gateway.http.profiles.*, 비어있으면 대상 host로 선택) */
+    private String httpProfile;
+
+    /** 재시도, 회로 차단기, 대상별 동시 호출 제한 (비어있으면 사용 안 함) */
+    private ResiliencePolicy resilience;
 }
@@ -0,0 +1,207 @@
+package upstage.gateway.workflow.uie;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import upstage.gateway.workflow.input.ContentHash;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+/**
+ * UIE 응답 캐시 - 파일 내용 해시 + 호출 설정(url, method, formFields, fileFieldName)을 키로 사용
+ * - 메모리: 크기 제한 LRU + TTL
+ * - 디스크 (선택): 키별 파일, memory-mapped 읽기, 주기적으로 TTL/크기 정리
+ * 노드별로 UieNodeConfig.cacheEnabled 를 켠 경우에만 사용
+ */
+@Component
+public class UieResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(UieResponseCache.class);
+
+    private record Entry(String body, long expiresAt) {
+        long weight() {
+            return (long) body.length() * 2;
+        }
+    }
+
+    private final long maxMemoryBytes;
+    private final long ttlMillis;
+    private final Path diskDir;
+    private final long maxDiskBytes;
+
+    /** access-order LinkedHashMap = LRU, this 로 동기화 */
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private long memoryBytes;
+
+    private final Counter memoryHits;
+    private final Counter diskHits;
+    private final Counter misses;
+
+    public UieResponseCache(MeterRegistry registry,
+                            @Value("${gateway.uie.cache.max-memory:64MB}") DataSize maxMemory,
+                            @Value("${gateway.uie.cache.ttl:30m}") Duration ttl,
+                            @Value("${gateway.uie.cache.disk.enabled:false}") boolean diskEnabled,
+                            @Value("${gateway.uie.cache.disk.dir:${gateway.data-dir:data}/uie-cache}") String diskDir,
+                            @Value("${gateway.uie.cache.disk.max-size:1GB}") DataSize maxDisk) throws IOException {
+        this.maxMemoryBytes = maxMemory.toBytes();
+        this.ttlMillis = ttl.toMillis();
+        this.maxDiskBytes = maxDisk.toBytes();
+        this.diskDir = diskEnabled ? Files.createDirectories(Path.of(diskDir)) : null;
+
+        this.memoryHits = Counter.builder("gateway.uie.cache.requests").tag("result", "hit").tag("tier", "memory").register(registry);
+        this.diskHits = Counter.builder("gateway.uie.cache.requests").tag("result", "hit").tag("tier", "disk").register(registry);
+        this.misses = Counter.builder("gateway.uie.cache.requests").tag("result", "miss").tag("tier", "none").register(registry);
+        Gauge.builder("gateway.uie.cache.memory.bytes", this, c -> c.memoryBytes()).register(registry);
+        Gauge.builder("gateway.uie.cache.memory.entries", this, c -> c.memoryEntries()).register(registry);
+    }
+
+    /**
+     * 캐시 조회, 없으면 loader 호출 후 저장 (null 응답과 예외는 저장하지 않음)
+     * @param contentHash 업로드 파일 내용 해시 (ContentHash.of)
+     */
+    public String getOrLoad(UieNodeConfig config, String contentHash, Callable<String> loader) throws Exception {
+        String key = key(config, contentHash);
+
+        String cached = getFromMemory(key);
+        if (cached != null) {
+            memoryHits.increment();
+            return cached;
+        }
+        cached = getFromDisk(key);
+        if (cached != null) {
+            diskHits.increment();
+            putInMemory(key, cached);
+            return cached;
+        }
+
+        misses.increment();
+        String body = loader.call();
+        if (body != null) {
+            putInMemory(key, body);
+            putOnDisk(key, body);
+        }
+        return body;
+    }
+
+    static String key(UieNodeConfig config, String contentHash) {
+        MessageDigest digest = ContentHash.sha256();
+        StringBuilder sb = new StringBuilder()
+                .append(config.getUrl()).append('\n')
+                .append(config.getMethod() != null ? config.getMethod().toUpperCase() : "POST").append('\n')
+                .append(config.getFileFieldName() != null ? config.getFileFieldName() : "file").append('\n');
+        if (config.getFormFields() != null) {
+            new TreeMap<>(config.getFormFields()).forEach((k, v) -> sb.append(k).append('=').append(v).append('\n'));
+        }
+        sb.append(contentHash);
+        return HexFormat.of().formatHex(digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private synchronized String getFromMemory(String key) {
+        Entry entry = memory.get(key);
+        if (entry == null) return null;
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            memory.remove(key);
+            memoryBytes -= entry.weight();
+            return null;
+        }
+        return entry.body();
+    }
+
+    private synchronized void putInMemory(String key, String body) {
+        Entry entry = new Entry(body, System.currentTimeMillis() + ttlMillis);
+        if (entry.weight() > maxMemoryBytes) return;
+
+        Entry previous = memory.put(key, entry);
+        memoryBytes += entry.weight() - (previous != null ? previous.weight() : 0);
+
+        Iterator<Entry> eldest = memory.values().iterator();
+        while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+            memoryBytes -= eldest.next().weight();
+            eldest.remove();
+        }
+    }
+
+    private String getFromDisk(String key) {
+        if (diskDir == null) return null;
+        Path path = diskDir.resolve(key);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (isExpired(Files.getLastModifiedTime(path))) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return StandardCharsets.UTF_8.decode(buffer).toString();
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("UIE cache disk read failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void putOnDisk(String key, String body) {
+        if (diskDir == null) return;
+        try {
+            Path tmp = Files.createTempFile(diskDir, key, ".tmp");
+            Files.writeString(tmp, body, StandardCharsets.UTF_8);
+            Files.move(tmp, diskDir.resolve(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("UIE cache disk write failed: {}", e.getMessage());
+        }
+    }
+
+    private boolean isExpired(FileTime lastModified) {
+        return lastModified.toMillis() + ttlMillis < System.currentTimeMillis();
+    }
+
+    /** 디스크 계층 정리 - 만료 파일 삭제 후 최대 크기를 넘으면 오래된 순으로 삭제 */
+    @Scheduled(fixedDelayString = "${gateway.uie.cache.disk.cleanup-interval-ms:60000}")
+    void cleanupDisk() {
+        if (diskDir == null) return;
+        record CachedFile(Path path, long size, FileTime modified) {}
+        List<CachedFile> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(diskDir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (path.getFileName().toString().endsWith(".tmp")) continue;
+                FileTime modified = Files.getLastModifiedTime(path);
+                if (isExpired(modified)) {
+                    Files.deleteIfExists(path);
+                } else {
+                    files.add(new CachedFile(path, Files.size(path), modified));
+                }
+            }
+            long total = files.stream().mapToLong(CachedFile::size).sum();
+            files.sort(Comparator.comparing(CachedFile::modified));
+            for (Iterator<CachedFile> it = files.iterator(); total > maxDiskBytes && it.hasNext(); ) {
+                CachedFile file = it.next();
+                Files.deleteIfExists(file.path());
+                total -= file.size();
+            }
+        } catch (IOException e) {
+            log.warn("UIE cache disk cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    private synchronized long memoryBytes() {
+        return memoryBytes;
+    }
+
+    private synchronized int memoryEntries() {
+        return memory.size();
+    }
+}
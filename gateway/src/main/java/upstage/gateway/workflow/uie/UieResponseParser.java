@@ -1,75 +1,179 @@
 package upstage.gateway.workflow.uie;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * UIE API 응답 파싱 - fields 배열을 출력 정의에 따라 변환
+ * flat_keyvalue, fields_only는 JsonParser 스트리밍으로 읽으면서 필터링 (필요한 값만 객체로 생성)
  */
 public class UieResponseParser {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
 
-    @SuppressWarnings("unchecked")
     public static Object parse(String uieResponseJson, UieNodeConfig config) throws Exception {
-        Map<String, Object> root = MAPPER.readValue(uieResponseJson, new TypeReference<>() {});
+        return parse(uieResponseJson, compile(config));
+    }
+
+    public static Object parse(String uieResponseJson, Spec spec) throws Exception {
+        if (spec.format == Format.FULL) {
+            return MAPPER.readValue(uieResponseJson, MAP_TYPE);
+        }
 
-        Object fieldsObj = root.get("fields");
-        if (!(fieldsObj instanceof List<?> fieldsList)) {
-            return root;
+        try (JsonParser p = MAPPER.createParser(uieResponseJson)) {
+            if (p.nextToken() == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = p.currentName();
+                    JsonToken token = p.nextToken();
+                    if ("fields".equals(name) && token == JsonToken.START_ARRAY) {
+                        // 나머지 root 필드는 출력에 쓰지 않으므로 읽지 않음
+                        return spec.format == Format.FLAT_KEYVALUE
+                                ? readFlatKeyValue(p, spec)
+                                : Map.of("fields", readFields(p, spec));
+                    }
+                    p.skipChildren();
+                }
+            }
         }
 
-        List<Map<String, Object>> fields = fieldsList.stream()
-                .filter(f -> f instanceof Map)
-                .map(f -> (Map<String, Object>) f)
-                .collect(Collectors.toList());
+        // fields 배열이 없으면 root 그대로 반환
+        return MAPPER.readValue(uieResponseJson, MAP_TYPE);
+    }
 
+    /** 설정을 파싱용 구조로 변환 - selectedKeys는 HashSet, 실행 계획에 캐시 */
+    public static Spec compile(UieNodeConfig config) {
         if (config == null) {
-            return root;
+            return new Spec(Format.FULL, null, Map.of(), null);
         }
+        Format format = switch (config.getOutputFormat() != null ? config.getOutputFormat() : "flat_keyvalue") {
+            case "flat_keyvalue" -> Format.FLAT_KEYVALUE;
+            case "full" -> Format.FULL;
+            default -> Format.FIELDS_ONLY;
+        };
+        Set<String> selectedKeys = config.getSelectedKeys() == null || config.getSelectedKeys().isEmpty()
+                ? null
+                : Set.copyOf(config.getSelectedKeys().stream().filter(Objects::nonNull).toList());
+        Map<String, String> keyMappings = config.getKeyMappings() != null ? new HashMap<>(config.getKeyMappings()) : Map.of();
+        return new Spec(format, selectedKeys, keyMappings, config.getMinConfidence());
+    }
 
-        List<Map<String, Object>> filtered = fields.stream()
-                .filter(f -> config.getMinConfidence() == null ||
-                        ((Number) f.getOrDefault("confidence", 0)).doubleValue() >= config.getMinConfidence())
-                .filter(f -> config.getSelectedKeys() == null || config.getSelectedKeys().isEmpty() ||
-                        config.getSelectedKeys().contains(f.get("key")))
-                .collect(Collectors.toList());
+    private static Map<String, Object> readFlatKeyValue(JsonParser p, Spec spec) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            String key = null;
+            Object value = null;
+            Object refinedValue = null;
+            double confidence = 0;
+            boolean rejected = false;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                JsonToken token = p.nextToken();
+                if (rejected) {
+                    p.skipChildren();
+                    continue;
+                }
+                switch (name) {
+                    case "key" -> {
+                        // 객체/배열 key는 건너뛰지 않으면 안쪽 필드를 이 항목의 필드로 읽게 됨
+                        if (token.isStructStart()) p.skipChildren();
+                        key = token.isScalarValue() && token != JsonToken.VALUE_NULL ? p.getValueAsString() : null;
+                        rejected = !spec.acceptsKey(key);
+                    }
+                    case "value" -> value = readValue(p, token);
+                    case "refinedValue" -> refinedValue = readValue(p, token);
+                    case "confidence" -> confidence = token.isNumeric() ? p.getDoubleValue() : 0;
+                    default -> p.skipChildren();
+                }
+            }
+            if (rejected || key == null || !spec.acceptsConfidence(confidence)) continue;
+            result.put(spec.outputKey(key), refinedValue != null ? refinedValue : value);
+        }
+        return result;
+    }
 
-        String format = config.getOutputFormat() != null ? config.getOutputFormat() : "flat_keyvalue";
-        Map<String, String> keyMappings = config.getKeyMappings() != null ? config.getKeyMappings() : Map.of();
+    private static List<Map<String, Object>> readFields(JsonParser p, Spec spec) throws IOException {
+        List<Map<String, Object>> result = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            Map<String, Object> field = new LinkedHashMap<>();
+            double confidence = 0;
+            boolean rejected = false;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                JsonToken token = p.nextToken();
+                if (rejected) {
+                    p.skipChildren();
+                    continue;
+                }
+                Object value = readValue(p, token);
+                if ("key".equals(name)) {
+                    String key = value != null ? value.toString() : null;
+                    rejected = !spec.acceptsKey(key);
+                    if (key != null) value = spec.outputKey(key);
+                } else if ("confidence".equals(name)) {
+                    confidence = value instanceof Number n ? n.doubleValue() : 0;
+                }
+                field.put(name, value);
+            }
+            if (rejected || !spec.acceptsConfidence(confidence)) continue;
+            result.add(field);
+        }
+        return result;
+    }
 
-        return switch (format) {
-            case "flat_keyvalue" -> toFlatKeyValue(filtered, keyMappings);
-            case "full" -> root;
-            default -> Map.of("fields", applyKeyMappings(filtered, keyMappings));
+    private static Object readValue(JsonParser p, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> p.getText();
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> p.getNumberValue();
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NULL -> null;
+            default -> p.readValueAs(Object.class);
         };
     }
 
-    private static List<Map<String, Object>> applyKeyMappings(List<Map<String, Object>> fields, Map<String, String> keyMappings) {
-        if (keyMappings.isEmpty()) return fields;
+    private enum Format { FLAT_KEYVALUE, FIELDS_ONLY, FULL }
 
-        return fields.stream().map(field -> {
-            Map<String, Object> copy = new LinkedHashMap<>(field);
-            Object key = field.get("key");
-            if (key != null && keyMappings.containsKey(key.toString())) {
-                copy.put("key", keyMappings.get(key.toString()));
-            }
-            return copy;
-        }).collect(Collectors.toList());
-    }
+    /**
+     * 컴파일된 파싱 설정 (불변)
+     */
+    public static final class Spec {
 
-    private static Map<String, Object> toFlatKeyValue(List<Map<String, Object>> fields, Map<String, String> keyMappings) {
-        Map<String, Object> result = new LinkedHashMap<>();
-        for (Map<String, Object> f : fields) {
-            String key = (String) f.get("key");
-            Object value = f.get("refinedValue");
-            if (value == null) value = f.get("value");
-            String outKey = keyMappings.getOrDefault(key, key);
-            result.put(outKey, value);
+        private final Format format;
+        private final Set<String> selectedKeys;
+        private final Map<String, String> keyMappings;
+        private final Double minConfidence;
+
+        private Spec(Format format, Set<String> selectedKeys, Map<String, String> keyMappings, Double minConfidence) {
+            this.format = format;
+            this.selectedKeys = selectedKeys;
+            this.keyMappings = keyMappings;
+            this.minConfidence = minConfidence;
+        }
+
+        boolean acceptsKey(String key) {
+            return selectedKeys == null || (key != null && selectedKeys.contains(key));
+        }
+
+        boolean acceptsConfidence(double confidence) {
+            return minConfidence == null || confidence >= minConfidence;
+        }
+
+        String outputKey(String key) {
+            return keyMappings.getOrDefault(key, key);
         }
-        return result;
     }
 }
@@ -0,0 +1,41 @@
+package upstage.gateway.workflow.uie;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 업로드 파일을 UIE multipart 요청에 스트림으로 전달하는 Resource
+ * - getBytes() 없이 multipart 저장소(메모리/디스크)에서 바로 읽음
+ * - 호출마다 새 스트림을 열어 재시도 시에도 다시 읽을 수 있음
+ */
+public class UploadResource extends AbstractResource {
+
+    private final MultipartFile file;
+
+    public UploadResource(MultipartFile file) {
+        this.file = file;
+    }
+
+    @Override
+    public String getFilename() {
+        return file.getOriginalFilename() != null ? file.getOriginalFilename() : "file";
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return file.getInputStream();
+    }
+
+    @Override
+    public long contentLength() {
+        return file.getSize();
+    }
+
+    @Override
+    public String getDescription() {
+        return "Upload [" + getFilename() + "]";
+    }
+}
@@ -1,11 +1,24 @@
 package upstage.gateway;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
 
 @SpringBootTest
 class GatewayApplicationTests {
 
+	@TempDir
+	static Path dataDir;
+
+	@DynamicPropertySource
+	static void dataDir(DynamicPropertyRegistry registry) {
+		registry.add("gateway.data-dir", dataDir::toString);
+	}
+
 	@Test
 	void contextLoads() {
 	}
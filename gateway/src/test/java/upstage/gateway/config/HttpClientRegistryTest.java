@@ -0,0 +1,40 @@
+package upstage.gateway.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLContext;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpClientRegistryTest {
+
+    @Test
+    void selectsProfileByNameThenHostThenDefault() throws Exception {
+        HttpClientProperties properties = new HttpClientProperties();
+        HttpClientProperties.Profile uie = new HttpClientProperties.Profile();
+        uie.setHosts(List.of("api.upstage.ai"));
+        HttpClientProperties.Profile partners = new HttpClientProperties.Profile();
+        partners.setHosts(List.of("*.partner.example"));
+        properties.getProfiles().put("uie", uie);
+        properties.getProfiles().put("partners", partners);
+
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        HttpClientRegistry registry = new HttpClientRegistry(properties, SSLContext.getDefault(), meters);
+        try {
+            assertThat(registry.forUrl("https://API.upstage.ai/v1/extract", null))
+                    .isSameAs(registry.forUrl("http://localhost:9000", "uie"));
+            assertThat(registry.forUrl("https://erp.partner.example/in", null))
+                    .isSameAs(registry.forUrl("http://localhost:9000", "partners"));
+            assertThat(registry.forUrl("https://other.example/in", null)).isSameAs(registry.getDefault());
+            assertThatThrownBy(() -> registry.forUrl("https://other.example/in", "missing"))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            assertThat(meters.get("gateway.http.pool.max").tag("profile", "uie").gauge().value()).isEqualTo(100);
+        } finally {
+            registry.destroy();
+        }
+    }
+}
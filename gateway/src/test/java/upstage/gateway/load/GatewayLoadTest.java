@@ -0,0 +1,253 @@
+package upstage.gateway.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import upstage.gateway.workflow.connector.ConnectorNode;
+import upstage.gateway.workflow.connector.ConnectorNodeConfig;
+import upstage.gateway.workflow.input.InputNode;
+import upstage.gateway.workflow.model.Workflow;
+import upstage.gateway.workflow.model.WorkflowEdge;
+import upstage.gateway.workflow.model.WorkflowNode;
+import upstage.gateway.workflow.output.OutputNode;
+import upstage.gateway.workflow.transform.FieldMapping;
+import upstage.gateway.workflow.transform.TransformNode;
+import upstage.gateway.workflow.transform.TransformNodeConfig;
+import upstage.gateway.workflow.uie.UieNode;
+import upstage.gateway.workflow.uie.UieNodeConfig;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 전체 부하 테스트 - gateway와 stub UIE/Connector 서버를 같은 JVM에서 띄우고 /workflows/{id}/execute 호출
+ * 실행: gradle loadTest -Pload.concurrency=32 -Pload.rate=100 -Pload.duration=60s (일반 test 작업에서는 제외)
+ * 결과: p50/p95/p99 지연, 처리량, 오류율, GC 횟수/시간, 최대 heap 사용량 → 콘솔 + build/reports/load/result.json
+ * GC/heap 수치는 부하 생성기와 stub 서버를 포함한 JVM 전체 기준
+ *
+ * 설정 (-Pload.*):
+ * - concurrency (16), rate 초당 요청 수 (0 = 응답 받자마자 다음 요청), duration (30s), warmup (10s)
+ * - file-size 업로드 바이트 (262144), fields UIE 응답 항목 수 (200), mappings Transform 매핑 수 (50)
+ * - uie-latency (200ms), uie-jitter (100ms), sink-latency (20ms), sink 사용 여부 (true), delivery (sync/async)
+ * - max-error-rate 허용 오류율 (0.01)
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class GatewayLoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String BOUNDARY = "gateway-load-" + UUID.randomUUID();
+
+    private static StubServers stubs;
+
+    @TempDir
+    static Path dataDir;
+
+    @DynamicPropertySource
+    static void dataDir(DynamicPropertyRegistry registry) {
+        registry.add("gateway.data-dir", dataDir::toString);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @BeforeAll
+    static void startStubs() throws Exception {
+        stubs = new StubServers(intSetting("fields", 200),
+                durationSetting("uie-latency", "200ms"),
+                durationSetting("uie-jitter", "100ms"),
+                durationSetting("sink-latency", "20ms"));
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        if (stubs != null) stubs.close();
+    }
+
+    @Test
+    void execute() throws Exception {
+        int concurrency = intSetting("concurrency", 16);
+        double rate = Double.parseDouble(setting("rate", "0"));
+        Duration duration = durationSetting("duration", "30s");
+        Duration warmup = durationSetting("warmup", "10s");
+
+        String workflowId = createWorkflow();
+        byte[] body = multipartBody(intSetting("file-size", 256 * 1024));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/workflows/" + workflowId + "/execute"))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .timeout(Duration.ofMinutes(2))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        // 상태 코드별 첫 오류 응답 본문 (원인 확인용)
+        Map<Integer, String> errorSamples = new ConcurrentHashMap<>();
+        LoadGenerator.Request send = () -> {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                errorSamples.putIfAbsent(response.statusCode(), response.body());
+            }
+            return response.statusCode();
+        };
+
+        if (!warmup.isZero()) {
+            LoadGenerator.run(concurrency, rate, warmup, send);
+        }
+
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(p -> p.getType() == MemoryType.HEAP).toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long[] gcBefore = gcTotals();
+
+        LoadGenerator.Result result = LoadGenerator.run(concurrency, rate, duration, send);
+
+        long[] gcAfter = gcTotals();
+        long peakHeap = heapPools.stream().mapToLong(p -> p.getPeakUsage().getUsed()).sum();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("concurrency", concurrency);
+        report.put("targetRate", rate);
+        report.put("durationSeconds", result.elapsedNanos() / 1e9);
+        report.put("requests", result.count());
+        report.put("throughput", round(result.throughput()));
+        report.put("errorRate", result.errorRate());
+        report.put("outcomes", result.outcomes());
+        report.put("errorSamples", errorSamples);
+        Map<String, Double> latency = new LinkedHashMap<>();
+        latency.put("p50", round(result.percentileMs(50)));
+        latency.put("p95", round(result.percentileMs(95)));
+        latency.put("p99", round(result.percentileMs(99)));
+        latency.put("max", round(result.percentileMs(100)));
+        report.put("latencyMs", latency);
+        report.put("gc", Map.of(
+                "count", gcAfter[0] - gcBefore[0],
+                "timeMs", gcAfter[1] - gcBefore[1]));
+        report.put("heap", Map.of(
+                "peakUsedMB", peakHeap / (1024 * 1024),
+                "maxMB", Runtime.getRuntime().maxMemory() / (1024 * 1024)));
+        report.put("stub", Map.of(
+                "uieRequests", stubs.uieRequests.get(),
+                "uieResponseBytes", stubs.uieResponseBytes(),
+                "sinkRequests", stubs.sinkRequests.get()));
+
+        String json = MAPPER.writeValueAsString(report);
+        System.out.println("=== Gateway load test ===");
+        System.out.println(json);
+        Path out = Path.of("build", "reports", "load", "result.json");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, json);
+
+        assertThat(result.count()).isPositive();
+        assertThat(result.errorRate()).isLessThanOrEqualTo(Double.parseDouble(setting("max-error-rate", "0.01")));
+    }
+
+    /** Input → UIE → Transform → (Connector) → Output */
+    private String createWorkflow() throws Exception {
+        UieNodeConfig uie = new UieNodeConfig();
+        uie.setUrl(stubs.uieUrl());
+
+        List<FieldMapping> mappings = new ArrayList<>();
+        int mappingCount = Math.min(intSetting("mappings", 50), intSetting("fields", 200));
+        for (int i = 0; i < mappingCount; i++) {
+            mappings.add(new FieldMapping("field_" + i, "document.item" + i));
+        }
+        TransformNodeConfig transform = new TransformNodeConfig();
+        transform.setFieldMappings(mappings);
+
+        List<WorkflowNode> nodes = new ArrayList<>(List.of(
+                new InputNode("input", "Input", 0, 0),
+                new UieNode("uie", "UIE", 0, 0, uie),
+                new TransformNode("transform", "Transform", 0, 0, transform)));
+        List<WorkflowEdge> edges = new ArrayList<>(List.of(
+                new WorkflowEdge("e1", "input", "uie"),
+                new WorkflowEdge("e2", "uie", "transform")));
+        String last = "transform";
+        if (Boolean.parseBoolean(setting("sink", "true"))) {
+            ConnectorNodeConfig connector = new ConnectorNodeConfig();
+            connector.setUrl(stubs.sinkUrl());
+            connector.setDelivery(setting("delivery", "sync"));
+            nodes.add(new ConnectorNode("connector", "Connector", 0, 0, connector));
+            edges.add(new WorkflowEdge("e3", "transform", "connector"));
+            last = "connector";
+        }
+        nodes.add(new OutputNode("output", "Output", 0, 0));
+        edges.add(new WorkflowEdge("e4", last, "output"));
+
+        Workflow workflow = new Workflow("load-test", "Load test", nodes, edges);
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/workflows"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(workflow)))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return MAPPER.readTree(response.body()).get("id").asText();
+    }
+
+    private static byte[] multipartBody(int fileSize) {
+        byte[] content = new byte[fileSize];
+        new Random(fileSize).nextBytes(content);
+        ByteArrayOutputStream body = new ByteArrayOutputStream(fileSize + 256);
+        body.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"load.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    /** [수집 횟수, 수집 시간 ms] - 모든 collector 합계 */
+    private static long[] gcTotals() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[]{count, time};
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static String setting(String name, String defaultValue) {
+        return System.getProperty("load." + name, defaultValue);
+    }
+
+    private static int intSetting(String name, int defaultValue) {
+        return Integer.parseInt(setting(name, Integer.toString(defaultValue)));
+    }
+
+    /** 200ms, 30s, 2m 형식 */
+    private static Duration durationSetting(String name, String defaultValue) {
+        return DurationStyle.SIMPLE.parse(setting(name, defaultValue));
+    }
+}
@@ -0,0 +1,95 @@
+package upstage.gateway.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 고정 동시성 + (선택) 고정 요청률 부하 생성
+ * - rate > 0: i번째 요청의 예정 시각 = 시작 + i / rate, 지연은 예정 시각부터 측정 (서버가 밀려 늦게 보낸 시간도 포함)
+ * - rate = 0: 워커마다 응답을 받자마자 다음 요청 (closed loop)
+ */
+final class LoadGenerator {
+
+    /** 요청 하나 - HTTP 상태 코드 반환, 예외는 오류로 집계 */
+    interface Request {
+        int send() throws Exception;
+    }
+
+    record Result(long[] latenciesNanos, long elapsedNanos, Map<String, Long> outcomes) {
+
+        long count() {
+            return latenciesNanos.length;
+        }
+
+        long errors() {
+            return outcomes.entrySet().stream()
+                    .filter(e -> !e.getKey().equals("200"))
+                    .mapToLong(Map.Entry::getValue).sum();
+        }
+
+        double throughput() {
+            return count() * 1e9 / elapsedNanos;
+        }
+
+        double errorRate() {
+            return count() == 0 ? 0 : (double) errors() / count();
+        }
+
+        /** latenciesNanos는 정렬된 상태 */
+        double percentileMs(double p) {
+            if (latenciesNanos.length == 0) return 0;
+            int index = (int) Math.ceil(p / 100 * latenciesNanos.length) - 1;
+            return latenciesNanos[Math.max(0, Math.min(index, latenciesNanos.length - 1))] / 1e6;
+        }
+    }
+
+    private LoadGenerator() {
+    }
+
+    static Result run(int concurrency, double rate, Duration duration, Request request) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        AtomicLong sequence = new AtomicLong();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        Map<String, AtomicLong> outcomes = new ConcurrentHashMap<>();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            workers.execute(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    long scheduled = rate > 0 ? start + (long) (sequence.getAndIncrement() * 1e9 / rate) : System.nanoTime();
+                    if (scheduled >= end) return;
+                    long wait;
+                    while ((wait = scheduled - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+
+                    String outcome;
+                    try {
+                        outcome = Integer.toString(request.send());
+                    } catch (Exception e) {
+                        outcome = e.getClass().getSimpleName();
+                    }
+                    latencies.add(System.nanoTime() - scheduled);
+                    outcomes.computeIfAbsent(outcome, k -> new AtomicLong()).incrementAndGet();
+                }
+            });
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(duration.toMillis() + TimeUnit.MINUTES.toMillis(5), TimeUnit.MILLISECONDS)) {
+            workers.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((k, v) -> counts.put(k, v.get()));
+        return new Result(sorted, elapsed, counts);
+    }
+}
@@ -0,0 +1,115 @@
+package upstage.gateway.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 부하 테스트용 로컬 stub 서버 (같은 JVM)
+ * - /extract: UIE 응답 (fields 수만큼 항목), latency + 0~jitter 지연 후 반환
+ * - /sink: Connector 수신, latency 지연 후 200
+ */
+final class StubServers implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final byte[] uieResponse;
+    private final Duration uieLatency;
+    private final Duration uieJitter;
+    private final Duration sinkLatency;
+
+    final AtomicLong uieRequests = new AtomicLong();
+    final AtomicLong sinkRequests = new AtomicLong();
+
+    StubServers(int fields, Duration uieLatency, Duration uieJitter, Duration sinkLatency) throws IOException {
+        this.uieResponse = MAPPER.writeValueAsBytes(uieResponse(fields));
+        this.uieLatency = uieLatency;
+        this.uieJitter = uieJitter;
+        this.sinkLatency = sinkLatency;
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/extract", exchange -> {
+            uieRequests.incrementAndGet();
+            long jitter = uieJitter.isZero() ? 0 : ThreadLocalRandom.current().nextLong(uieJitter.toMillis() + 1);
+            respond(exchange, uieLatency.toMillis() + jitter, uieResponse);
+        });
+        server.createContext("/sink", exchange -> {
+            sinkRequests.incrementAndGet();
+            respond(exchange, sinkLatency.toMillis(), "{}".getBytes(StandardCharsets.UTF_8));
+        });
+        server.start();
+    }
+
+    String uieUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/extract";
+    }
+
+    String sinkUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/sink";
+    }
+
+    int uieResponseBytes() {
+        return uieResponse.length;
+    }
+
+    private static void respond(HttpExchange exchange, long delayMs, byte[] body) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+            if (delayMs > 0) {
+                Thread.sleep(delayMs);
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** UIE 응답 형태 - field_0 .. field_{n-1} */
+    static Map<String, Object> uieResponse(int fieldCount) {
+        Random random = new Random(fieldCount);
+        List<Map<String, Object>> fields = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            String value = "value " + Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+            Map<String, Object> field = new LinkedHashMap<>();
+            field.put("id", i);
+            field.put("key", "field_" + i);
+            field.put("type", "content");
+            field.put("value", value);
+            field.put("refinedValue", value);
+            field.put("confidence", 0.5 + random.nextDouble() / 2);
+            field.put("boundingBoxes", List.of(Map.of("vertices", List.of(
+                    Map.of("x", random.nextInt(1700), "y", random.nextInt(2200)),
+                    Map.of("x", random.nextInt(1700), "y", random.nextInt(2200))))));
+            fields.add(field);
+        }
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("apiVersion", "1.1");
+        root.put("confidence", 0.97);
+        root.put("documentType", "invoice");
+        root.put("fields", fields);
+        root.put("modelVersion", "information-extract-250324");
+        return root;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
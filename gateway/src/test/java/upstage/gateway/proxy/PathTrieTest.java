@@ -0,0 +1,30 @@
+package upstage.gateway.proxy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathTrieTest {
+
+    @Test
+    void matchesLongestPrefixOnSegmentBoundaries() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.put("/api", "api");
+        trie.put("/api/v1/", "v1");
+
+        assertThat(trie.longestPrefix("/api/v1/models")).isEqualTo(new PathTrie.Match<>("v1", 7));
+        assertThat(trie.longestPrefix("/api/v1")).isEqualTo(new PathTrie.Match<>("v1", 7));
+        assertThat(trie.longestPrefix("/api/v10")).isEqualTo(new PathTrie.Match<>("api", 4));
+        assertThat(trie.longestPrefix("/apis")).isNull();
+        assertThat(trie.longestPrefix("/")).isNull();
+    }
+
+    @Test
+    void rootMatchesEverything() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.put("/", "root");
+
+        assertThat(trie.longestPrefix("/anything/else")).isEqualTo(new PathTrie.Match<>("root", 0));
+        assertThat(trie.put("/", "again")).isEqualTo("root");
+    }
+}
@@ -0,0 +1,167 @@
+package upstage.gateway.proxy;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import upstage.gateway.config.HttpClientProperties;
+import upstage.gateway.config.HttpClientRegistry;
+import upstage.gateway.config.RestTemplateConfig;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProxyFilterTest {
+
+    @TempDir
+    Path dir;
+
+    private HttpServer upstream;
+    private HttpClientRegistry httpClients;
+    private Path routesFile;
+
+    @BeforeEach
+    void start() throws Exception {
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        upstream.createContext("/", exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            String echo = exchange.getRequestMethod() + " " + exchange.getRequestURI()
+                    + " key=" + exchange.getRequestHeaders().getFirst("X-Api-Key")
+                    + " cookie=" + exchange.getRequestHeaders().getFirst("Cookie")
+                    + " body=" + new String(body, StandardCharsets.UTF_8);
+            byte[] response = echo.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Server", "stub");
+            exchange.sendResponseHeaders(201, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        upstream.start();
+        httpClients = new RestTemplateConfig().httpClientRegistry(new HttpClientProperties(), new SimpleMeterRegistry());
+        routesFile = dir.resolve("routes.json");
+    }
+
+    @AfterEach
+    void stop() throws Exception {
+        upstream.stop(0);
+        httpClients.destroy();
+    }
+
+    private String upstreamUrl() {
+        return "http://127.0.0.1:" + upstream.getAddress().getPort();
+    }
+
+    private void writeRoutes(String json, long modifiedSeconds) throws Exception {
+        Files.writeString(routesFile, json);
+        Files.setLastModifiedTime(routesFile, FileTime.from(Instant.ofEpochSecond(modifiedSeconds)));
+    }
+
+    private static MockHttpServletResponse call(ProxyFilter filter, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void streamsRequestToUpstreamWithRewrittenHeaders() throws Exception {
+        writeRoutes("""
+                [{"id": "models", "path": "/proxy/models", "upstream": "%s/v1/",
+                  "requestHeaders": {"X-Api-Key": "secret"}, "removeRequestHeaders": ["Cookie"],
+                  "removeResponseHeaders": ["Server"], "responseHeaders": {"X-Proxy": "gateway"}}]
+                """.formatted(upstreamUrl()), 1000);
+        ProxyFilter filter = new ProxyFilter(new ProxyRouteRegistry(httpClients, routesFile.toString()), new SimpleMeterRegistry());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/proxy/models/predict");
+        request.setQueryString("a=1");
+        request.addHeader("Cookie", "session=1");
+        request.addHeader("X-Api-Key", "client");
+        request.setContentType("text/plain");
+        request.setContent("hello".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = call(filter, request);
+
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsString()).isEqualTo("POST /v1/predict?a=1 key=secret cookie=null body=hello");
+        assertThat(response.getHeader("Server")).isNull();
+        assertThat(response.getHeader("X-Proxy")).isEqualTo("gateway");
+    }
+
+    @Test
+    void rejectsDotSegmentsBeforeForwarding() throws Exception {
+        writeRoutes("[{\"path\": \"/a\", \"upstream\": \"%s/v1\"}]".formatted(upstreamUrl()), 1000);
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        ProxyFilter filter = new ProxyFilter(new ProxyRouteRegistry(httpClients, routesFile.toString()), meters);
+
+        for (String path : new String[]{"/a/../admin", "/a/%2e%2e/admin", "/a/.%2E/admin", "/a/..;x/admin", "/a/x%2F..%2Fadmin", "/a/./b"}) {
+            assertThat(call(filter, new MockHttpServletRequest("GET", path)).getStatus()).as(path).isEqualTo(400);
+        }
+        assertThat(call(filter, new MockHttpServletRequest("GET", "/a/file.v2.json")).getContentAsString())
+                .startsWith("GET /v1/file.v2.json ");
+        assertThat(meters.get("gateway.proxy.requests").tags("route", "/a", "outcome", "rejected").timer().count()).isEqualTo(6);
+        assertThat(meters.get("gateway.proxy.requests").tags("route", "/a", "outcome", "2xx").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void defaultRoutesFileKeepsHttpbinExample() throws Exception {
+        ProxyRouteRegistry registry = new ProxyRouteRegistry(httpClients, "config/proxy-routes.json");
+
+        PathTrie.Match<ProxyRouteTable.Route> match = registry.table().find("/api/proxy/httpbin");
+        assertThat(match.value().target("/api/proxy/httpbin", match.length(), "a=1")).isEqualTo("http://httpbin.org/get?a=1");
+    }
+
+    @Test
+    void unmatchedPathContinuesChain() throws Exception {
+        ProxyFilter filter = new ProxyFilter(new ProxyRouteRegistry(httpClients, ""), new SimpleMeterRegistry());
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/workflows"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void reloadsChangedFileAndKeepsRoutesOnInvalidChange() throws Exception {
+        writeRoutes("[{\"path\": \"/a\", \"upstream\": \"%s\"}]".formatted(upstreamUrl()), 1000);
+        ProxyRouteRegistry registry = new ProxyRouteRegistry(httpClients, routesFile.toString());
+        ProxyFilter filter = new ProxyFilter(registry, new SimpleMeterRegistry());
+
+        writeRoutes("[{\"path\": \"/b\", \"upstream\": \"%s\", \"stripPrefix\": false}]".formatted(upstreamUrl()), 2000);
+        registry.reload();
+        assertThat(call(filter, new MockHttpServletRequest("GET", "/b/x")).getContentAsString()).startsWith("GET /b/x ");
+        assertThat(registry.table().find("/a")).isNull();
+
+        writeRoutes("[{\"path\": \"no-slash\", \"upstream\": \"%s\"}]".formatted(upstreamUrl()), 3000);
+        registry.reload();
+        assertThat(registry.table().find("/b")).isNotNull();
+    }
+
+    @Test
+    void invalidFileFailsStartup() throws Exception {
+        writeRoutes("[{\"path\": \"/a\", \"upstream\": \"ftp://example\"}]", 1000);
+
+        assertThatThrownBy(() -> new ProxyRouteRegistry(httpClients, routesFile.toString()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void unreachableUpstreamReturnsBadGateway() throws Exception {
+        upstream.stop(0);
+        writeRoutes("[{\"path\": \"/a\", \"upstream\": \"%s\"}]".formatted(upstreamUrl()), 1000);
+        ProxyFilter filter = new ProxyFilter(new ProxyRouteRegistry(httpClients, routesFile.toString()), new SimpleMeterRegistry());
+
+        MockHttpServletResponse response = call(filter, new MockHttpServletRequest("GET", "/a"));
+
+        assertThat(response.getStatus()).isEqualTo(502);
+        assertThat(response.getContentAsString()).contains("\"route\":\"/a\"");
+    }
+}
@@ -0,0 +1,229 @@
+package upstage.gateway.workflow;
+
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import upstage.gateway.workflow.connector.ConnectorNode;
+import upstage.gateway.workflow.input.InputNode;
+import upstage.gateway.workflow.model.Workflow;
+import upstage.gateway.workflow.model.WorkflowEdge;
+import upstage.gateway.workflow.output.OutputNode;
+import upstage.gateway.workflow.plan.ExecutionPlan;
+import upstage.gateway.workflow.trace.ExecutionTrace;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CamelWorkflowRoutesTest {
+
+    private DefaultCamelContext camelContext;
+
+    @BeforeEach
+    void start() {
+        camelContext = new DefaultCamelContext();
+        camelContext.start();
+    }
+
+    @AfterEach
+    void stop() {
+        camelContext.stop();
+    }
+
+    /** in → (a, b) → out */
+    private static ExecutionPlan plan(long version) {
+        Workflow workflow = new Workflow("wf", "test",
+                List.of(new InputNode("in", null, 0, 0),
+                        new ConnectorNode("a", null, 0, 0, null),
+                        new ConnectorNode("b", null, 0, 0, null),
+                        new OutputNode("out", null, 0, 0)),
+                List.of(new WorkflowEdge("e1", "in", "a"), new WorkflowEdge("e2", "in", "b"),
+                        new WorkflowEdge("e3", "a", "out"), new WorkflowEdge("e4", "b", "out")));
+        workflow.setVersion(version);
+        return ExecutionPlan.compile(workflow);
+    }
+
+    private static Object run(CamelWorkflowRoutes routes, ExecutionPlan plan, CamelWorkflowRoutes.StepRunner runner) throws Exception {
+        return routes.run(plan, null, new ExecutionTrace("wf", plan.getVersion(), plan.getSteps().size()), runner);
+    }
+
+    @Test
+    void branchDoesNotWaitForUnrelatedSlowBranch() throws Exception {
+        // in → slow → out, in → b → c → out: c는 slow가 끝나기 전에 실행
+        Workflow workflow = new Workflow("wf", "test",
+                List.of(new InputNode("in", null, 0, 0),
+                        new ConnectorNode("slow", null, 0, 0, null),
+                        new ConnectorNode("b", null, 0, 0, null),
+                        new ConnectorNode("c", null, 0, 0, null),
+                        new OutputNode("out", null, 0, 0)),
+                List.of(new WorkflowEdge("e1", "in", "slow"), new WorkflowEdge("e2", "in", "b"),
+                        new WorkflowEdge("e3", "b", "c"), new WorkflowEdge("e4", "slow", "out"),
+                        new WorkflowEdge("e5", "c", "out")));
+        workflow.setVersion(1L);
+        ExecutionPlan plan = ExecutionPlan.compile(workflow);
+        CamelWorkflowRoutes routes = new CamelWorkflowRoutes(camelContext, 0);
+        CountDownLatch cDone = new CountDownLatch(1);
+
+        Object result = run(routes, plan, (p, step, input, file, failure, trace) -> switch (step.getNode().getId()) {
+            case "slow" -> {
+                try {
+                    yield cDone.await(5, TimeUnit.SECONDS) ? "after-c" : "timeout";
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            case "c" -> {
+                cDone.countDown();
+                yield "c";
+            }
+            case "out" -> input;
+            default -> "x";
+        });
+
+        assertThat(result).isEqualTo(Map.of("slow", "after-c", "c", "c"));
+        assertThat(camelContext.getRoute("workflow-wf-v1-node-c")).isNotNull();
+    }
+
+    @Test
+    void nodeIdsDoNotCollideWithEntryRoute() throws Exception {
+        Workflow workflow = new Workflow("wf", "test",
+                List.of(new InputNode("in", null, 0, 0), new ConnectorNode("stage-1", null, 0, 0, null),
+                        new ConnectorNode("v1", null, 0, 0, null), new OutputNode("out", null, 0, 0)),
+                List.of(new WorkflowEdge("e1", "in", "stage-1"), new WorkflowEdge("e2", "stage-1", "v1"),
+                        new WorkflowEdge("e3", "v1", "out")));
+        workflow.setVersion(1L);
+        CamelWorkflowRoutes routes = new CamelWorkflowRoutes(camelContext, 2);
+
+        assertThat(run(routes, ExecutionPlan.compile(workflow), (p, step, input, file, failure, trace) -> "ok")).isEqualTo("ok");
+        assertThat(camelContext.getRoute("workflow-wf-v1-node-stage-1")).isNotNull();
+        assertThat(camelContext.getRoute("workflow-wf-v1-node-v1")).isNotNull();
+    }
+
+    @Test
+    void runsFanOutBranchesAndJoinsResults() throws Exception {
+        CamelWorkflowRoutes routes = new CamelWorkflowRoutes(camelContext, 0);
+        ExecutionPlan plan = plan(1);
+        routes.onSaved(new WorkflowSavedEvent(plan));
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        Object result = run(routes, plan, (p, step, input, file, failure, trace) -> {
+            threads.add(Thread.currentThread().getName());
+            return switch (step.getNode().getId()) {
+                case "in" -> "doc";
+                case "out" -> input;
+                default -> step.getNode().getId() + ":" + input;
+            };
+        });
+
+        assertThat(result).isEqualTo(Map.of("a", "a:doc", "b", "b:doc"));
+        assertThat(camelContext.getRoute("workflow-wf-v1")).isNotNull();
+        assertThat(camelContext.getRoute("workflow-wf-v1-node-a")).isNotNull();
+        assertThat(threads).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void stepFailureIsReturnedAsExecutionException() {
+        CamelWorkflowRoutes routes = new CamelWorkflowRoutes(camelContext, 0);
+
+        assertThatThrownBy(() -> run(routes, plan(1), (p, step, input, file, failure, trace) -> {
+            if (step.getNode().getId().equals("b")) {
+                throw new WorkflowExecutionException("b", new IllegalStateException("boom"));
+            }
+            return "ok";
+        })).isInstanceOf(WorkflowExecutionException.class)
+                .satisfies(e -> assertThat(((WorkflowExecutionException) e).getNodeId()).isEqualTo("b"));
+    }
+
+    @Test
+    void remoteStepsRunBehindSeda() throws Exception {
+        CamelWorkflowRoutes routes = new CamelWorkflowRoutes(camelContext, 2);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        Object result = run(routes, plan(1), (p, step, input, file, failure, trace) -> {
+            if (step.getNode() instanceof ConnectorNode) threads.add(Thread.currentThread().getName());
+            return step.getNode().getId().equals("out") ? input : "x";
+        });
+
+        assertThat(result).isEqualTo("x");
+        assertThat(camelContext.getRoute("workflow-wf-v1-node-a").getEndpoint().getEndpointUri()).startsWith("seda:");
+        assertThat(threads).noneMatch(name -> name.equals(Thread.currentThread().getName()));
+    }
+
+    @Test
+    void removedVersionRouteIsStopped() throws Exception {
+        CamelWorkflowRoutes routes = new CamelWorkflowRoutes(camelContext, 0);
+        routes.onSaved(new WorkflowSavedEvent(plan(1)));
+        routes.onSaved(new WorkflowSavedEvent(plan(2)));
+
+        routes.onRemoved(new WorkflowVersionRemovedEvent("wf", 1));
+
+        assertThat(routes.routeCount()).isEqualTo(1);
+        routes.shutdown();
+        assertThat(camelContext.getRoute("workflow-wf-v1")).isNull();
+        assertThat(camelContext.getRoute("workflow-wf-v2")).isNotNull();
+    }
+
+    @Test
+    void removedVersionIsNotRebuiltByInFlightExecution() throws Exception {
+        CamelWorkflowRoutes routes = new CamelWorkflowRoutes(camelContext, 0);
+        ExecutionPlan plan = plan(1);
+        routes.onSaved(new WorkflowSavedEvent(plan));
+        routes.onRemoved(new WorkflowVersionRemovedEvent("wf", 1));
+
+        // 제거 전에 계획을 가져온 실행 - route 없이 Step을 순서대로 실행
+        Object result = run(routes, plan, (p, step, input, file, failure, trace) ->
+                step.getNode().getId().equals("out") ? input : step.getNode().getId());
+
+        assertThat(result).isEqualTo(Map.of("a", "a", "b", "b"));
+        assertThat(routes.routeCount()).isZero();
+        routes.shutdown();
+        assertThat(camelContext.getRoutes()).isEmpty();
+    }
+
+    @Test
+    void failedBranchLetsRunningBranchFinishAndStopsDownstream() {
+        CamelWorkflowRoutes routes = new CamelWorkflowRoutes(camelContext, 0);
+        Set<String> ran = ConcurrentHashMap.newKeySet();
+        CountDownLatch bStarted = new CountDownLatch(1);
+
+        assertThatThrownBy(() -> run(routes, plan(1), (p, step, input, file, failure, trace) -> {
+            String id = step.getNode().getId();
+            if (id.equals("a")) {
+                await(bStarted);
+                throw new WorkflowExecutionException("a", new IllegalStateException("boom"));
+            }
+            if (id.equals("b")) {
+                bStarted.countDown();
+                sleep(200);
+            }
+            ran.add(id);
+            return "ok";
+        })).isInstanceOf(WorkflowExecutionException.class);
+
+        // 실행 중이던 b는 끝난 뒤 반환, out은 시작하지 않음
+        assertThat(ran).containsExactlyInAnyOrder("in", "b");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package upstage.gateway.workflow;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import upstage.gateway.workflow.input.InputNode;
+import upstage.gateway.workflow.model.Workflow;
+import upstage.gateway.workflow.output.OutputNode;
+import upstage.gateway.workflow.model.WorkflowEdge;
+import upstage.gateway.workflow.plan.ExecutionPlan;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkflowConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    private static ExecutionPlan plan(String id, Integer limit) {
+        Workflow workflow = new Workflow(id, null,
+                List.of(new InputNode("in", null, 0, 0), new OutputNode("out", null, 0, 0)),
+                List.of(new WorkflowEdge("e", "in", "out")));
+        workflow.setMaxConcurrentExecutions(limit);
+        return ExecutionPlan.compile(workflow);
+    }
+
+    @Test
+    void rejectsWhenWorkflowLimitReachedWithoutAffectingOthers() throws Exception {
+        WorkflowConcurrencyLimiter limiter = new WorkflowConcurrencyLimiter(new WorkflowMetrics(meters), 0, Duration.ofMillis(50));
+
+        Semaphore first = limiter.acquire(plan("busy", 1));
+        assertThatThrownBy(() -> limiter.acquire(plan("busy", 1))).isInstanceOf(WorkflowBusyException.class);
+        assertThat(limiter.acquire(plan("other", null))).isNull();
+        assertThat(meters.get("gateway.workflow.rejected").tag("workflow", "busy").counter().count()).isEqualTo(1);
+
+        first.release();
+        assertThat(limiter.acquire(plan("busy", 1))).isNotNull();
+    }
+
+    @Test
+    void defaultLimitAppliesWhenWorkflowHasNone() throws Exception {
+        WorkflowConcurrencyLimiter limiter = new WorkflowConcurrencyLimiter(new WorkflowMetrics(meters), 2, Duration.ofMillis(50));
+
+        limiter.acquire(plan("wf", null));
+        limiter.acquire(plan("wf", null));
+        assertThatThrownBy(() -> limiter.acquire(plan("wf", null))).isInstanceOf(WorkflowBusyException.class);
+        // 정의에서 제한을 늘리면 새 Semaphore로 교체
+        assertThat(limiter.acquire(plan("wf", 3))).isNotNull();
+    }
+}
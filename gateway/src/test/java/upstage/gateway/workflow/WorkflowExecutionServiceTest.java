@@ -0,0 +1,155 @@
+package upstage.gateway.workflow;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+import upstage.gateway.workflow.input.InputNode;
+import upstage.gateway.workflow.model.ExtractedDocument;
+import upstage.gateway.workflow.output.OutputNode;
+import upstage.gateway.workflow.plan.ExecutionPlan;
+import upstage.gateway.workflow.trace.ExecutionTrace;
+import upstage.gateway.workflow.trace.NodeTrace;
+import upstage.gateway.workflow.uie.UieNode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static upstage.gateway.workflow.WorkflowFixture.plan;
+import static upstage.gateway.workflow.WorkflowFixture.transform;
+
+class WorkflowExecutionServiceTest {
+
+    private WorkflowFixture fixture;
+    private WorkflowExecutionService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fixture = new WorkflowFixture();
+        service = fixture.executionService;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Test
+    void fanOutBranchesRunInParallel() throws Exception {
+        ExecutionPlan plan = plan(List.of(new InputNode("in", null, 0, 0), fixture.uie("uie"),
+                        fixture.connector("a", "/slow"), fixture.connector("b", "/slow"), new OutputNode("out", null, 0, 0)),
+                "in>uie", "uie>a", "uie>b", "a>out", "b>out");
+
+        Object result = service.runWorkflow(plan, null);
+
+        assertThat(fixture.slowMaxActive).hasValue(2);
+        assertThat(((ExtractedDocument) result).asMap()).containsEntry("name", "kim");
+    }
+
+    @Test
+    void fanInReceivesAllUpstreamResults() throws Exception {
+        ExecutionPlan plan = plan(List.of(new InputNode("in", null, 0, 0), fixture.uie("uie"),
+                        transform("t1", "name", "customer"), transform("t2", "amount", "total"),
+                        new OutputNode("out", null, 0, 0)),
+                "in>uie", "uie>t1", "uie>t2", "t1>out", "t2>out");
+
+        Object result = service.runWorkflow(plan, null);
+
+        assertThat(result).isInstanceOf(Map.class);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> joined = (Map<String, Object>) result;
+        assertThat(joined.keySet()).containsExactly("t1", "t2");
+        assertThat(((ExtractedDocument) joined.get("t1")).asMap()).containsEntry("customer", "kim");
+        assertThat(((ExtractedDocument) joined.get("t2")).asMap()).containsEntry("total", "100");
+        assertThat(fixture.uieCalls).hasValue(1);
+    }
+
+    @Test
+    void firstFailureFailsExecutionAfterRunningBranchesSettle() throws Exception {
+        ExecutionPlan plan = plan(List.of(new InputNode("in", null, 0, 0), fixture.uie("uie"),
+                        fixture.connector("bad", "/fail"), fixture.connector("slow", "/slow"),
+                        fixture.connector("after", "/slow"), new OutputNode("out", null, 0, 0)),
+                "in>uie", "uie>bad", "uie>slow", "bad>after", "slow>out", "after>out");
+
+        assertThatThrownBy(() -> service.runWorkflow(plan, null))
+                .isInstanceOfSatisfying(WorkflowExecutionException.class, e -> assertThat(e.getNodeId()).isEqualTo("bad"));
+
+        // 실행 중이던 분기는 끝난 뒤 반환, 실패 이후의 노드는 실행하지 않음
+        assertThat(fixture.slowFinished).hasValue(1);
+        ExecutionTrace recorded = fixture.traces.recent("wf").get(0);
+        assertThat(recorded.getNodeId()).isEqualTo("bad");
+        assertThat(recorded.getNodes()).extracting(NodeTrace::getNodeId).contains("slow").doesNotContain("after", "out");
+    }
+
+    private static MockMultipartFile file() {
+        return new MockMultipartFile("file", "doc.pdf", "application/pdf", "document".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String preview(WorkflowFixture fixture, String workflowId) {
+        ResponseEntity<?> preview = fixture.executionService.preview(workflowId, file());
+        assertThat(preview.getStatusCode().value()).isEqualTo(200);
+        return preview.getHeaders().getFirst(WorkflowExecutionService.PREVIEW_SESSION_HEADER);
+    }
+
+    @Test
+    void sessionTokenSkipsUieCall() {
+        fixture.saveUieWorkflow("wf");
+        String token = preview(fixture, "wf");
+
+        ResponseEntity<?> response = service.execute("wf", null, null, token, false);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(((ExtractedDocument) response.getBody()).asMap()).containsEntry("name", "kim");
+        assertThat(fixture.uieCalls).hasValue(1);
+    }
+
+    @Test
+    void unknownOrExpiredSessionIsGone() throws Exception {
+        fixture.saveUieWorkflow("wf");
+        assertThat(service.execute("wf", null, null, "unknown", false).getStatusCode().value()).isEqualTo(410);
+
+        try (WorkflowFixture shortLived = new WorkflowFixture(Duration.ofMillis(50))) {
+            shortLived.saveUieWorkflow("wf");
+            String token = preview(shortLived, "wf");
+            Thread.sleep(100);
+
+            assertThat(shortLived.executionService.execute("wf", null, null, token, false).getStatusCode().value()).isEqualTo(410);
+            assertThat(shortLived.uieCalls).hasValue(1);
+        }
+    }
+
+    @Test
+    void sessionIsRejectedForOtherWorkflowOrChangedUieRequest() {
+        fixture.saveUieWorkflow("wf");
+        fixture.saveUieWorkflow("other");
+        String token = preview(fixture, "wf");
+
+        assertThat(service.execute("other", null, null, token, false).getStatusCode().value()).isEqualTo(400);
+
+        // 새 버전의 UIE 호출 설정이 다르면 미리보기 응답을 쓸 수 없음
+        UieNode changed = fixture.uie("uie");
+        changed.getConfig().setFormFields(Map.of("model", "v2"));
+        fixture.workflowService.save(WorkflowFixture.workflow("wf",
+                List.of(new InputNode("in", null, 0, 0), changed, new OutputNode("out", null, 0, 0)), "in>uie", "uie>out"));
+        assertThat(service.execute("wf", 2L, null, token, false).getStatusCode().value()).isEqualTo(400);
+
+        // 호출 설정이 같은 이전 버전은 재사용 (파싱만 다시)
+        assertThat(service.execute("wf", 1L, null, token, false).getStatusCode().value()).isEqualTo(200);
+        assertThat(fixture.uieCalls).hasValue(1);
+    }
+
+    @Test
+    void uploadedFileWinsOverSessionToken() {
+        fixture.saveUieWorkflow("wf");
+
+        ResponseEntity<?> response = service.execute("wf", null, file(), "unknown", false);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(fixture.uieCalls).hasValue(1);
+    }
+}
@@ -0,0 +1,201 @@
+package upstage.gateway.workflow;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.util.unit.DataSize;
+import upstage.gateway.config.HttpClientProperties;
+import upstage.gateway.config.HttpClientRegistry;
+import upstage.gateway.config.RestTemplateConfig;
+import upstage.gateway.workflow.connector.ConnectorDeliveryService;
+import upstage.gateway.workflow.connector.ConnectorNode;
+import upstage.gateway.workflow.connector.ConnectorNodeConfig;
+import upstage.gateway.workflow.input.InputNode;
+import upstage.gateway.workflow.model.Workflow;
+import upstage.gateway.workflow.model.WorkflowEdge;
+import upstage.gateway.workflow.model.WorkflowNode;
+import upstage.gateway.workflow.output.OutputNode;
+import upstage.gateway.workflow.plan.ExecutionPlan;
+import upstage.gateway.workflow.resilience.ResilienceRegistry;
+import upstage.gateway.workflow.store.InMemoryWorkflowStore;
+import upstage.gateway.workflow.trace.ExecutionTraceStore;
+import upstage.gateway.workflow.transform.FieldMapping;
+import upstage.gateway.workflow.transform.TransformNode;
+import upstage.gateway.workflow.transform.TransformNodeConfig;
+import upstage.gateway.workflow.uie.PreviewSessionStore;
+import upstage.gateway.workflow.uie.UieCallCoalescer;
+import upstage.gateway.workflow.uie.UieNode;
+import upstage.gateway.workflow.uie.UieNodeConfig;
+import upstage.gateway.workflow.uie.UieResponseCache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 실행 테스트용 stub 서버 + 실제 구성의 WorkflowExecutionService (같은 JVM)
+ * - /uie: 고정 UIE 응답, 업로드 내용에 FAIL이 있으면 500, DELAY=ms가 있으면 그만큼 지연
+ * - /slow: 300ms 후 200, /fail: 500
+ */
+public final class WorkflowFixture implements AutoCloseable {
+
+    public static final String UIE_RESPONSE = """
+            {"fields":[{"key":"name","value":"kim"},{"key":"amount","value":"100"}]}""";
+
+    private static final Pattern DELAY = Pattern.compile("DELAY=(\\d+)");
+
+    public final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    public final AtomicInteger uieCalls = new AtomicInteger();
+    public final AtomicInteger uieMaxActive = new AtomicInteger();
+    /** 마지막 UIE 요청 본문 크기 (multipart 전체) */
+    public final AtomicLong uieRequestBytes = new AtomicLong();
+    public final AtomicInteger slowMaxActive = new AtomicInteger();
+    public final AtomicInteger slowFinished = new AtomicInteger();
+    public final ExecutionTraceStore traces = new ExecutionTraceStore(10);
+    public final Path dataDir;
+    public final WorkflowService workflowService;
+    public final WorkflowExecutionService executionService;
+
+    private final AtomicInteger uieActive = new AtomicInteger();
+    private final AtomicInteger slowActive = new AtomicInteger();
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+    private final HttpServer server;
+    private final HttpClientRegistry httpClients;
+
+    public WorkflowFixture() throws Exception {
+        this(Duration.ofMinutes(1));
+    }
+
+    /** previewTtl: 미리보기 세션 유효 시간 */
+    public WorkflowFixture(Duration previewTtl) throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/uie", this::uie);
+        server.createContext("/slow", exchange -> {
+            slowMaxActive.accumulateAndGet(slowActive.incrementAndGet(), Math::max);
+            sleep(300);
+            slowActive.decrementAndGet();
+            slowFinished.incrementAndGet();
+            respond(exchange, 200, "{}");
+        });
+        server.createContext("/fail", exchange -> respond(exchange, 500, "{}"));
+        server.start();
+
+        dataDir = Files.createTempDirectory("workflow-fixture");
+        WorkflowMetrics metrics = new WorkflowMetrics(meters);
+        httpClients = new RestTemplateConfig().httpClientRegistry(new HttpClientProperties(), meters);
+        workflowService = new WorkflowService(new InMemoryWorkflowStore(), 2);
+        executionService = new WorkflowExecutionService(
+                workflowService,
+                httpClients,
+                new ResilienceRegistry(),
+                new ConnectorDeliveryService(httpClients, workflowService, meters, dataDir.toString(), false, 100, DataSize.ofMegabytes(1), Duration.ofSeconds(1), Duration.ofMinutes(1)),
+                new UieResponseCache(meters, DataSize.ofMegabytes(1), Duration.ofMinutes(1), false, dataDir.toString(), DataSize.ofMegabytes(1)),
+                new UieCallCoalescer(meters, false),
+                new PreviewSessionStore(meters, DataSize.ofMegabytes(1), previewTtl),
+                metrics,
+                traces,
+                new WorkflowConcurrencyLimiter(metrics, 0, Duration.ofSeconds(1)),
+                Optional.empty(),
+                4,
+                false);
+    }
+
+    private void uie(HttpExchange exchange) throws IOException {
+        uieCalls.incrementAndGet();
+        uieMaxActive.accumulateAndGet(uieActive.incrementAndGet(), Math::max);
+        try {
+            byte[] request = exchange.getRequestBody().readAllBytes();
+            uieRequestBytes.set(request.length);
+            String body = new String(request, StandardCharsets.ISO_8859_1);
+            Matcher delay = DELAY.matcher(body);
+            if (delay.find()) sleep(Long.parseLong(delay.group(1)));
+            respond(exchange, body.contains("FAIL") ? 500 : 200, UIE_RESPONSE);
+        } finally {
+            uieActive.decrementAndGet();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+    }
+
+    public String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    public UieNode uie(String id) {
+        UieNodeConfig config = new UieNodeConfig();
+        config.setUrl(url("/uie"));
+        return new UieNode(id, null, 0, 0, config);
+    }
+
+    public ConnectorNode connector(String id, String path) {
+        ConnectorNodeConfig config = new ConnectorNodeConfig();
+        config.setUrl(url(path));
+        return new ConnectorNode(id, null, 0, 0, config);
+    }
+
+    public static TransformNode transform(String id, String sourceKey, String targetPath) {
+        TransformNodeConfig config = new TransformNodeConfig();
+        config.setFieldMappings(List.of(new FieldMapping(sourceKey, targetPath)));
+        return new TransformNode(id, null, 0, 0, config);
+    }
+
+    /** 노드 목록 + "from>to" 형식 간선 */
+    public static Workflow workflow(String id, List<WorkflowNode> nodes, String... edges) {
+        List<WorkflowEdge> links = new ArrayList<>();
+        for (String edge : edges) {
+            String[] ends = edge.split(">");
+            links.add(new WorkflowEdge(edge, ends[0], ends[1]));
+        }
+        return new Workflow(id, null, nodes, links);
+    }
+
+    public static ExecutionPlan plan(List<WorkflowNode> nodes, String... edges) {
+        Workflow workflow = workflow("wf", nodes, edges);
+        workflow.setVersion(1L);
+        return ExecutionPlan.compile(workflow);
+    }
+
+    /** input → uie → output 저장 */
+    public Workflow saveUieWorkflow(String id) {
+        return workflowService.save(workflow(id,
+                List.of(new InputNode("in", null, 0, 0), uie("uie"), new OutputNode("out", null, 0, 0)),
+                "in>uie", "uie>out"));
+    }
+
+    @Override
+    public void close() throws Exception {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        httpClients.destroy();
+    }
+}
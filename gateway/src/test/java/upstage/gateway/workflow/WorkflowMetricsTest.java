@@ -0,0 +1,79 @@
+package upstage.gateway.workflow;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkflowMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final WorkflowMetrics metrics = new WorkflowMetrics(registry);
+
+    @Test
+    void executionTimerAndInflightGauge() {
+        long start = metrics.executionStarted("wf");
+        assertThat(registry.get("gateway.workflow.inflight").tag("workflow", "wf").gauge().value()).isEqualTo(1);
+
+        metrics.executionFinished("wf", start, null);
+        metrics.executionFinished("wf", metrics.executionStarted("wf"), new IllegalStateException());
+
+        assertThat(registry.get("gateway.workflow.inflight").tag("workflow", "wf").gauge().value()).isZero();
+        assertThat(registry.get("gateway.workflow.executions").tags("workflow", "wf", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get("gateway.workflow.executions").tags("workflow", "wf", "outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void nodeFailureCountsUnwrappedCause() {
+        metrics.nodeFinished("wf", "uie", System.nanoTime(), null);
+        metrics.nodeFinished("wf", "uie", System.nanoTime(),
+                new WorkflowExecutionException("uie-1", new CompletionException(new IllegalArgumentException())));
+
+        assertThat(registry.get("gateway.workflow.nodes").tags("workflow", "wf", "type", "uie", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get("gateway.workflow.nodes").tags("workflow", "wf", "type", "uie", "outcome", "error").timer().count()).isEqualTo(1);
+        assertThat(registry.get("gateway.workflow.errors").tags("workflow", "wf", "type", "uie", "cause", "IllegalArgumentException")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void operationsPayloadsAndRejections() {
+        metrics.operation("wf", "uie.call", System.nanoTime());
+        metrics.operation("wf", "uie.call", System.nanoTime());
+        metrics.payload("wf", "upload", 1024);
+        metrics.payload("wf", "upload", -1);
+        metrics.rejected("wf", "rate");
+
+        assertThat(registry.get("gateway.workflow.operations").tags("workflow", "wf", "operation", "uie.call").timer().count()).isEqualTo(2);
+        var upload = registry.get("gateway.workflow.payload").tags("workflow", "wf", "kind", "upload").summary();
+        assertThat(upload.count()).isEqualTo(1);
+        assertThat(upload.totalAmount()).isEqualTo(1024);
+        assertThat(registry.get("gateway.workflow.rejected").tags("workflow", "wf", "reason", "rate").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void removeUnregistersWorkflowMeters() {
+        metrics.executionFinished("wf", metrics.executionStarted("wf"), null);
+        metrics.nodeFinished("wf", "uie", System.nanoTime(), new IllegalStateException());
+        metrics.operation("wf", "uie.call", System.nanoTime());
+        metrics.payload("wf", "upload", 10);
+        metrics.rejected("wf", "rate");
+        metrics.executionFinished("other", metrics.executionStarted("other"), null);
+        long running = metrics.executionStarted("busy");
+
+        metrics.remove("wf");
+        metrics.remove("busy");
+
+        assertThat(registry.find("gateway.workflow.executions").tag("workflow", "wf").meters()).isEmpty();
+        assertThat(registry.getMeters()).noneMatch(m -> "wf".equals(m.getId().getTag("workflow")));
+        assertThat(registry.find("gateway.workflow.executions").tag("workflow", "other").meters()).hasSize(1);
+        // 실행 중인 요청이 끝날 때까지 inflight gauge 유지
+        assertThat(registry.get("gateway.workflow.inflight").tag("workflow", "busy").gauge().value()).isEqualTo(1);
+        metrics.executionFinished("busy", running, null);
+
+        // 같은 id로 다시 만들면 새 Meter로 기록
+        metrics.executionFinished("wf", metrics.executionStarted("wf"), null);
+        assertThat(registry.get("gateway.workflow.executions").tags("workflow", "wf", "outcome", "success").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,106 @@
+package upstage.gateway.workflow;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import upstage.gateway.workflow.input.InputNode;
+import upstage.gateway.workflow.model.Workflow;
+import upstage.gateway.workflow.model.WorkflowEdge;
+import upstage.gateway.workflow.model.WorkflowNode;
+import upstage.gateway.workflow.output.OutputNode;
+import upstage.gateway.workflow.plan.ExecutionPlan;
+import upstage.gateway.workflow.store.FileWorkflowStore;
+import upstage.gateway.workflow.store.InMemoryWorkflowStore;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkflowServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private static Workflow workflow(String name) {
+        List<WorkflowNode> nodes = new ArrayList<>(List.of(new InputNode("in", null, 0, 0), new OutputNode("out", null, 0, 0)));
+        List<WorkflowEdge> edges = new ArrayList<>(List.of(new WorkflowEdge("e", "in", "out")));
+        return new Workflow("wf", name, nodes, edges);
+    }
+
+    @Test
+    void saveCreatesNewVersionAndKeepsPreviousPlan() throws Exception {
+        WorkflowService service = new WorkflowService(new InMemoryWorkflowStore(), 20);
+        Workflow first = service.save(workflow("first"));
+        ExecutionPlan running = service.findPlan("wf").orElseThrow();
+
+        Workflow edited = workflow("second");
+        edited.setVersion(99L);
+        Workflow second = service.save(edited);
+        edited.getNodes().clear();
+
+        assertThat(first.getVersion()).isEqualTo(1L);
+        assertThat(second.getVersion()).isEqualTo(2L);
+        assertThat(service.findById("wf").orElseThrow().getName()).isEqualTo("second");
+        assertThat(service.findById("wf").orElseThrow().getNodes()).hasSize(2);
+        assertThat(running.getVersion()).isEqualTo(1L);
+        assertThat(running.getWorkflow().getName()).isEqualTo("first");
+        assertThat(service.findPlan("wf", 1L).orElseThrow()).isSameAs(running);
+        assertThat(service.findPlan("wf", 3L)).isEmpty();
+    }
+
+    @Test
+    void keepsOnlyRetainedVersionsAndRestoresAsNewVersion() throws Exception {
+        WorkflowService service = new WorkflowService(new InMemoryWorkflowStore(), 2);
+        service.save(workflow("v1"));
+        service.save(workflow("v2"));
+        service.save(workflow("v3"));
+
+        assertThat(service.findVersions("wf")).extracting(Workflow::getVersion).containsExactly(3L, 2L);
+        assertThat(service.findById("wf", 1)).isEmpty();
+
+        Workflow restored = service.restore("wf", 2).orElseThrow();
+        assertThat(restored.getVersion()).isEqualTo(4L);
+        assertThat(restored.getName()).isEqualTo("v2");
+    }
+
+    @Test
+    void failedWriteIsNotVisible() throws Exception {
+        AtomicBoolean fail = new AtomicBoolean();
+        WorkflowService service = new WorkflowService(new InMemoryWorkflowStore() {
+            @Override
+            public CompletableFuture<Void> put(Workflow workflow) {
+                return fail.get() ? CompletableFuture.failedFuture(new IOException("disk full")) : super.put(workflow);
+            }
+        }, 20);
+        service.save(workflow("v1"));
+
+        fail.set(true);
+        assertThatThrownBy(() -> service.save(workflow("v2"))).hasRootCauseMessage("disk full");
+        assertThat(service.findVersions("wf")).extracting(Workflow::getName).containsExactly("v1");
+        assertThat(service.findPlan("wf").orElseThrow().getVersion()).isEqualTo(1L);
+
+        // 실패한 버전 번호는 다시 쓰지 않음
+        fail.set(false);
+        assertThat(service.save(workflow("v3")).getVersion()).isEqualTo(3L);
+    }
+
+    @Test
+    void reloadsVersionsFromStore() throws Exception {
+        try (FileWorkflowStore store = new FileWorkflowStore(dir, false, 1 << 20)) {
+            WorkflowService service = new WorkflowService(store, 2);
+            service.save(workflow("v1"));
+            service.save(workflow("v2"));
+            service.save(workflow("v3"));
+        }
+        try (FileWorkflowStore store = new FileWorkflowStore(dir, false, 1 << 20)) {
+            WorkflowService service = new WorkflowService(store, 2);
+            assertThat(service.findVersions("wf")).extracting(Workflow::getName).containsExactly("v3", "v2");
+            assertThat(service.findPlan("wf").orElseThrow().getVersion()).isEqualTo(3L);
+        }
+    }
+}
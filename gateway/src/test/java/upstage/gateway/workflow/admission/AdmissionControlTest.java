@@ -0,0 +1,107 @@
+package upstage.gateway.workflow.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import upstage.gateway.workflow.WorkflowMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    private AdmissionControl admission(double workflowRate, int workflowBurst, double globalRate, int maxInFlight, int maxQueue, Duration maxQueueTime) {
+        return new AdmissionControl(new WorkflowMetrics(meters), meters,
+                workflowRate, workflowBurst, globalRate, 0, maxInFlight, maxQueue, maxQueueTime);
+    }
+
+    @Test
+    void tokenBucketAllowsBurstThenPacesAtRate() {
+        long now = 0;
+        TokenBucket bucket = new TokenBucket(10, 3, now);
+
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertThat(bucket.tryAcquire(now + TimeUnit.MILLISECONDS.toNanos(100))).isZero();
+        // 오래 쉬어도 burst 이상 쌓이지 않음
+        long later = now + TimeUnit.SECONDS.toNanos(10);
+        for (int i = 0; i < 3; i++) assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    void rejectsPerWorkflowRateWithoutAffectingOtherWorkflows() throws Exception {
+        AdmissionControl admission = admission(1, 0, 0, 0, 0, Duration.ZERO);
+
+        admission.acquire("busy", null).release();
+        assertThatThrownBy(() -> admission.acquire("busy", null))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class, e -> {
+                    assertThat(e.getReason()).isEqualTo("rate");
+                    assertThat(e.getRetryAfterSeconds()).isEqualTo(1);
+                });
+        admission.acquire("other", null).release();
+        // 정의의 값이 기본값보다 우선 (burst 미설정 = 1초 분량)
+        admission.acquire("fast", 1000.0).release();
+        admission.acquire("fast", 1000.0).release();
+
+        assertThat(meters.get("gateway.workflow.rejected").tag("workflow", "busy").tag("reason", "rate").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void globalRejectionRefundsWorkflowToken() throws Exception {
+        AdmissionControl admission = new AdmissionControl(new WorkflowMetrics(meters), meters, 1, 0, 2, 2, 0, 0, Duration.ZERO);
+        admission.acquire("a", null).release();
+        admission.acquire("b", null).release();
+        assertThatThrownBy(() -> admission.acquire("c", null))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class, e -> assertThat(e.getReason()).isEqualTo("global-rate"));
+
+        // 전체 token은 0.5초마다 생김 - c의 Workflow token이 남아 있으면 1초를 기다리지 않고 수락
+        Thread.sleep(600);
+        admission.acquire("c", null).release();
+    }
+
+    @Test
+    void queuesUpToLimitThenRejectsImmediately() throws Exception {
+        AdmissionControl admission = admission(0, 0, 0, 1, 1, Duration.ofSeconds(5));
+
+        AdmissionControl.Permit running = admission.acquire("wf", null);
+        CompletableFuture<AdmissionControl.Permit> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return admission.acquire("wf", null);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (meters.get("gateway.admission.queued").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> admission.acquire("wf", null))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class, e -> assertThat(e.getReason()).isEqualTo("queue-full"));
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+
+        running.release();
+        running.release();
+        waiting.get(5, TimeUnit.SECONDS).release();
+        assertThat(meters.get("gateway.admission.inflight").gauge().value()).isZero();
+    }
+
+    @Test
+    void queuedRequestTimesOut() throws Exception {
+        AdmissionControl admission = admission(0, 0, 0, 1, 10, Duration.ofMillis(50));
+
+        admission.acquire("wf", null);
+        assertThatThrownBy(() -> admission.acquire("wf", null))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class, e -> assertThat(e.getReason()).isEqualTo("queue-timeout"));
+        assertThat(meters.get("gateway.admission.queued").gauge().value()).isZero();
+    }
+}
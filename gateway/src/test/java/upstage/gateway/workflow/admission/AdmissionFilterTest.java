@@ -0,0 +1,77 @@
+package upstage.gateway.workflow.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import upstage.gateway.workflow.WorkflowMetrics;
+import upstage.gateway.workflow.WorkflowService;
+import upstage.gateway.workflow.model.Workflow;
+import upstage.gateway.workflow.store.InMemoryWorkflowStore;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionFilterTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final WorkflowService workflowService;
+    private final AdmissionFilter filter;
+
+    AdmissionFilterTest() throws Exception {
+        workflowService = new WorkflowService(new InMemoryWorkflowStore(), 2);
+        AdmissionControl admission = new AdmissionControl(new WorkflowMetrics(meters), meters, 1, 1, 0, 0, 0, 0, Duration.ZERO);
+        filter = new AdmissionFilter(admission, workflowService);
+    }
+
+    private MockHttpServletResponse post(String path, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", path), response, chain);
+        return response;
+    }
+
+    @Test
+    void rateLimitsExistingWorkflow() throws Exception {
+        workflowService.save(new Workflow("wf", null, List.of(), List.of()));
+
+        MockFilterChain admitted = new MockFilterChain();
+        post("/workflows/wf/execute", admitted);
+        assertThat(admitted.getRequest()).isNotNull();
+
+        MockFilterChain rejectedChain = new MockFilterChain();
+        MockHttpServletResponse rejected = post("/workflows/wf/execute", rejectedChain);
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejectedChain.getRequest()).isNull();
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    void unknownWorkflowIsNotFoundWithoutBucketOrMeter() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            assertThat(post("/workflows/missing/execute", chain).getStatus()).isEqualTo(404);
+            assertThat(chain.getRequest()).isNull();
+        }
+
+        assertThat(meters.find("gateway.workflow.rejected").counters()).isEmpty();
+    }
+
+    @Test
+    void previewJobsAndBatchShareWorkflowRate() throws Exception {
+        workflowService.save(new Workflow("wf", null, List.of(), List.of()));
+
+        MockFilterChain admitted = new MockFilterChain();
+        post("/workflows/wf/jobs", admitted);
+        assertThat(admitted.getRequest()).isNotNull();
+        assertThat(post("/workflows/wf/preview", new MockFilterChain()).getStatus()).isEqualTo(429);
+        assertThat(post("/workflows/wf/batch", new MockFilterChain()).getStatus()).isEqualTo(429);
+
+        // 조회와 다른 경로는 제한하지 않음
+        MockFilterChain other = new MockFilterChain();
+        post("/workflows/jobs/123", other);
+        assertThat(other.getRequest()).isNotNull();
+    }
+}
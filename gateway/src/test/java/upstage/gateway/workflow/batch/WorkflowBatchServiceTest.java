@@ -0,0 +1,132 @@
+package upstage.gateway.workflow.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import upstage.gateway.workflow.WorkflowFixture;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkflowBatchServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private WorkflowFixture fixture;
+    private WorkflowBatchService batch;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fixture = new WorkflowFixture();
+        fixture.saveUieWorkflow("wf");
+        batch = new WorkflowBatchService(fixture.workflowService, fixture.executionService, MAPPER, 4, 8, DataSize.ofBytes(0),
+                8, DataSize.ofKilobytes(64), DataSize.ofKilobytes(100));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        batch.shutdown();
+        fixture.close();
+    }
+
+    private static MockMultipartFile file(String name, String content) {
+        return new MockMultipartFile("files", name, "application/pdf", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MockMultipartFile zip(String name, Map<String, String> entries) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return new MockMultipartFile("files", name, "application/zip", bytes.toByteArray());
+    }
+
+    /** NDJSON 응답을 줄 단위로 */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> run(List<MultipartFile> files, Integer parallelism) throws Exception {
+        ResponseEntity<StreamingResponseBody> response = batch.execute("wf", files, parallelism);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        List<Map<String, Object>> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(MAPPER.readValue(line, Map.class));
+        }
+        return lines;
+    }
+
+    @Test
+    void linesAreWrittenInCompletionOrder() throws Exception {
+        List<Map<String, Object>> lines = run(List.of(file("slow.pdf", "DELAY=400"), file("fast.pdf", "fast")), 2);
+
+        assertThat(lines).extracting(line -> line.get("filename")).containsExactly("fast.pdf", "slow.pdf");
+        assertThat(lines).extracting(line -> line.get("index")).containsExactly(1, 0);
+        assertThat(lines).allSatisfy(line -> assertThat(line).containsEntry("status", "SUCCEEDED"));
+    }
+
+    @Test
+    void zipEntriesAreProcessedAsDocuments() throws Exception {
+        MockMultipartFile archive = zip("docs.zip", Map.of("a.pdf", "a", "dir/b.pdf", "b", "__MACOSX/._a.pdf", "meta"));
+
+        List<Map<String, Object>> lines = run(List.of(archive, file("c.pdf", "c")), null);
+
+        assertThat(lines).extracting(line -> line.get("filename")).containsExactlyInAnyOrder("a.pdf", "b.pdf", "c.pdf");
+        assertThat(fixture.uieCalls).hasValue(3);
+    }
+
+    @Test
+    void parallelismBoundsConcurrentDocuments() throws Exception {
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < 6; i++) files.add(file("doc" + i + ".pdf", "DELAY=150"));
+
+        List<Map<String, Object>> lines = run(files, 2);
+
+        assertThat(lines).hasSize(6);
+        assertThat(fixture.uieMaxActive.get()).isBetween(1, 2);
+    }
+
+    @Test
+    void failedDocumentDoesNotAbortBatch() throws Exception {
+        List<Map<String, Object>> lines = run(List.of(file("bad.pdf", "FAIL"), file("good.pdf", "ok")), 1);
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).containsEntry("filename", "bad.pdf").containsEntry("status", "FAILED").containsEntry("nodeId", "uie");
+        assertThat(lines.get(1)).containsEntry("filename", "good.pdf").containsEntry("status", "SUCCEEDED");
+    }
+
+    @Test
+    void rejectsZipOverLimitsBeforeProcessing() throws Exception {
+        String large = "x".repeat(65 * 1024);
+        String half = "x".repeat(60 * 1024);
+
+        Map<String, String> many = new HashMap<>();
+        for (int i = 0; i < 9; i++) many.put("doc" + i + ".pdf", "x");
+        assertThat(batch.execute("wf", List.of(zip("many.zip", many)), null).getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(batch.execute("wf", List.of(zip("large.zip", Map.of("a.pdf", large))), null)
+                .getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(batch.execute("wf", List.of(zip("total.zip", Map.of("a.pdf", half, "b.pdf", half))), null)
+                .getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(batch.execute("wf", List.of(new MockMultipartFile("files", "broken.zip", "application/zip", new byte[]{'P', 'K', 3, 4, 0})), null)
+                .getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(fixture.uieCalls).hasValue(0);
+    }
+}
@@ -0,0 +1,240 @@
+package upstage.gateway.workflow.connector;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import upstage.gateway.config.HttpClientProperties;
+import upstage.gateway.config.RestTemplateConfig;
+import org.springframework.util.unit.DataSize;
+import upstage.gateway.workflow.WorkflowService;
+import upstage.gateway.workflow.WorkflowVersionRemovedEvent;
+import upstage.gateway.workflow.model.Workflow;
+import upstage.gateway.workflow.store.InMemoryWorkflowStore;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectorDeliveryServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile int status = 200;
+    private DataSize maxPending = DataSize.ofMegabytes(1);
+    private HttpServer server;
+    private ConnectorNodeConfig config;
+    private SimpleMeterRegistry meters;
+    private WorkflowService workflows;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/erp", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            authorizations.add(String.valueOf(exchange.getRequestHeaders().getFirst("Authorization")));
+            int code = body.contains("bad") ? 400 : status;
+            if (code == 200) received.add(body);
+            exchange.sendResponseHeaders(code, -1);
+            exchange.close();
+        });
+        server.createContext("/stuck", exchange -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        config = connector("/erp");
+        config.setHeaders(Map.of("Authorization", "Bearer secret-token"));
+        workflows = new WorkflowService(new InMemoryWorkflowStore(), 1);
+        workflows.save(new Workflow("wf", null, List.of(new ConnectorNode("erp", null, 0, 0, config)), List.of()));
+    }
+
+    @AfterEach
+    void stopStub() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    private ConnectorNodeConfig connector(String path) {
+        ConnectorNodeConfig connector = new ConnectorNodeConfig();
+        connector.setUrl("http://127.0.0.1:" + server.getAddress().getPort() + path);
+        connector.setDelivery("async");
+        connector.setBatchSize(2);
+        return connector;
+    }
+
+    private ConnectorDeliveryService newService() throws Exception {
+        var registry = new RestTemplateConfig().httpClientRegistry(new HttpClientProperties(), new SimpleMeterRegistry());
+        meters = new SimpleMeterRegistry();
+        return new ConnectorDeliveryService(registry, workflows, meters, dir.toString(), false, 100,
+                maxPending, Duration.ZERO, Duration.ZERO);
+    }
+
+    private double records(String result) {
+        return meters.get("gateway.connector.delivery.records").tag("result", result).counter().count();
+    }
+
+    @Test
+    void batchesPendingRecordsIntoArrays() throws Exception {
+        ConnectorDeliveryService service = newService();
+        service.enqueue("wf", "erp", config, "{\"n\":1}");
+        service.enqueue("wf", "erp", config, "{\"n\":2}");
+        service.enqueue("wf", "erp", config, "{\"n\":3}");
+
+        service.dispatchAll().join();
+
+        assertThat(received).containsExactly("[{\"n\":1},{\"n\":2}]", "[{\"n\":3}]");
+        assertThat(records("delivered")).isEqualTo(3);
+        service.shutdown();
+    }
+
+    @Test
+    void keepsRecordsAcrossFailureAndRestart() throws Exception {
+        status = 503;
+        ConnectorDeliveryService service = newService();
+        service.enqueue("wf", "erp", config, "{\"n\":1}");
+        service.dispatchAll().join();
+        assertThat(records("retried")).isEqualTo(1);
+        service.shutdown();
+        assertThat(received).isEmpty();
+
+        status = 200;
+        ConnectorDeliveryService restarted = newService();
+        restarted.enqueue("wf", "erp", config, "{\"n\":2}");
+        restarted.dispatchAll().join();
+
+        assertThat(received).containsExactly("[{\"n\":1},{\"n\":2}]");
+        restarted.shutdown();
+    }
+
+    @Test
+    void rejectedBatchIsDeadLetteredAndLaterRecordsAreDelivered() throws Exception {
+        config.setBatchSize(1);
+        ConnectorDeliveryService service = newService();
+        service.enqueue("wf", "erp", config, "{\"n\":\"bad\"}");
+        service.enqueue("wf", "erp", config, "{\"n\":2}");
+
+        service.dispatchAll().join();
+
+        assertThat(received).containsExactly("[{\"n\":2}]");
+        assertThat(records("dead_lettered")).isEqualTo(1);
+        try (Stream<Path> files = Files.list(dir)) {
+            Path dead = files.filter(p -> p.toString().endsWith(".dead")).findFirst().orElseThrow();
+            assertThat(Files.readString(dead)).isEqualTo("{\"n\":\"bad\"}\n");
+        }
+        service.shutdown();
+    }
+
+    @Test
+    void headersAreResolvedAtSendAndNotWrittenToLog() throws Exception {
+        ConnectorDeliveryService service = newService();
+        service.enqueue("wf", "erp", config, "{\"n\":1}");
+
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                assertThat(Files.readString(file, StandardCharsets.ISO_8859_1)).doesNotContain("secret-token");
+            }
+        }
+
+        // 토큰이 바뀌면 다음 전송부터 새 값 사용
+        ConnectorNodeConfig rotated = connector("/erp");
+        rotated.setHeaders(Map.of("Authorization", "Bearer rotated"));
+        workflows.save(new Workflow("wf", null, List.of(new ConnectorNode("erp", null, 0, 0, rotated)), List.of()));
+        service.dispatchAll().join();
+
+        assertThat(authorizations).containsExactly("Bearer rotated");
+        service.shutdown();
+    }
+
+    @Test
+    void stuckDestinationDoesNotBlockOthers() throws Exception {
+        ConnectorDeliveryService service = newService();
+        service.enqueue("wf", "stuck", connector("/stuck"), "{\"n\":1}");
+        service.enqueue("wf", "erp", config, "{\"n\":2}");
+
+        var first = service.dispatchAll();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (received.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(received).containsExactly("[{\"n\":2}]");
+        assertThat(first).isNotDone();
+
+        release.countDown();
+        first.join();
+        service.shutdown();
+    }
+
+    @Test
+    void recordsOverPendingLimitAreDeadLettered() throws Exception {
+        maxPending = DataSize.ofBytes(10);
+        ConnectorDeliveryService service = newService();
+        service.enqueue("wf", "erp", config, "{\"n\":1}");
+        service.enqueue("wf", "erp", config, "{\"n\":2}");
+
+        service.dispatchAll().join();
+
+        assertThat(received).containsExactly("[{\"n\":1}]");
+        assertThat(records("dead_lettered")).isEqualTo(1);
+        try (Stream<Path> files = Files.list(dir)) {
+            Path dead = files.filter(p -> p.toString().endsWith(".dead")).findFirst().orElseThrow();
+            assertThat(Files.readString(dead)).isEqualTo("{\"n\":2}\n");
+        }
+        service.shutdown();
+    }
+
+    @Test
+    void removedNodeLogIsDeletedOnceDrained() throws Exception {
+        status = 503;
+        ConnectorDeliveryService service = newService();
+        service.enqueue("wf", "erp", config, "{\"n\":1}");
+        service.dispatchAll().join();
+
+        workflows.deleteById("wf");
+        service.onVersionRemoved(new WorkflowVersionRemovedEvent("wf", 1));
+        // 남은 레코드가 있으면 유지
+        assertThat(files(".log")).hasSize(1);
+
+        status = 200;
+        service.dispatchAll().join();
+        assertThat(received).containsExactly("[{\"n\":1}]");
+        assertThat(files(".log")).isEmpty();
+        assertThat(files(".json")).isEmpty();
+
+        // 이전 버전으로 실행 중이던 요청이 다시 기록하면 새로 열림
+        service.enqueue("wf", "erp", config, "{\"n\":2}");
+        service.dispatchAll().join();
+        assertThat(received).containsExactly("[{\"n\":1}]", "[{\"n\":2}]");
+        service.shutdown();
+    }
+
+    private List<Path> files(String suffix) throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.toString().endsWith(suffix)).toList();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package upstage.gateway.workflow.connector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeliveryLogTest {
+
+    @TempDir
+    Path dir;
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void fullCommitResetsOffsetBeforeEmptyingLog() throws Exception {
+        DeliveryLog log = DeliveryLog.open(dir, "k", true);
+        log.append(bytes("{\"n\":1}"));
+        log.append(bytes("{\"n\":2}"));
+        log.commit(log.read(10).end());
+
+        assertThat(Files.readString(dir.resolve("k.offset"))).isEqualTo("0");
+        assertThat(log.pendingBytes()).isZero();
+
+        log.append(bytes("{\"n\":3}"));
+        log.close();
+
+        // 재시작 후 새 레코드가 전송 완료로 건너뛰어지지 않음
+        DeliveryLog reopened = DeliveryLog.open(dir, "k", true);
+        assertThat(reopened.read(10).records()).extracting(r -> new String(r, StandardCharsets.UTF_8))
+                .containsExactly("{\"n\":3}");
+        reopened.close();
+    }
+
+    @Test
+    void partialCommitKeepsRemainingRecords() throws Exception {
+        DeliveryLog log = DeliveryLog.open(dir, "k", false);
+        log.append(bytes("{\"n\":1}"));
+        log.append(bytes("{\"n\":2}"));
+        log.commit(log.read(1).end());
+        log.close();
+
+        DeliveryLog reopened = DeliveryLog.open(dir, "k", false);
+        assertThat(reopened.read(10).records()).extracting(r -> new String(r, StandardCharsets.UTF_8))
+                .containsExactly("{\"n\":2}");
+        reopened.close();
+    }
+
+    @Test
+    void concurrentAppendsAreAllWritten() throws Exception {
+        DeliveryLog log = DeliveryLog.open(dir, "k", true);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> appends = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int n = i;
+                appends.add(executor.submit(() -> {
+                    log.append(bytes("{\"n\":" + n + "}"));
+                    return null;
+                }));
+            }
+            for (Future<?> append : appends) append.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        log.close();
+
+        DeliveryLog reopened = DeliveryLog.open(dir, "k", true);
+        assertThat(reopened.read(1000).records()).extracting(r -> new String(r, StandardCharsets.UTF_8))
+                .hasSize(200)
+                .contains("{\"n\":0}", "{\"n\":199}")
+                .doesNotHaveDuplicates();
+        reopened.close();
+    }
+}
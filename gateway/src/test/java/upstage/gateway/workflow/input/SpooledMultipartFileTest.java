@@ -0,0 +1,89 @@
+package upstage.gateway.workflow.input;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpooledMultipartFileTest {
+
+    /** 크기만큼 같은 바이트를 만들어내는 스트림 - 원본이 메모리에 올라가지 않음 */
+    static InputStream generated(long size) {
+        return new InputStream() {
+            private long remaining = size;
+
+            @Override
+            public int read() {
+                return remaining-- > 0 ? 'x' : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (remaining <= 0) return -1;
+                int n = (int) Math.min(len, remaining);
+                java.util.Arrays.fill(b, off, off + n, (byte) 'x');
+                remaining -= n;
+                return n;
+            }
+        };
+    }
+
+    /** getBytes()로 전체를 읽으면 실패하는 업로드 */
+    static MockMultipartFile streamOnly(long size) {
+        return new MockMultipartFile("file", "large.pdf", "application/pdf", new byte[0]) {
+            @Override
+            public long getSize() {
+                return size;
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return false;
+            }
+
+            @Override
+            public byte[] getBytes() {
+                throw new AssertionError("upload must be streamed, not buffered");
+            }
+
+            @Override
+            public InputStream getInputStream() {
+                return generated(size);
+            }
+        };
+    }
+
+    @Test
+    void largeUploadIsSpooledToDiskFromStreamAndDeleted() throws Exception {
+        long size = 8L * 1024 * 1024;
+        SpooledMultipartFile spooled = SpooledMultipartFile.spool(streamOnly(size), 64 * 1024);
+
+        assertThat(spooled.path()).isNotNull().exists();
+        assertThat(Files.size(spooled.path())).isEqualTo(size);
+        assertThat(spooled.getSize()).isEqualTo(size);
+        try (InputStream in = spooled.getInputStream()) {
+            assertThat(in.transferTo(OutputStream.nullOutputStream())).isEqualTo(size);
+        }
+
+        spooled.delete();
+        assertThat(spooled.path()).doesNotExist();
+    }
+
+    @Test
+    void unknownLengthStreamSwitchesToDiskAtThreshold() throws Exception {
+        SpooledMultipartFile small = SpooledMultipartFile.spool("file", "a.pdf", "application/pdf", generated(100), 1024);
+        SpooledMultipartFile large = SpooledMultipartFile.spool("file", "b.pdf", "application/pdf", generated(4096), 1024);
+
+        assertThat(small.path()).isNull();
+        assertThat(small.getBytes()).hasSize(100);
+        assertThat(large.path()).exists();
+        assertThat(large.getSize()).isEqualTo(4096);
+
+        large.delete();
+        assertThat(large.path()).doesNotExist();
+    }
+}
@@ -0,0 +1,93 @@
+package upstage.gateway.workflow.job;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+import upstage.gateway.workflow.WorkflowFixture;
+import upstage.gateway.workflow.model.ExtractedDocument;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkflowJobServiceTest {
+
+    private WorkflowFixture fixture;
+    private WorkflowJobService jobs;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fixture = new WorkflowFixture();
+        fixture.saveUieWorkflow("wf");
+        jobs = new WorkflowJobService(fixture.workflowService, fixture.executionService,
+                2, 10, Duration.ofMillis(100), DataSize.ofBytes(0));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        jobs.shutdown();
+        fixture.close();
+    }
+
+    private static MockMultipartFile file(String content) {
+        return new MockMultipartFile("file", "doc.pdf", "application/pdf", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** 완료될 때까지 조회 */
+    private WorkflowJob await(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        WorkflowJob job = jobs.findById(jobId).orElseThrow();
+        while (job.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return job;
+    }
+
+    @Test
+    void submitReturnsAcceptedAndPollingShowsResult() throws Exception {
+        ResponseEntity<?> response = jobs.submit("wf", file("DELAY=200"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        WorkflowJob submitted = (WorkflowJob) response.getBody();
+        assertThat(response.getHeaders().getLocation()).hasToString("/workflows/jobs/" + submitted.getJobId());
+        assertThat(submitted.getStatus()).isIn(WorkflowJob.Status.QUEUED, WorkflowJob.Status.RUNNING);
+        assertThat(submitted.getWorkflowVersion()).isEqualTo(1L);
+
+        WorkflowJob job = await(submitted.getJobId());
+        assertThat(job.getStatus()).isEqualTo(WorkflowJob.Status.SUCCEEDED);
+        assertThat(((ExtractedDocument) job.getResult()).asMap()).containsEntry("name", "kim");
+    }
+
+    @Test
+    void failedNodeIsReported() throws Exception {
+        WorkflowJob submitted = (WorkflowJob) jobs.submit("wf", file("FAIL")).getBody();
+
+        WorkflowJob job = await(submitted.getJobId());
+        assertThat(job.getStatus()).isEqualTo(WorkflowJob.Status.FAILED);
+        assertThat(job.getNodeId()).isEqualTo("uie");
+        assertThat(job.getError()).isNotBlank();
+    }
+
+    @Test
+    void finishedJobsExpireAfterTtl() throws Exception {
+        WorkflowJob submitted = (WorkflowJob) jobs.submit("wf", file("ok")).getBody();
+        await(submitted.getJobId());
+
+        jobs.evictExpired();
+        assertThat(jobs.findById(submitted.getJobId())).isPresent();
+
+        Thread.sleep(150);
+        jobs.evictExpired();
+        assertThat(jobs.findById(submitted.getJobId())).isEmpty();
+    }
+
+    @Test
+    void unknownWorkflowIsNotFound() {
+        assertThat(jobs.submit("missing", file("ok")).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,38 @@
+package upstage.gateway.workflow.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExtractedDocumentTest {
+
+    private final ExtractedDocument document = ExtractedDocument.of(Map.of(
+            "status", "ok",
+            "fields", List.of(
+                    Map.of("key", "amount", "value", "100"),
+                    Map.of("key", "amount", "value", "200", "refinedValue", "200.00"))));
+
+    @Test
+    void indexesFieldsByKey() {
+        assertThat(document.get("status")).isEqualTo("ok");
+        assertThat(document.hasField("amount")).isTrue();
+        assertThat(document.hasField("status")).isFalse();
+        assertThat(document.firstFieldValue("amount")).isEqualTo("100");
+        assertThat(document.lastFieldValue("amount")).isEqualTo("200.00");
+    }
+
+    @Test
+    void serializesOnceAndEmbedsAsJson() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        String json = document.toJson();
+
+        assertThat(document.toJson()).isSameAs(json);
+        assertThat(mapper.readTree(mapper.writeValueAsString(Map.of("result", document))))
+                .isEqualTo(mapper.readTree("{\"result\":" + json + "}"));
+        assertThat(ExtractedDocument.of(document)).isSameAs(document);
+    }
+}
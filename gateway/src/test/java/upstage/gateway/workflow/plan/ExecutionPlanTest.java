@@ -0,0 +1,68 @@
+package upstage.gateway.workflow.plan;
+
+import org.junit.jupiter.api.Test;
+import upstage.gateway.workflow.connector.ConnectorNode;
+import upstage.gateway.workflow.input.InputNode;
+import upstage.gateway.workflow.model.Workflow;
+import upstage.gateway.workflow.model.WorkflowEdge;
+import upstage.gateway.workflow.output.OutputNode;
+import upstage.gateway.workflow.transform.TransformNode;
+import upstage.gateway.workflow.uie.UieNode;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExecutionPlanTest {
+
+    @Test
+    void stepsAreTopologicallyOrderedWithUpstreamPositions() {
+        Workflow workflow = new Workflow("wf", "test",
+                List.of(new OutputNode("out", null, 0, 0), new UieNode("uie", null, 0, 0, null),
+                        new InputNode("in", null, 0, 0), new ConnectorNode("c1", null, 0, 0, null),
+                        new ConnectorNode("c2", null, 0, 0, null), new TransformNode("orphan", null, 0, 0, null)),
+                List.of(edge("in", "uie"), edge("uie", "c1"), edge("uie", "c2"), edge("c1", "out"), edge("c2", "out")));
+
+        ExecutionPlan plan = ExecutionPlan.compile(workflow);
+        List<ExecutionPlan.Step> steps = plan.getSteps();
+
+        assertThat(steps).extracting(s -> s.getNode().getId()).containsExactly("in", "uie", "c1", "c2", "out");
+        assertThat(steps.get(2).isForked()).isTrue();
+        assertThat(steps.get(4).getUpstream()).containsExactly(2, 3);
+        assertThat(plan.getResultSteps()).containsExactly(4);
+    }
+
+    @Test
+    void rejectsCycle() {
+        Workflow workflow = new Workflow("wf", "test",
+                List.of(new InputNode("in", null, 0, 0), new UieNode("a", null, 0, 0, null), new TransformNode("b", null, 0, 0, null)),
+                List.of(edge("in", "a"), edge("a", "b"), edge("b", "a")));
+
+        assertThatThrownBy(() -> ExecutionPlan.compile(workflow))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cycle");
+    }
+
+    @Test
+    void rejectsEdgeToMissingNode() {
+        Workflow workflow = new Workflow("wf", "test",
+                List.of(new InputNode("in", null, 0, 0)),
+                List.of(edge("in", "missing")));
+
+        assertThatThrownBy(() -> ExecutionPlan.compile(workflow))
+                .hasMessage("Node not found: missing");
+    }
+
+    @Test
+    void requiresInputNode() {
+        Workflow workflow = new Workflow("wf", "test", List.of(new OutputNode("out", null, 0, 0)), List.of());
+
+        assertThatThrownBy(() -> ExecutionPlan.compile(workflow))
+                .hasMessage("Workflow must have Input node");
+    }
+
+    private static WorkflowEdge edge(String source, String target) {
+        return new WorkflowEdge(source + "-" + target, source, target);
+    }
+}
@@ -0,0 +1,225 @@
+package upstage.gateway.workflow.resilience;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 로컬 stub 서버 - 앞의 failures 건은 503, 이후 200 (delayMs 만큼 지연)
+ */
+class ResilienceRegistryTest {
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final ResilienceRegistry registry = new ResilienceRegistry();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int failures;
+    private volatile long delayMs;
+    private final ExecutorService stubExecutor = Executors.newCachedThreadPool();
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(stubExecutor);
+        server.createContext("/", exchange -> {
+            int n = requests.incrementAndGet();
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(n <= failures ? 503 : 200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/extract";
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    private String get(ResiliencePolicy policy) throws Exception {
+        return registry.call(policy, url, true, () -> restTemplate.getForObject(url, String.class));
+    }
+
+    private String post(ResiliencePolicy policy, RestTemplate client, String target) throws Exception {
+        return registry.call(policy, target, false, () -> client.postForObject(target, "{}", String.class));
+    }
+
+    private static ResiliencePolicy retries(int maxAttempts) {
+        ResiliencePolicy policy = new ResiliencePolicy();
+        policy.setMaxAttempts(maxAttempts);
+        policy.setRetryBackoffMs(10);
+        return policy;
+    }
+
+    @Test
+    void retriesUnavailableUntilSuccess() throws Exception {
+        failures = 2;
+        ResiliencePolicy policy = new ResiliencePolicy();
+        policy.setMaxAttempts(3);
+        policy.setRetryBackoffMs(10);
+
+        assertThat(get(policy)).isEqualTo("ok");
+        assertThat(requests).hasValue(3);
+    }
+
+    @Test
+    void opensCircuitAndProbesAfterOpenDuration() throws Exception {
+        failures = 2;
+        ResiliencePolicy policy = new ResiliencePolicy();
+        policy.setFailureThreshold(2);
+        policy.setOpenDurationMs(200);
+
+        assertThatThrownBy(() -> get(policy)).isInstanceOf(HttpServerErrorException.class);
+        assertThatThrownBy(() -> get(policy)).isInstanceOf(HttpServerErrorException.class);
+        assertThatThrownBy(() -> get(policy)).isInstanceOf(CircuitOpenException.class);
+        assertThat(requests).hasValue(2);
+
+        Thread.sleep(250);
+        assertThat(get(policy)).isEqualTo("ok");
+        assertThat(get(policy)).isEqualTo("ok");
+    }
+
+    @Test
+    void nonIdempotentCallIsNotRetriedAfterRequestWasSent() {
+        delayMs = 300;
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setReadTimeout(100);
+
+        assertThatThrownBy(() -> post(retries(3), new RestTemplate(factory), url)).isInstanceOf(ResourceAccessException.class);
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void nonIdempotentCallIsRetriedWhenConnectionFailed() throws Exception {
+        String closed;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closed = "http://127.0.0.1:" + socket.getLocalPort() + "/sink";
+        }
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> registry.call(retries(3), closed, false, () -> {
+            attempts.incrementAndGet();
+            return restTemplate.postForObject(closed, "{}", String.class);
+        })).isInstanceOf(ResourceAccessException.class);
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void nonIdempotentCallIsRetriedOnUnavailableButNotBadGateway() throws Exception {
+        failures = 1;
+        assertThat(post(retries(2), restTemplate, url)).isEqualTo("ok");
+        assertThat(requests).hasValue(2);
+
+        assertThat(ResilienceRegistry.isRetryable(
+                HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "", null, null, null), false)).isFalse();
+        assertThat(ResilienceRegistry.isRetryable(
+                HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "", null, null, null), true)).isTrue();
+    }
+
+    @Test
+    void bulkheadRejectsCallsOverLimit() throws Exception {
+        delayMs = 300;
+        ResiliencePolicy policy = new ResiliencePolicy();
+        policy.setMaxConcurrentCalls(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = executor.submit(() -> get(policy));
+            Thread.sleep(100);
+            assertThatThrownBy(() -> get(policy)).isInstanceOf(BulkheadFullException.class);
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void bulkheadIsSharedByDestinationRegardlessOfLimit() throws Exception {
+        delayMs = 300;
+        ResiliencePolicy one = new ResiliencePolicy();
+        one.setMaxConcurrentCalls(1);
+        ResiliencePolicy two = new ResiliencePolicy();
+        two.setMaxConcurrentCalls(2);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = executor.submit(() -> get(one));
+            Thread.sleep(100);
+            assertThatThrownBy(() -> get(two)).isInstanceOf(BulkheadFullException.class);
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void interruptedProbeWaitingForBulkheadDoesNotLeaveCircuitHalfOpen() throws Exception {
+        failures = 1;
+        ResiliencePolicy policy = new ResiliencePolicy();
+        policy.setFailureThreshold(1);
+        policy.setOpenDurationMs(50);
+        policy.setMaxConcurrentCalls(1);
+        policy.setMaxWaitMs(10_000);
+        assertThatThrownBy(() -> get(policy)).isInstanceOf(HttpServerErrorException.class);
+
+        // 회로 차단기 없이 같은 대상의 bulkhead를 잡고 있는 호출
+        ResiliencePolicy holderPolicy = new ResiliencePolicy();
+        holderPolicy.setMaxConcurrentCalls(1);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> holder = executor.submit(() -> registry.call(holderPolicy, url, true, () -> {
+                holding.countDown();
+                release.await();
+                return "held";
+            }));
+            assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(100);
+
+            AtomicReference<Throwable> probeError = new AtomicReference<>();
+            Thread probe = new Thread(() -> {
+                try {
+                    get(policy);
+                } catch (Throwable t) {
+                    probeError.set(t);
+                }
+            });
+            probe.start();
+            Thread.sleep(100);
+            probe.interrupt();
+            probe.join(5000);
+            assertThat(probeError.get()).isInstanceOf(InterruptedException.class);
+
+            release.countDown();
+            assertThat(holder.get(5, TimeUnit.SECONDS)).isEqualTo("held");
+            assertThat(get(policy)).isEqualTo("ok");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package upstage.gateway.workflow.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import upstage.gateway.workflow.input.InputNode;
+import upstage.gateway.workflow.model.Workflow;
+import upstage.gateway.workflow.output.OutputNode;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileWorkflowStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private static Workflow workflow(String id, long version, String name) {
+        Workflow workflow = new Workflow(id, name,
+                List.of(new InputNode("input", "Input", 0, 0), new OutputNode("output", "Output", 0, 0)), List.of());
+        workflow.setVersion(version);
+        return workflow;
+    }
+
+    private static List<String> names(FileWorkflowStore store) {
+        return store.loadAll().stream()
+                .sorted(Comparator.comparing(Workflow::getId).thenComparing(Workflow::getVersion))
+                .map(Workflow::getName).toList();
+    }
+
+    @Test
+    void replaysChangesAfterRestart() throws Exception {
+        try (FileWorkflowStore store = new FileWorkflowStore(dir, true, 1 << 20)) {
+            store.put(workflow("a", 1, "A1")).join();
+            store.put(workflow("b", 1, "B1")).join();
+            store.put(workflow("a", 2, "A2")).join();
+            store.delete("b", 1).join();
+            store.delete("a", 1).join();
+            store.put(workflow("c", 1, "C1")).join();
+        }
+
+        try (FileWorkflowStore store = new FileWorkflowStore(dir, true, 1 << 20)) {
+            assertThat(names(store)).containsExactly("A2", "C1");
+            assertThat(store.loadAll()).allSatisfy(w -> assertThat(w.getNodes()).hasSize(2));
+        }
+    }
+
+    @Test
+    void dropsTornTailRecord() throws Exception {
+        try (FileWorkflowStore store = new FileWorkflowStore(dir, true, 1 << 20)) {
+            store.put(workflow("a", 1, "A1")).join();
+            store.put(workflow("b", 1, "B1")).join();
+        }
+        Path log = dir.resolve("changes.log");
+        long size = Files.size(log);
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 5);
+        }
+
+        try (FileWorkflowStore store = new FileWorkflowStore(dir, true, 1 << 20)) {
+            assertThat(names(store)).containsExactly("A1");
+            store.put(workflow("c", 1, "C1")).join();
+        }
+        try (FileWorkflowStore store = new FileWorkflowStore(dir, true, 1 << 20)) {
+            assertThat(names(store)).containsExactly("A1", "C1");
+        }
+    }
+
+    @Test
+    void compactsIntoSnapshot() throws Exception {
+        try (FileWorkflowStore store = new FileWorkflowStore(dir, false, 4096)) {
+            for (int i = 0; i < 200; i++) {
+                store.put(workflow("wf-" + (i % 5), i / 5 + 1, "v" + i)).join();
+                if (i >= 5) {
+                    store.delete("wf-" + (i % 5), i / 5).join();
+                }
+            }
+        }
+        assertThat(Files.size(dir.resolve("snapshot"))).isPositive();
+        assertThat(Files.size(dir.resolve("changes.log"))).isLessThan(4096);
+
+        try (FileWorkflowStore store = new FileWorkflowStore(dir, false, 4096)) {
+            assertThat(names(store)).containsExactly("v195", "v196", "v197", "v198", "v199");
+        }
+    }
+
+    @Test
+    void concurrentWritesAreAllDurable() throws Exception {
+        try (FileWorkflowStore store = new FileWorkflowStore(dir, true, 1 << 20)) {
+            List<CompletableFuture<Void>> writes = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                int n = i;
+                writes.add(CompletableFuture.runAsync(() -> store.put(workflow("wf-" + n, 1, "W" + n)).join()));
+            }
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+        }
+        try (FileWorkflowStore store = new FileWorkflowStore(dir, true, 1 << 20)) {
+            assertThat(store.loadAll()).hasSize(100);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package upstage.gateway.workflow.trace;
+
+import org.junit.jupiter.api.Test;
+import upstage.gateway.workflow.model.ExtractedDocument;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionTraceStoreTest {
+
+    @Test
+    void keepsLatestTracesPerWorkflowNewestFirst() {
+        ExecutionTraceStore store = new ExecutionTraceStore(3);
+        for (int i = 0; i < 5; i++) {
+            ExecutionTrace trace = new ExecutionTrace("wf", 1L, 0);
+            trace.finish(new int[0], null);
+            store.record(trace);
+        }
+        store.record(new ExecutionTrace("other", 1L, 0));
+
+        assertThat(store.recent("wf")).hasSize(3);
+        assertThat(store.recent("other")).hasSize(1);
+        assertThat(store.recent("missing")).isEmpty();
+    }
+
+    @Test
+    void recordsNodeTimingsAndResultSize() {
+        ExecutionTrace trace = new ExecutionTrace("wf", 1L, 3);
+        trace.startNode(0, "input", "input").succeeded(null, null);
+        trace.startNode(1, "uie", "uie").succeeded(42L, ExtractedDocument.of(Map.of("a", 1)));
+        trace.startNode(2, "out", "output").failed(null, new IllegalStateException("boom"));
+
+        trace.finish(new int[]{1}, null);
+
+        assertThat(trace.getStatus()).isEqualTo(ExecutionTrace.Status.SUCCEEDED);
+        assertThat(trace.getNodes()).extracting(NodeTrace::getNodeId).containsExactly("input", "uie", "out");
+        assertThat(trace.getNodes().get(1).getInputBytes()).isEqualTo(42L);
+        assertThat(trace.getNodes().get(1).getOutputBytes()).isEqualTo("{\"a\":1}".length());
+        assertThat(trace.getNodes().get(2).getError()).isEqualTo("boom");
+    }
+}
@@ -0,0 +1,89 @@
+package upstage.gateway.workflow.transform;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataTransformerTest {
+
+    private static final Map<String, Object> INPUT = Map.of(
+            "documentType", "invoice",
+            "fields", List.of(
+                    Map.of("key", "name", "value", "kim", "refinedValue", "Kim"),
+                    Map.of("key", "amount", "value", "100"),
+                    Map.of("key", "amount", "value", "200")));
+
+    @Test
+    void fieldMappingsBuildNestedOutputFromTopLevelAndFields() throws Exception {
+        TransformNodeConfig config = new TransformNodeConfig();
+        config.setFieldMappings(List.of(
+                new FieldMapping("documentType", "metadata.type"),
+                new FieldMapping("name", "customer.name"),
+                new FieldMapping("amount", "total"),
+                new FieldMapping("missing", "customer.memo")));
+
+        Object result = DataTransformer.transform(INPUT, DataTransformer.compile(config));
+
+        Map<String, Object> customer = new LinkedHashMap<>();
+        customer.put("name", "Kim");
+        customer.put("memo", null);
+        assertThat(result).isEqualTo(Map.of(
+                "metadata", Map.of("type", "invoice"),
+                "customer", customer,
+                "total", "100"));
+    }
+
+    @Test
+    void outputTemplateIsUsedWithoutFieldMappings() throws Exception {
+        TransformNodeConfig config = new TransformNodeConfig();
+        config.setOutputTemplate("{\"who\":\"{{name}}\",\"type\":\"{{documentType}}\"}");
+
+        assertThat(DataTransformer.transform(INPUT, config)).isEqualTo(Map.of("who", "Kim", "type", "invoice"));
+    }
+
+    @Test
+    void compiledTemplateInsertsStringsAndTypedValues() throws Exception {
+        TransformNodeConfig config = new TransformNodeConfig();
+        config.setOutputTemplate("""
+                {"title": "{{documentType}} for {{ name }}", "total": {{amount}}, "tags": ["{{missing}}", true]}
+                """);
+
+        assertThat(DataTransformer.transform(INPUT, DataTransformer.compile(config))).isEqualTo(Map.of(
+                "title", "invoice for Kim",
+                "total", 200,
+                "tags", List.of("", true)));
+    }
+
+    @Test
+    void rawPlaceholderKeepsTextThatOnlyStartsWithJsonValue() throws Exception {
+        Map<String, Object> input = Map.of("fields", List.of(
+                Map.of("key", "address", "value", "123 Main St"),
+                Map.of("key", "memo", "value", "true story"),
+                Map.of("key", "list", "value", "[1] and more"),
+                Map.of("key", "count", "value", " 12 "),
+                Map.of("key", "flag", "value", "false")));
+        TransformNodeConfig config = new TransformNodeConfig();
+        config.setOutputTemplate("""
+                {"address": {{address}}, "memo": {{memo}}, "list": {{list}}, "count": {{count}}, "flag": {{flag}}}
+                """);
+
+        assertThat(DataTransformer.transform(input, DataTransformer.compile(config))).isEqualTo(Map.of(
+                "address", "123 Main St",
+                "memo", "true story",
+                "list", "[1] and more",
+                "count", 12,
+                "flag", false));
+    }
+
+    @Test
+    void templateThatIsNotJsonFallsBackToReplaceAndParse() throws Exception {
+        TransformNodeConfig config = new TransformNodeConfig();
+        config.setOutputTemplate("{\"amount\": {{amount}}.{{amount}}}");
+
+        assertThat(DataTransformer.transform(INPUT, DataTransformer.compile(config))).isEqualTo(Map.of("amount", 200.2));
+    }
+}
@@ -0,0 +1,78 @@
+package upstage.gateway.workflow.uie;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import upstage.gateway.workflow.model.ExtractedDocument;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PreviewSessionStoreTest {
+
+    private static final String JSON = "{\"fields\":[{\"key\":\"name\",\"value\":\"kim\"}]}";
+
+    private static UieNodeConfig config() {
+        UieNodeConfig config = new UieNodeConfig();
+        config.setUrl("http://uie/extract");
+        config.setFormFields(Map.of("model", "v1"));
+        return config;
+    }
+
+    private static String put(PreviewSessionStore store, String nodeId) {
+        return store.put("wf", 1, nodeId, config(), "hash", 10, JSON, ExtractedDocument.of(Map.of("name", "kim")));
+    }
+
+    @Test
+    void sessionIsReusableUntilExpired() throws Exception {
+        PreviewSessionStore store = new PreviewSessionStore(new SimpleMeterRegistry(), DataSize.ofMegabytes(1), Duration.ofMillis(50));
+        String token = put(store, "uie-1");
+
+        assertThat(token).isNotBlank();
+        assertThat(store.get(token).json()).isEqualTo(JSON);
+        assertThat(store.get(token)).isNotNull();
+        assertThat(store.get("unknown")).isNull();
+
+        Thread.sleep(100);
+        assertThat(store.get(token)).isNull();
+    }
+
+    @Test
+    void leastRecentlyUsedSessionIsEvictedOverMemoryLimit() {
+        long weight = (long) JSON.length() * 4;
+        PreviewSessionStore store = new PreviewSessionStore(new SimpleMeterRegistry(), DataSize.ofBytes(weight * 2), Duration.ofMinutes(10));
+        String first = put(store, "a");
+        String second = put(store, "b");
+        store.get(first);
+        String third = put(store, "c");
+
+        assertThat(store.get(second)).isNull();
+        assertThat(store.get(first)).isNotNull();
+        assertThat(store.get(third)).isNotNull();
+    }
+
+    @Test
+    void disabledStoreReturnsNoToken() {
+        PreviewSessionStore store = new PreviewSessionStore(new SimpleMeterRegistry(), DataSize.ofBytes(0), Duration.ofMinutes(10));
+        assertThat(store.isEnabled()).isFalse();
+        assertThat(put(store, "uie-1")).isNull();
+    }
+
+    @Test
+    void parseOnlyChangesStillMatchButRequestChangesDoNot() {
+        PreviewSessionStore store = new PreviewSessionStore(new SimpleMeterRegistry(), DataSize.ofMegabytes(1), Duration.ofMinutes(10));
+        PreviewSession session = store.get(put(store, "uie-1"));
+
+        UieNodeConfig filtered = config();
+        filtered.setSelectedKeys(List.of("name"));
+        filtered.setMinConfidence(0.9);
+        assertThat(session.matches(filtered)).isTrue();
+
+        UieNodeConfig otherModel = config();
+        otherModel.setFormFields(Map.of("model", "v2"));
+        assertThat(session.matches(otherModel)).isFalse();
+    }
+}
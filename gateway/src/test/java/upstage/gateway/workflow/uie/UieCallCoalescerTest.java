@@ -0,0 +1,112 @@
+package upstage.gateway.workflow.uie;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class UieCallCoalescerTest {
+
+    private final UieCallCoalescer coalescer = new UieCallCoalescer(new SimpleMeterRegistry(), true);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    /** leader가 호출을 시작한 뒤 같은 키로 follower 시작 (합류할 때까지 잠시 대기) */
+    private Future<Object> follower(String key, CountDownLatch leaderStarted, Callable<Object> call) throws InterruptedException {
+        leaderStarted.await();
+        Future<Object> future = executor.submit(() -> coalescer.execute(key, call));
+        Thread.sleep(100);
+        return future;
+    }
+
+    @Test
+    void concurrentIdenticalCallsShareOneResult() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<Object> call = () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            release.await();
+            return "doc";
+        };
+
+        Future<Object> leader = executor.submit(() -> coalescer.execute("k", call));
+        Future<Object> follower = follower("k", started, call);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("doc");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(leader.get());
+        assertThat(calls).hasValue(1);
+        assertThat(coalescer.inFlight()).isZero();
+
+        assertThat(coalescer.execute("k", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void failureIsSharedWithWaitersOnly() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<Object> failing = () -> {
+            started.countDown();
+            release.await();
+            throw new IllegalStateException("UIE 503");
+        };
+
+        Future<Object> leader = executor.submit(() -> coalescer.execute("k", failing));
+        Future<Object> follower = follower("k", started, failing);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        Throwable leaderError = catchThrowable(leader::get).getCause();
+        Throwable followerError = catchThrowable(() -> follower.get(5, TimeUnit.SECONDS)).getCause();
+        // 기다리던 요청은 자기 예외 객체를 받고 원래 실패는 cause로
+        assertThat(followerError).isInstanceOf(UieCallException.class).hasMessage("UIE 503");
+        assertThat(followerError.getCause()).isSameAs(leaderError);
+        assertThat(coalescer.execute("k", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    void cancelledWaiterDoesNotAffectLeader() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<Object> call = () -> {
+            started.countDown();
+            release.await();
+            return "doc";
+        };
+
+        Future<Object> leader = executor.submit(() -> coalescer.execute("k", call));
+        Future<Object> follower = follower("k", started, call);
+        follower.cancel(true);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("doc");
+        assertThat(coalescer.inFlight()).isZero();
+    }
+
+    @Test
+    void waiterRetriesWhenLeaderIsCancelled() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        Callable<Object> call = () -> {
+            if (calls.incrementAndGet() == 1) {
+                started.countDown();
+                new CountDownLatch(1).await();
+            }
+            return "doc";
+        };
+
+        Future<Object> leader = executor.submit(() -> coalescer.execute("k", call));
+        Future<Object> follower = follower("k", started, call);
+        leader.cancel(true);
+
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("doc");
+        assertThat(calls).hasValue(2);
+        assertThat(coalescer.inFlight()).isZero();
+    }
+}
@@ -0,0 +1,124 @@
+package upstage.gateway.workflow.uie;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UieResponseCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final UieNodeConfig config = config();
+
+    private static UieNodeConfig config() {
+        UieNodeConfig config = new UieNodeConfig();
+        config.setUrl("http://uie/extract");
+        return config;
+    }
+
+    /** 메모리 항목 무게 = 문자 수 * 2 */
+    private UieResponseCache cache(long maxMemoryBytes, Duration ttl, boolean disk, long maxDiskBytes) throws Exception {
+        return new UieResponseCache(meters, DataSize.ofBytes(maxMemoryBytes), ttl, disk, dir.toString(), DataSize.ofBytes(maxDiskBytes));
+    }
+
+    private String load(UieResponseCache cache, String hash) throws Exception {
+        return cache.getOrLoad(config, hash, () -> {
+            loads.incrementAndGet();
+            return "body-" + hash;
+        });
+    }
+
+    private double hits(String tier) {
+        return meters.get("gateway.uie.cache.requests").tag("result", "hit").tag("tier", tier).counter().count();
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedAtMemoryBound() throws Exception {
+        UieResponseCache cache = cache(2 * "body-a".length() * 2, Duration.ofMinutes(1), false, 0);
+        load(cache, "a");
+        load(cache, "b");
+        load(cache, "a");
+        load(cache, "c");
+        assertThat(loads).hasValue(3);
+
+        load(cache, "a");
+        assertThat(loads).hasValue(3);
+        load(cache, "b");
+        assertThat(loads).hasValue(4);
+        assertThat(meters.get("gateway.uie.cache.memory.entries").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void entryLargerThanMemoryBoundIsNotCached() throws Exception {
+        UieResponseCache cache = cache(4, Duration.ofMinutes(1), false, 0);
+        load(cache, "a");
+        load(cache, "a");
+
+        assertThat(loads).hasValue(2);
+        assertThat(meters.get("gateway.uie.cache.memory.bytes").gauge().value()).isZero();
+    }
+
+    @Test
+    void expiredEntryIsLoadedAgain() throws Exception {
+        UieResponseCache cache = cache(1024, Duration.ofMillis(50), false, 0);
+        load(cache, "a");
+        load(cache, "a");
+        assertThat(loads).hasValue(1);
+
+        Thread.sleep(100);
+        load(cache, "a");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void diskTierSurvivesNewInstanceAndIsCleanedUpBySize() throws Exception {
+        load(cache(1024, Duration.ofMinutes(1), true, 1024), "a");
+
+        UieResponseCache restarted = cache(1024, Duration.ofMinutes(1), true, 1024);
+        assertThat(load(restarted, "a")).isEqualTo("body-a");
+        assertThat(loads).hasValue(1);
+        assertThat(hits("disk")).isEqualTo(1);
+        load(restarted, "a");
+        assertThat(hits("memory")).isEqualTo(1);
+
+        UieResponseCache small = cache(1024, Duration.ofMinutes(1), true, "body-a".length());
+        Path oldest;
+        try (var files = Files.list(dir)) {
+            oldest = files.findFirst().orElseThrow();
+        }
+        Files.setLastModifiedTime(oldest, FileTime.fromMillis(System.currentTimeMillis() - 1000));
+        load(small, "b");
+        small.cleanupDisk();
+        try (var files = Files.list(dir)) {
+            assertThat(files.toList()).hasSize(1).doesNotContain(oldest);
+        }
+    }
+
+    @Test
+    void expiredDiskFilesAreIgnoredAndDeleted() throws Exception {
+        UieResponseCache cache = cache(0, Duration.ofMillis(50), true, 1024);
+        load(cache, "a");
+        Thread.sleep(100);
+
+        load(cache, "a");
+        assertThat(loads).hasValue(2);
+
+        Thread.sleep(100);
+        cache.cleanupDisk();
+        try (var files = Files.list(dir)) {
+            assertThat(files.toList()).isEmpty();
+        }
+    }
+}
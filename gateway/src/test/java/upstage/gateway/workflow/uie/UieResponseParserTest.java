@@ -0,0 +1,71 @@
+package upstage.gateway.workflow.uie;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.InstanceOfAssertFactories.MAP;
+
+class UieResponseParserTest {
+
+    private static final String RESPONSE = """
+            {"documentType":"invoice","fields":[
+              {"key":"name","value":"kim","refinedValue":"Kim","confidence":0.9,"boundingBoxes":[{"x":1}]},
+              {"boundingBoxes":[],"confidence":0.4,"value":"100","key":"amount"},
+              {"key":"date","value":"2026-01-01","confidence":0.95},
+              "ignored"
+            ],"mimeType":"application/pdf"}
+            """;
+
+    @Test
+    void flatKeyValueAppliesFiltersAndMappings() throws Exception {
+        UieNodeConfig config = new UieNodeConfig();
+        config.setSelectedKeys(List.of("name", "amount"));
+        config.setKeyMappings(Map.of("name", "customer"));
+
+        Object result = UieResponseParser.parse(RESPONSE, config);
+
+        assertThat(result).isEqualTo(Map.of("customer", "Kim", "amount", "100"));
+    }
+
+    @Test
+    void flatKeyValueSkipsFieldsWithNonScalarKey() throws Exception {
+        String response = """
+                {"fields":[
+                  {"key":{"value":"inner","key":"nested"},"value":"x"},
+                  {"key":["a"],"value":"y"},
+                  {"key":"name","value":"kim"}
+                ]}
+                """;
+
+        Object result = UieResponseParser.parse(response, new UieNodeConfig());
+
+        assertThat(result).isEqualTo(Map.of("name", "kim"));
+    }
+
+    @Test
+    void fieldsOnlyKeepsWholeFieldsAboveMinConfidence() throws Exception {
+        UieNodeConfig config = new UieNodeConfig();
+        config.setOutputFormat("fields_only");
+        config.setMinConfidence(0.5);
+        config.setKeyMappings(Map.of("date", "issuedAt"));
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> fields = (List<Map<String, Object>>) ((Map<String, Object>) UieResponseParser.parse(RESPONSE, config)).get("fields");
+
+        assertThat(fields).extracting(f -> f.get("key")).containsExactly("name", "issuedAt");
+        assertThat(fields.get(0)).containsEntry("boundingBoxes", List.of(Map.of("x", 1)));
+    }
+
+    @Test
+    void returnsRootWhenFieldsMissingOrFormatFull() throws Exception {
+        UieNodeConfig full = new UieNodeConfig();
+        full.setOutputFormat("full");
+
+        assertThat(UieResponseParser.parse("{\"status\":\"ok\"}", new UieNodeConfig())).isEqualTo(Map.of("status", "ok"));
+        assertThat(UieResponseParser.parse(RESPONSE, full)).asInstanceOf(MAP)
+                .containsKeys("documentType", "fields", "mimeType");
+    }
+}
@@ -0,0 +1,64 @@
+package upstage.gateway.workflow.uie;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import upstage.gateway.workflow.WorkflowFixture;
+import upstage.gateway.workflow.input.InputNode;
+import upstage.gateway.workflow.output.OutputNode;
+import upstage.gateway.workflow.plan.ExecutionPlan;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadResourceTest {
+
+    private WorkflowFixture fixture;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fixture = new WorkflowFixture();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    /** getBytes() 없이 스트림으로만 읽을 수 있는 업로드 */
+    private static MockMultipartFile streamOnly(byte[] content) {
+        return new MockMultipartFile("file", "large.pdf", "application/pdf", content) {
+            @Override
+            public byte[] getBytes() {
+                throw new AssertionError("upload must be streamed, not buffered");
+            }
+        };
+    }
+
+    @Test
+    void opensNewStreamPerReadWithoutBuffering() throws Exception {
+        UploadResource resource = new UploadResource(streamOnly(new byte[1000]));
+
+        assertThat(resource.contentLength()).isEqualTo(1000);
+        assertThat(resource.getFilename()).isEqualTo("large.pdf");
+        try (InputStream first = resource.getInputStream(); InputStream retry = resource.getInputStream()) {
+            assertThat(first).isNotSameAs(retry);
+            assertThat(retry.readAllBytes()).hasSize(1000);
+        }
+    }
+
+    @Test
+    void uieCallStreamsUploadWithoutReadingItIntoMemory() throws Exception {
+        ExecutionPlan plan = WorkflowFixture.plan(List.of(new InputNode("in", null, 0, 0), fixture.uie("uie"),
+                new OutputNode("out", null, 0, 0)), "in>uie", "uie>out");
+
+        Object result = fixture.executionService.runWorkflow(plan, streamOnly(new byte[2 * 1024 * 1024]));
+
+        assertThat(result).isNotNull();
+        assertThat(fixture.uieCalls).hasValue(1);
+        assertThat(fixture.uieRequestBytes.get()).isGreaterThan(2 * 1024 * 1024);
+    }
+}